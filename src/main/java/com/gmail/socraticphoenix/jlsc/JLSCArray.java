@@ -23,14 +23,22 @@ package com.gmail.socraticphoenix.jlsc;
 
 import com.gmail.socraticphoenix.collect.Items;
 import com.gmail.socraticphoenix.collect.coupling.Switch;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteOutput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCCharSource;
 import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
 import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
 import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
-import com.gmail.socraticphoenix.pio.ByteStream;
 
-import java.nio.ByteBuffer;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -47,6 +55,7 @@ import java.util.stream.Stream;
 
 public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     private List<JLSCValue> values;
+    private volatile JLSCDeferred<JLSCArray> deferred;
 
     private JLSCArray(List<JLSCValue> values) {
         this.values = values;
@@ -60,12 +69,58 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
         this(constructor.get());
     }
 
+    public static JLSCArray deferred(JLSCDeferred<JLSCArray> deferred) {
+        JLSCArray result = new JLSCArray((List<JLSCValue>) null);
+        result.deferred = deferred;
+        return result;
+    }
+
     public static JLSCArray concurrent() {
         return new JLSCArray(Collections.synchronizedList(new ArrayList<>()));
     }
 
+    public static JLSCArray read(String src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax, JLSCReadMode mode) throws JLSCException {
+        return JLSCReadWriteUtil.readArray(src, syntax, style, mode, concurrent ? () -> Collections.synchronizedMap(new LinkedHashMap<>()) : LinkedHashMap::new, concurrent ? () -> Collections.synchronizedList(new ArrayList<>()) : ArrayList::new);
+    }
+
+    public static JLSCArray read(Reader src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax, JLSCReadMode mode) throws JLSCException {
+        return JLSCReadWriteUtil.readArray(src, syntax, style, mode, concurrent ? () -> Collections.synchronizedMap(new LinkedHashMap<>()) : LinkedHashMap::new, concurrent ? () -> Collections.synchronizedList(new ArrayList<>()) : ArrayList::new);
+    }
+
+    public static JLSCArray read(Reader src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        return JLSCArray.read(src, concurrent, style, syntax, JLSCReadMode.SINGLE_PASS);
+    }
+
+    public static JLSCArray read(Reader src, boolean concurrent) throws JLSCException {
+        return JLSCArray.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
+    public static JLSCArray read(InputStream src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax, JLSCReadMode mode) throws JLSCException {
+        return JLSCArray.read(new InputStreamReader(src, StandardCharsets.UTF_8), concurrent, style, syntax, mode);
+    }
+
+    public static JLSCArray read(InputStream src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        return JLSCArray.read(new InputStreamReader(src, StandardCharsets.UTF_8), concurrent, style, syntax);
+    }
+
+    public static JLSCArray read(InputStream src, boolean concurrent) throws JLSCException {
+        return JLSCArray.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
+    public static JLSCArray read(ReadableByteChannel src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        return JLSCArray.read(Channels.newReader(src, StandardCharsets.UTF_8.newDecoder(), JLSCCharSource.DEFAULT_BUFFER_SIZE), concurrent, style, syntax);
+    }
+
+    public static JLSCArray read(ReadableByteChannel src, boolean concurrent) throws JLSCException {
+        return JLSCArray.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
     public static JLSCArray read(String src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
-        return JLSCReadWriteUtil.readArray(src, syntax, style, concurrent ? () -> Collections.synchronizedMap(new LinkedHashMap<>()) : LinkedHashMap::new, concurrent ? () -> Collections.synchronizedList(new ArrayList<>()) : ArrayList::new);
+        return JLSCArray.read(src, concurrent, style, syntax, JLSCReadMode.TOKENIZER);
+    }
+
+    public static JLSCArray read(String src, boolean concurrent, JLSCReadMode mode) throws JLSCException {
+        return JLSCArray.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, mode);
     }
 
     public static JLSCArray read(String src, boolean concurrent) throws JLSCException {
@@ -398,11 +453,22 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
         }
     }
 
+    public byte[] writeBytes(JLSCByteFormat format) throws JLSCException {
+        JLSCByteOutput output = new JLSCByteOutput();
+        JLSCReadWriteUtil.write(this, output, format);
+        return output.toByteArray();
+    }
+
     public byte[] writeBytes() throws JLSCException {
-        int size = JLSCReadWriteUtil.length(this);
-        ByteBuffer buffer = ByteBuffer.allocate(size);
-        JLSCReadWriteUtil.write(this, ByteStream.of(buffer));
-        return buffer.array();
+        return this.writeBytes(JLSCByteFormat.legacy());
+    }
+
+    public void writeBytes(OutputStream out, JLSCByteFormat format) throws JLSCException {
+        JLSCReadWriteUtil.write(this, out, format);
+    }
+
+    public void writeBytes(OutputStream out) throws JLSCException {
+        this.writeBytes(out, JLSCByteFormat.legacy());
     }
 
     public String write(JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
@@ -413,9 +479,17 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
         return this.write(JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
     }
 
+    public void write(Appendable out, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        JLSCReadWriteUtil.writeArray(this, syntax, style, 0, out);
+    }
+
+    public void write(Appendable out) throws JLSCException {
+        this.write(out, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
     public JLSCArray toConcurrent() {
         JLSCArray array = JLSCArray.concurrent();
-        array.values.addAll(this.values);
+        array.contents().addAll(this.contents());
         return array;
     }
 
@@ -446,23 +520,23 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public int size() {
-        return this.values.size();
+        return this.contents().size();
     }
 
     public boolean isEmpty() {
-        return this.values.isEmpty();
+        return this.contents().isEmpty();
     }
 
     public boolean contains(Object o) {
-        return this.values.contains(o) || (o instanceof JLSCValue && this.values.contains(((JLSCValue) o).rawValue()));
+        return this.contents().contains(o) || (o instanceof JLSCValue && this.contents().contains(((JLSCValue) o).rawValue()));
     }
 
     public Iterator<JLSCValue> iterator() {
-        return this.values.iterator();
+        return this.contents().iterator();
     }
 
     public JLSCValue[] toArray() {
-        return this.values.toArray(new JLSCValue[this.size()]);
+        return this.contents().toArray(new JLSCValue[this.size()]);
     }
 
     public boolean add(Object value) {
@@ -470,7 +544,7 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public boolean add(JLSCValue value) {
-        return this.values.add(value);
+        return this.contents().add(value);
     }
 
     public boolean remove(Object value) {
@@ -478,7 +552,7 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public boolean remove(JLSCValue value) {
-        return this.values.remove(value);
+        return this.contents().remove(value);
     }
 
     public boolean containsAllValues(Collection<?> c) {
@@ -486,7 +560,7 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public boolean containsAll(Collection<JLSCValue> c) {
-        return this.values.containsAll(c);
+        return this.contents().containsAll(c);
     }
 
     public boolean addAllValues(Collection<?> c) {
@@ -494,7 +568,7 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public boolean addAll(Collection<? extends JLSCValue> c) {
-        return this.values.addAll(c);
+        return this.contents().addAll(c);
     }
 
     public boolean addAllValues(int index, Collection<?> c) {
@@ -502,31 +576,31 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public boolean addAll(int index, Collection<? extends JLSCValue> c) {
-        return this.values.addAll(index, c);
+        return this.contents().addAll(index, c);
     }
 
     public boolean removeAllValues(Collection<?> c) {
-        return this.values.removeIf(v -> c.contains(v.rawValue()));
+        return this.contents().removeIf(v -> c.contains(v.rawValue()));
     }
 
     public boolean removeAll(Collection<? extends JLSCValue> c) {
-        return this.values.removeIf(c::contains);
+        return this.contents().removeIf(c::contains);
     }
 
     public boolean retainAllValues(Collection<?> c) {
-        return this.values.removeIf(v -> !c.contains(v.rawValue()));
+        return this.contents().removeIf(v -> !c.contains(v.rawValue()));
     }
 
     public boolean retainAll(Collection<? extends JLSCValue> c) {
-        return this.values.removeIf(v -> !c.contains(v));
+        return this.contents().removeIf(v -> !c.contains(v));
     }
 
     public void clear() {
-        this.values.clear();
+        this.contents().clear();
     }
 
     public Optional<JLSCValue> get(int index) {
-        return this.contains(index) ? Optional.of(this.values.get(index)) : Optional.empty();
+        return this.contains(index) ? Optional.of(this.contents().get(index)) : Optional.empty();
     }
 
     public boolean contains(int index) {
@@ -534,29 +608,29 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public Optional<JLSCValue> set(int index, JLSCValue element) {
-        if (index >= this.values.size()) {
-            int times = index - this.values.size() + 1;
+        if (index >= this.contents().size()) {
+            int times = index - this.contents().size() + 1;
             for (int i = 0; i < times; i++) {
                 this.add(JLSCValue.of(null));
             }
         }
-        return Optional.ofNullable(this.values.set(index, element));
+        return Optional.ofNullable(this.contents().set(index, element));
     }
 
     public void add(int index, JLSCValue element) {
-        this.values.add(index, element);
+        this.contents().add(index, element);
     }
 
     public Optional<JLSCValue> remove(int index) {
-        return Optional.ofNullable(this.values.remove(index));
+        return Optional.ofNullable(this.contents().remove(index));
     }
 
     public int indexOf(Object value) {
-        return this.values.indexOf(JLSCValue.of(value));
+        return this.contents().indexOf(JLSCValue.of(value));
     }
 
     public int indexOf(JLSCValue value) {
-        return this.values.indexOf(value);
+        return this.contents().indexOf(value);
     }
 
     public int lastIndexOf(Object value) {
@@ -564,7 +638,7 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     }
 
     public int lastIndexOf(JLSCValue value) {
-        return this.values.lastIndexOf(value);
+        return this.contents().lastIndexOf(value);
     }
 
     @Override
@@ -606,7 +680,7 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
                         }
                     } else {
                         this.set(key, JLSCValue.of(next.containsA() ? new JLSCCompound() : new JLSCArray()));
-                        JLSCValue subVal = this.values.get(key);
+                        JLSCValue subVal = this.contents().get(key);
                         if ((subVal.getAsCompound().isPresent() && next.containsA()) || (subVal.getAsArray().isPresent() && next.containsB())) {
                             if (next.containsA()) {
                                 subVal.getAsCompound().get().put(pathStack, value);
@@ -642,7 +716,7 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
     @Override
     public List<JLSCValue> leaves(boolean deep) {
         if (!deep) {
-            return Items.looseClone(this.values);
+            return Items.looseClone(this.contents());
         } else {
             List<JLSCValue> values = new ArrayList<>();
             for (int i = 0; i < this.size(); i++) {
@@ -656,4 +730,28 @@ public class JLSCArray implements JLSCDataHolder, Iterable<JLSCValue> {
             return values;
         }
     }
+
+    public boolean isDeferred() {
+        return this.deferred != null;
+    }
+
+    private List<JLSCValue> contents() {
+        if (this.deferred != null) {
+            this.load();
+        }
+        return this.values;
+    }
+
+    private synchronized void load() {
+        JLSCDeferred<JLSCArray> deferred = this.deferred;
+        if (deferred != null) {
+            try {
+                this.values = deferred.load().contents();
+            } catch (JLSCException e) {
+                throw new IllegalStateException("Failed to read deferred array", e);
+            }
+            this.deferred = null;
+        }
+    }
+
 }
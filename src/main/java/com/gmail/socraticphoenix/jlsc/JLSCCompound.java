@@ -23,15 +23,23 @@ package com.gmail.socraticphoenix.jlsc;
 
 import com.gmail.socraticphoenix.collect.Items;
 import com.gmail.socraticphoenix.collect.coupling.Switch;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteOutput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCCharSource;
 import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
 import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
 import com.gmail.socraticphoenix.jlsc.value.JLSCKeyValue;
 import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
-import com.gmail.socraticphoenix.pio.ByteStream;
 
-import java.nio.ByteBuffer;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -51,6 +59,7 @@ import java.util.stream.Stream;
 
 public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     private Map<String, JLSCKeyValue> values;
+    private volatile JLSCDeferred<JLSCCompound> deferred;
 
     private JLSCCompound(Map<String, JLSCKeyValue> values) {
         this.values = values;
@@ -64,12 +73,58 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
         this(constructor.get());
     }
 
+    public static JLSCCompound deferred(JLSCDeferred<JLSCCompound> deferred) {
+        JLSCCompound result = new JLSCCompound((Map<String, JLSCKeyValue>) null);
+        result.deferred = deferred;
+        return result;
+    }
+
     public static JLSCCompound concurrent() {
         return new JLSCCompound(Collections.synchronizedMap(new LinkedHashMap<>()));
     }
 
+    public static JLSCCompound read(String src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax, JLSCReadMode mode) throws JLSCException {
+        return JLSCReadWriteUtil.readCompound(src, syntax, style, mode, concurrent ? () -> Collections.synchronizedMap(new LinkedHashMap<>()) : LinkedHashMap::new, concurrent ? () -> Collections.synchronizedList(new ArrayList<>()) : ArrayList::new);
+    }
+
+    public static JLSCCompound read(Reader src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax, JLSCReadMode mode) throws JLSCException {
+        return JLSCReadWriteUtil.readCompound(src, syntax, style, mode, concurrent ? () -> Collections.synchronizedMap(new LinkedHashMap<>()) : LinkedHashMap::new, concurrent ? () -> Collections.synchronizedList(new ArrayList<>()) : ArrayList::new);
+    }
+
+    public static JLSCCompound read(Reader src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        return JLSCCompound.read(src, concurrent, style, syntax, JLSCReadMode.SINGLE_PASS);
+    }
+
+    public static JLSCCompound read(Reader src, boolean concurrent) throws JLSCException {
+        return JLSCCompound.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
+    public static JLSCCompound read(InputStream src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax, JLSCReadMode mode) throws JLSCException {
+        return JLSCCompound.read(new InputStreamReader(src, StandardCharsets.UTF_8), concurrent, style, syntax, mode);
+    }
+
+    public static JLSCCompound read(InputStream src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        return JLSCCompound.read(new InputStreamReader(src, StandardCharsets.UTF_8), concurrent, style, syntax);
+    }
+
+    public static JLSCCompound read(InputStream src, boolean concurrent) throws JLSCException {
+        return JLSCCompound.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
+    public static JLSCCompound read(ReadableByteChannel src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        return JLSCCompound.read(Channels.newReader(src, StandardCharsets.UTF_8.newDecoder(), JLSCCharSource.DEFAULT_BUFFER_SIZE), concurrent, style, syntax);
+    }
+
+    public static JLSCCompound read(ReadableByteChannel src, boolean concurrent) throws JLSCException {
+        return JLSCCompound.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
     public static JLSCCompound read(String src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
-        return JLSCReadWriteUtil.readCompound(src, syntax, style, concurrent ? () -> Collections.synchronizedMap(new LinkedHashMap<>()) : LinkedHashMap::new, concurrent ? () -> Collections.synchronizedList(new ArrayList<>()) : ArrayList::new);
+        return JLSCCompound.read(src, concurrent, style, syntax, JLSCReadMode.TOKENIZER);
+    }
+
+    public static JLSCCompound read(String src, boolean concurrent, JLSCReadMode mode) throws JLSCException {
+        return JLSCCompound.read(src, concurrent, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, mode);
     }
 
     public static JLSCCompound read(String src, boolean concurrent) throws JLSCException {
@@ -82,18 +137,29 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
 
     public void absorbMetadata(JLSCCompound other) {
         for (String key : this.keys()) {
-            JLSCKeyValue keyValue = other.values.get(key);
+            JLSCKeyValue keyValue = other.contents().get(key);
             if (keyValue != null) {
-                this.values.get(key).absorbMetadata(keyValue);
+                this.contents().get(key).absorbMetadata(keyValue);
             }
         }
     }
 
+    public byte[] writeBytes(JLSCByteFormat format) throws JLSCException {
+        JLSCByteOutput output = new JLSCByteOutput();
+        JLSCReadWriteUtil.write(this, output, format);
+        return output.toByteArray();
+    }
+
     public byte[] writeBytes() throws JLSCException {
-        int size = JLSCReadWriteUtil.length(this);
-        ByteBuffer buffer = ByteBuffer.allocate(size);
-        JLSCReadWriteUtil.write(this, ByteStream.of(buffer));
-        return buffer.array();
+        return this.writeBytes(JLSCByteFormat.legacy());
+    }
+
+    public void writeBytes(OutputStream out, JLSCByteFormat format) throws JLSCException {
+        JLSCReadWriteUtil.write(this, out, format);
+    }
+
+    public void writeBytes(OutputStream out) throws JLSCException {
+        this.writeBytes(out, JLSCByteFormat.legacy());
     }
 
     public String write(JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
@@ -104,14 +170,22 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
         return this.write(JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
     }
 
+    public void write(Appendable out, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
+        JLSCReadWriteUtil.writeCompound(this, syntax, style, 0, out);
+    }
+
+    public void write(Appendable out) throws JLSCException {
+        this.write(out, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
     public JLSCCompound toConcurrent() {
         JLSCCompound compound = JLSCCompound.concurrent();
-        compound.values.putAll(this.values);
+        compound.contents().putAll(this.contents());
         return compound;
     }
 
     public boolean addComments(String key, List<String> comments) {
-        JLSCKeyValue keyValue = this.values.get(key);
+        JLSCKeyValue keyValue = this.contents().get(key);
         if (keyValue != null) {
             keyValue.getComments().addAll(comments);
             return true;
@@ -124,7 +198,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public boolean removeComments(String key, Predicate<String> remove) {
-        JLSCKeyValue keyValue = this.values.get(key);
+        JLSCKeyValue keyValue = this.contents().get(key);
         if (keyValue != null) {
             keyValue.getComments().removeIf(remove);
             return true;
@@ -137,7 +211,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public boolean addProperties(String key, List<JLSCValueProperty> properties) {
-        JLSCKeyValue keyValue = this.values.get(key);
+        JLSCKeyValue keyValue = this.contents().get(key);
         if (keyValue != null) {
             keyValue.getProperties().addAll(properties);
             return true;
@@ -150,7 +224,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public boolean removeProperties(String key, Predicate<JLSCValueProperty> remove) {
-        JLSCKeyValue keyValue = this.values.get(key);
+        JLSCKeyValue keyValue = this.contents().get(key);
         if (keyValue != null) {
             keyValue.getProperties().removeIf(remove);
             return true;
@@ -163,15 +237,15 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public int size() {
-        return this.values.size();
+        return this.contents().size();
     }
 
     public boolean isEmpty() {
-        return values.isEmpty();
+        return this.contents().isEmpty();
     }
 
     public boolean containsKey(String key) {
-        return this.values.containsKey(key);
+        return this.contents().containsKey(key);
     }
 
     public boolean containsValue(Object value) {
@@ -179,7 +253,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public boolean containsValue(JLSCValue value) {
-        return this.values.values().stream().filter(k -> k.getValue().equals(value)).findFirst().isPresent();
+        return this.contents().values().stream().filter(k -> k.getValue().equals(value)).findFirst().isPresent();
     }
 
     public Optional<JLSCKeyValue> put(String key, Object value) {
@@ -187,11 +261,11 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public Optional<JLSCKeyValue> put(String key, JLSCValue value) {
-        return Optional.ofNullable(this.values.put(key, new JLSCKeyValue(key, value)));
+        return Optional.ofNullable(this.contents().put(key, new JLSCKeyValue(key, value)));
     }
 
     public Optional<JLSCKeyValue> remove(String key) {
-        return Optional.ofNullable(this.values.remove(key));
+        return Optional.ofNullable(this.contents().remove(key));
     }
 
     public void putAllValues(Map<? extends String, ?> m) {
@@ -203,19 +277,19 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public void clear() {
-        this.values.clear();
+        this.contents().clear();
     }
 
     public Set<String> keys() {
-        return this.values.keySet();
+        return this.contents().keySet();
     }
 
     public Collection<JLSCValue> values() {
-        return this.values.values().stream().map(JLSCKeyValue::getValue).collect(Collectors.toList());
+        return this.contents().values().stream().map(JLSCKeyValue::getValue).collect(Collectors.toList());
     }
 
     public List<JLSCKeyValue> entries() {
-        return Items.looseClone(this.values.values(), ArrayList::new);
+        return Items.looseClone(this.contents().values(), ArrayList::new);
     }
 
     public void forEachValue(BiConsumer<? super String, Object> action) {
@@ -223,7 +297,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public void forEach(BiConsumer<? super String, ? super JLSCValue> action) {
-        this.values.forEach((a, b) -> action.accept(a, b.getValue()));
+        this.contents().forEach((a, b) -> action.accept(a, b.getValue()));
     }
 
     public void replaceAllValues(BiFunction<? super String, Object, Object> function) {
@@ -231,7 +305,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public void replaceAll(BiFunction<? super String, ? super JLSCValue, ? extends JLSCValue> function) {
-        this.values.replaceAll((a, b) -> new JLSCKeyValue(a, function.apply(a, b.getValue())));
+        this.contents().replaceAll((a, b) -> new JLSCKeyValue(a, function.apply(a, b.getValue())));
     }
 
     public Optional<JLSCKeyValue> putIfAbsent(String key, Object value) {
@@ -239,7 +313,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public Optional<JLSCKeyValue> putIfAbsent(String key, JLSCValue value) {
-        return Optional.ofNullable(this.values.putIfAbsent(key, new JLSCKeyValue(key, value)));
+        return Optional.ofNullable(this.contents().putIfAbsent(key, new JLSCKeyValue(key, value)));
     }
 
     public Optional<JLSCKeyValue> replace(String key, Object value) {
@@ -247,11 +321,11 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public Optional<JLSCKeyValue> replace(String key, JLSCValue value) {
-        return Optional.ofNullable(this.values.replace(key, new JLSCKeyValue(key, value)));
+        return Optional.ofNullable(this.contents().replace(key, new JLSCKeyValue(key, value)));
     }
 
     public Optional<JLSCValue> get(String key) {
-        JLSCKeyValue keyValue = this.values.get(key);
+        JLSCKeyValue keyValue = this.contents().get(key);
         if (keyValue == null) {
             return Optional.empty();
         } else {
@@ -610,7 +684,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
                         }
                     } else {
                         this.put(key, next.containsA() ? new JLSCCompound() : new JLSCArray());
-                        JLSCValue subVal = this.values.get(key).getValue();
+                        JLSCValue subVal = this.contents().get(key).getValue();
                         if ((subVal.getAsCompound().isPresent() && next.containsA()) || (subVal.getAsArray().isPresent() && next.containsB())) {
                             if (next.containsA()) {
                                 subVal.getAsCompound().get().put(pathStack, value);
@@ -627,10 +701,10 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     @Override
     public List<JLSCQuery> paths(boolean deep) {
         if (!deep) {
-            return this.values.keySet().stream().map(JLSCQuery::of).collect(Collectors.toList());
+            return this.contents().keySet().stream().map(JLSCQuery::of).collect(Collectors.toList());
         } else {
             List<JLSCQuery> queries = new ArrayList<>();
-            for (JLSCKeyValue keyValue : this.values.values()) {
+            for (JLSCKeyValue keyValue : this.contents().values()) {
                 JLSCValue value = keyValue.getValue();
                 if (value.directCast(JLSCDataHolder.class).isPresent()) {
                     queries.addAll(value.directCast(JLSCDataHolder.class).get().paths(true).stream().map(q -> q.prepend(keyValue.getKey())).collect(Collectors.toList()));
@@ -646,10 +720,10 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     @Override
     public List<JLSCValue> leaves(boolean deep) {
         if (!deep) {
-            return this.values.values().stream().map(JLSCKeyValue::getValue).collect(Collectors.toList());
+            return this.contents().values().stream().map(JLSCKeyValue::getValue).collect(Collectors.toList());
         } else {
             List<JLSCValue> values = new ArrayList<>();
-            for (JLSCKeyValue keyValue : this.values.values()) {
+            for (JLSCKeyValue keyValue : this.contents().values()) {
                 JLSCValue value = keyValue.getValue();
                 if (value.directCast(JLSCDataHolder.class).isPresent()) {
                     values.addAll(value.directCast(JLSCDataHolder.class).get().leaves(true));
@@ -662,7 +736,7 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
     }
 
     public void put(JLSCKeyValue keyValue) {
-        this.values.put(keyValue.getKey(), keyValue);
+        this.contents().put(keyValue.getKey(), keyValue);
     }
 
     @Override
@@ -670,4 +744,27 @@ public class JLSCCompound implements JLSCDataHolder, Iterable<JLSCKeyValue> {
         return this.entries().iterator();
     }
 
+    public boolean isDeferred() {
+        return this.deferred != null;
+    }
+
+    private Map<String, JLSCKeyValue> contents() {
+        if (this.deferred != null) {
+            this.load();
+        }
+        return this.values;
+    }
+
+    private synchronized void load() {
+        JLSCDeferred<JLSCCompound> deferred = this.deferred;
+        if (deferred != null) {
+            try {
+                this.values = deferred.load().contents();
+            } catch (JLSCException e) {
+                throw new IllegalStateException("Failed to read deferred compound", e);
+            }
+            this.deferred = null;
+        }
+    }
+
 }
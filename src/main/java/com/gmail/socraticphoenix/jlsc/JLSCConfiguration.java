@@ -22,21 +22,36 @@
 package com.gmail.socraticphoenix.jlsc;
 
 import com.gmail.socraticphoenix.collect.coupling.Switch;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteInput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteOutput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCCompression;
+import com.gmail.socraticphoenix.jlsc.io.JLSCDeflateCompression;
+import com.gmail.socraticphoenix.jlsc.io.JLSCFramedInputStream;
+import com.gmail.socraticphoenix.jlsc.io.JLSCFramedOutputStream;
 import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
 import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
 import com.gmail.socraticphoenix.jlsc.value.JLSCKeyValue;
 import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
-import com.gmail.socraticphoenix.pio.ByteStream;
-import com.gmail.socraticphoenix.pio.Bytes;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -48,18 +63,28 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue> {
+    public static final int READ_BUFFER_SIZE = 1 << 16;
+    public static final int WRITE_BUFFER_SIZE = 1 << 16;
+
     private JLSCCompound compound;
     private File file;
     private JLSCFormat format;
     private JLSCStyle style;
     private JLSCSyntax syntax;
     private boolean concurrent;
+    private JLSCReadMode readMode;
+    private boolean mapped;
+    private JLSCByteFormat byteFormat;
+    private JLSCCompression compression;
+    private int blockSize;
+    private ForkJoinPool pool;
 
     public JLSCConfiguration(JLSCCompound compound, File file, JLSCFormat format, JLSCStyle style, JLSCSyntax syntax, boolean concurrent) {
         this.compound = compound;
@@ -68,6 +93,11 @@ public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue>
         this.style = style;
         this.syntax = syntax;
         this.concurrent = concurrent;
+        this.readMode = JLSCReadMode.SINGLE_PASS;
+        this.byteFormat = JLSCByteFormat.legacy();
+        this.compression = JLSCDeflateCompression.DEFAULT;
+        this.blockSize = 0;
+        this.pool = ForkJoinPool.commonPool();
     }
 
     public JLSCConfiguration(JLSCCompound compound, File file, JLSCFormat format, boolean concurrent) {
@@ -80,6 +110,12 @@ public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue>
         return configuration;
     }
 
+    public static JLSCConfiguration fromBytes(File file, boolean concurrent, JLSCReadMode mode) throws IOException, JLSCException {
+        JLSCConfiguration configuration = new JLSCConfiguration(null, file, JLSCFormat.BYTES, concurrent).setReadMode(mode);
+        configuration.load();
+        return configuration;
+    }
+
     public static JLSCConfiguration fromCompressed(File file, boolean concurrent) throws IOException, JLSCException {
         JLSCConfiguration configuration = new JLSCConfiguration(null, file, JLSCFormat.COMPRESSED_BYTES, concurrent);
         configuration.load();
@@ -112,10 +148,18 @@ public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue>
         return JLSCCompound.concurrent();
     }
 
+    public static JLSCCompound read(String src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax, JLSCReadMode mode) throws JLSCException {
+        return JLSCCompound.read(src, concurrent, style, syntax, mode);
+    }
+
     public static JLSCCompound read(String src, boolean concurrent, JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
         return JLSCCompound.read(src, concurrent, style, syntax);
     }
 
+    public static JLSCCompound read(String src, boolean concurrent, JLSCReadMode mode) throws JLSCException {
+        return JLSCCompound.read(src, concurrent, mode);
+    }
+
     public static JLSCCompound read(String src, boolean concurrent) throws JLSCException {
         return JLSCCompound.read(src, concurrent);
     }
@@ -125,16 +169,29 @@ public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue>
     }
 
     public void save() throws IOException, JLSCException {
+        if (this.mapped) {
+            JLSCConfiguration.materialize(this.compound);
+            this.mapped = false;
+        }
+
+        if (this.format == JLSCFormat.TEXT) {
+            CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 Writer writer = Channels.newWriter(channel, encoder, JLSCConfiguration.WRITE_BUFFER_SIZE)) {
+                this.compound.write(writer, this.style, this.syntax);
+            }
+            return;
+        }
+
         try (FileOutputStream fos = new FileOutputStream(this.file)) {
             switch (this.format) {
-                case TEXT:
-                    fos.write(this.compound.write(this.style, this.syntax).getBytes(StandardCharsets.UTF_8));
-                    break;
                 case BYTES:
-                    fos.write(this.compound.writeBytes());
+                    this.compound.writeBytes(fos, this.byteFormat);
                     break;
                 case COMPRESSED_BYTES:
-                    fos.write(Bytes.compress(this.compound.writeBytes()));
+                    try (OutputStream out = this.blockSize > 0 ? new JLSCFramedOutputStream(fos, this.compression, this.blockSize, this.pool) : this.compression.compress(fos)) {
+                        this.compound.writeBytes(out, this.byteFormat);
+                    }
                     break;
             }
         } catch (JLSCException | IOException e) {
@@ -143,19 +200,71 @@ public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue>
     }
 
     public void load() throws IOException, JLSCException {
+        this.mapped = false;
         switch (this.format) {
             case TEXT:
-                this.compound = JLSCCompound.read(Bytes.readAllText(this.file), false);
+                if (this.readMode == JLSCReadMode.PARALLEL || this.readMode == JLSCReadMode.TOKENIZER) {
+                    this.compound = JLSCReadWriteUtil.readCompound(new String(Files.readAllBytes(this.file.toPath()), StandardCharsets.UTF_8), this.syntax, this.style, this.readMode, this.pool, LinkedHashMap::new, ArrayList::new);
+                } else {
+                    try (InputStream stream = new FileInputStream(this.file)) {
+                        this.compound = JLSCCompound.read(stream, false, this.style, this.syntax, this.readMode);
+                    }
+                }
                 break;
             case BYTES:
-                this.compound = JLSCReadWriteUtil.readCompound(ByteStream.of(Files.readAllBytes(this.file.toPath())), LinkedHashMap::new, ArrayList::new);
+                try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+                    if (this.readMode == JLSCReadMode.LAZY && channel.size() <= Integer.MAX_VALUE) {
+                        this.compound = JLSCReadWriteUtil.readCompound(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), this.readMode, LinkedHashMap::new, ArrayList::new);
+                        this.mapped = true;
+                    } else {
+                        this.compound = JLSCReadWriteUtil.readCompound(new JLSCByteInput(channel, JLSCConfiguration.READ_BUFFER_SIZE), LinkedHashMap::new, ArrayList::new);
+                    }
+                }
                 break;
             case COMPRESSED_BYTES:
-                this.compound = JLSCReadWriteUtil.readCompound(ByteStream.of(Bytes.decompress(Files.readAllBytes(this.file.toPath()))), LinkedHashMap::new, ArrayList::new);
+                if (this.readMode == JLSCReadMode.LAZY) {
+                    byte[] bytes;
+                    try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+                        if (JLSCFramedInputStream.isFramed(channel)) {
+                            bytes = JLSCFramedInputStream.decompress(channel, this.pool);
+                        } else {
+                            JLSCByteOutput output = new JLSCByteOutput(JLSCConfiguration.READ_BUFFER_SIZE);
+                            output.put(this.compression.decompress(Channels.newInputStream(channel)));
+                            bytes = output.toByteArray();
+                        }
+                    }
+                    this.compound = JLSCReadWriteUtil.readCompound(ByteBuffer.wrap(bytes), this.readMode, LinkedHashMap::new, ArrayList::new);
+                } else {
+                    try (InputStream stream = this.decompress(new BufferedInputStream(new FileInputStream(this.file), JLSCConfiguration.READ_BUFFER_SIZE))) {
+                        this.compound = JLSCReadWriteUtil.readCompound(new JLSCByteInput(stream, JLSCConfiguration.READ_BUFFER_SIZE), LinkedHashMap::new, ArrayList::new);
+                    }
+                }
                 break;
         }
         if (this.concurrent) {
-            this.compound = compound.toConcurrent();
+            JLSCCompound compound = this.compound;
+            this.compound = compound.isDeferred() ? JLSCCompound.deferred(compound::toConcurrent) : compound.toConcurrent();
+        }
+    }
+
+    private InputStream decompress(InputStream in) throws IOException {
+        return JLSCFramedInputStream.isFramed(in) ? new JLSCFramedInputStream(in, this.pool) : this.compression.decompress(in);
+    }
+
+    private static void materialize(JLSCCompound compound) {
+        for (JLSCKeyValue keyValue : compound) {
+            JLSCConfiguration.materialize(keyValue.getValue());
+        }
+    }
+
+    private static void materialize(JLSCValue value) {
+        Object raw = value.rawValue();
+        if (raw instanceof JLSCCompound) {
+            JLSCConfiguration.materialize((JLSCCompound) raw);
+        } else if (raw instanceof JLSCArray) {
+            for (JLSCValue element : (JLSCArray) raw) {
+                JLSCConfiguration.materialize(element);
+            }
         }
     }
 
@@ -168,6 +277,66 @@ public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue>
         return this;
     }
 
+    public JLSCReadMode getReadMode() {
+        return this.readMode;
+    }
+
+    /**
+     * Sets how {@link #load()} reads the file. In {@link JLSCReadMode#LAZY} mode, {@link JLSCFormat#BYTES} files are
+     * mapped into memory and decoded on access; files larger than a mapped buffer can hold (2GB) are streamed instead.
+     */
+    public JLSCConfiguration setReadMode(JLSCReadMode readMode) {
+        this.readMode = readMode;
+        return this;
+    }
+
+    public JLSCByteFormat getByteFormat() {
+        return this.byteFormat;
+    }
+
+    /**
+     * Sets the binary format written by {@link #save()}. Saves default to the legacy format, which every reader
+     * understands; {@link JLSCByteFormat#v2(int)} streams are smaller but can only be read by readers that support
+     * version 2. The given instance is used as a template and is never written to directly. Both formats are always
+     * accepted by {@link #load()}.
+     */
+    public JLSCConfiguration setByteFormat(JLSCByteFormat byteFormat) {
+        this.byteFormat = byteFormat;
+        return this;
+    }
+
+    public JLSCCompression getCompression() {
+        return this.compression;
+    }
+
+    public JLSCConfiguration setCompression(JLSCCompression compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    /**
+     * Sets the size of the independently compressed blocks written by {@link #save()}. The default of {@code 0} writes a
+     * single unframed stream, which readers without framing support understand; a positive size writes a framed stream
+     * that can be compressed and decompressed in parallel.
+     */
+    public JLSCConfiguration setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    public ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    public JLSCConfiguration setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
     public JLSCCompound getCompound() {
         return this.compound;
     }
@@ -233,7 +402,7 @@ public class JLSCConfiguration implements JLSCDataHolder, Iterable<JLSCKeyValue>
     }
 
     public byte[] writeBytes() throws JLSCException {
-        return this.compound.writeBytes();
+        return this.compound.writeBytes(this.byteFormat);
     }
 
     public String write(JLSCStyle style, JLSCSyntax syntax) throws JLSCException {
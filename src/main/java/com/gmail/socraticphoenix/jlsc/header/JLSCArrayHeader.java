@@ -42,35 +42,97 @@ public class JLSCArrayHeader {
     }
     
     public static JLSCArrayHeader read(ByteStream buffer) throws JLSCException {
-        int numHeaders = 0;
-        try {
-            numHeaders = buffer.getInt();
-        } catch (IOException e) {
-            throw new JLSCException("Unable to read header amount (halted at: " + buffer.position() + ")", e);
-        }
+        return JLSCArrayHeader.read(buffer, JLSCByteFormat.legacy());
+    }
+
+    public static JLSCArrayHeader read(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int numHeaders = JLSCArrayHeader.readSize(buffer, format);
         JLSCArrayHeader header = new JLSCArrayHeader();
         for (int i = 0; i < numHeaders; i++) {
-            header.getValueHeaders().add(JLSCValueHeader.read(buffer));
+            header.getValueHeaders().add(JLSCValueHeader.read(buffer, format));
         }
         return header;
     }
-    
-    public int length() {
-        int len = Integer.BYTES;
-        for(JLSCValueHeader header : this.valueHeaders) {
-            len += header.length();
+
+    public static int readSize(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (format.hasFlag(JLSCByteFormat.INDEXED)) {
+            return (int) JLSCArrayHeader.readIndexed(buffer, format)[0];
+        }
+        try {
+            return format.readCount(buffer);
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new JLSCException("Unable to read header amount (halted at: " + buffer.position() + ")", e);
         }
-        return len;
     }
-    
-    public void write(ByteStream buffer) throws JLSCException {
+
+    /**
+     * Reads the header of an indexed array, leaving the buffer at the start of the body. Returns the size of the array
+     * followed by the length of its body.
+     */
+    public static long[] readIndexed(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int size;
+        try {
+            size = format.readCount(buffer);
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new JLSCException("Unable to read header amount (halted at: " + buffer.position() + ")", e);
+        }
+        try {
+            return new long[] {size, JLSCByteFormat.readVarLong(buffer)};
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read body length (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    public static long readIndexedLength(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
         try {
-            buffer.putInt(valueHeaders.size());
+            format.readCount(buffer);
+            return JLSCByteFormat.readVarLong(buffer);
         } catch (IOException e) {
+            throw new JLSCException("Unable to read body length (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    public static void writeIndexed(ByteStream buffer, JLSCByteFormat format, int size, long body) throws JLSCException {
+        JLSCArrayHeader.writeSize(buffer, format, size);
+        try {
+            JLSCByteFormat.writeVarLong(buffer, body);
+        } catch (IOException e) {
+            throw new JLSCException("Unable to write body length (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    public static long indexedLength(JLSCByteFormat format, int size, long body) {
+        return format.countLength(size) + JLSCByteFormat.varLongLength(body);
+    }
+
+    public static void writeSize(ByteStream buffer, JLSCByteFormat format, int size) throws JLSCException {
+        try {
+            format.writeCount(buffer, size);
+        } catch (IOException | UnsupportedOperationException e) {
             throw new JLSCException("Unable to write header amount (halted at: " + buffer.position() + ")", e);
         }
+    }
+
+    public int length() {
+        return this.length(JLSCByteFormat.legacy());
+    }
+
+    public int length(JLSCByteFormat format) {
+        int len = format.countLength(this.valueHeaders.size());
+        for (JLSCValueHeader header : this.valueHeaders) {
+            len += header.length(format);
+        }
+        return len;
+    }
+
+    public void write(ByteStream buffer) throws JLSCException {
+        this.write(buffer, JLSCByteFormat.legacy());
+    }
+
+    public void write(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        JLSCArrayHeader.writeSize(buffer, format, this.valueHeaders.size());
         for (int i = 0; i < this.valueHeaders.size(); i++) {
-            this.valueHeaders.get(i).write(buffer);
+            this.valueHeaders.get(i).write(buffer, format);
         }
     }
 
@@ -0,0 +1,428 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.header;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.pio.ByteStream;
+import com.gmail.socraticphoenix.pio.Bytes;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The encoding state of a single binary stream. Version 2 streams begin with a magic number, a version and a flags
+ * byte, store counts and string lengths as varints, and write each type specifier name once, referring back to it by
+ * id afterwards. Legacy streams have no preamble and use fixed-width counts and full type names for every value.
+ * <p>
+ * The {@link #INTERLEAVED} stream flag places each entry's header directly before its payload instead of gathering
+ * every header of a compound or array ahead of the bodies, so entries can be decoded and encoded one at a time.
+ * <p>
+ * The {@link #INDEXED} stream flag implies an interleaved layout and additionally prefixes each compound with the varlong
+ * length of its body, the byte width of its offsets and a table of entry offsets sorted by the UTF-8 bytes of their
+ * keys, and each array with the varlong length of its body. Such streams declare their whole type dictionary in the
+ * preamble, so any value can be decoded without reading its siblings.
+ * <p>
+ * Byte processors may store other repeated names, such as class names, in the same dictionary through
+ * {@link #writeName(ByteStream, String)}. In an indexed stream, names missing from the preamble, such as the types of
+ * values nested inside a byte processor's own encoding, are written in full.
+ * <p>
+ * Because the type dictionary is built while reading or writing, a format instance holds the state of one stream. The
+ * public entry points of {@link com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil} that write or measure a whole stream
+ * work on a {@link #fresh()} instance, so the format passed to them may be reused.
+ */
+public class JLSCByteFormat {
+    public static final int MAGIC = 0x4A4C5343;
+    public static final int LEGACY_VERSION = 1;
+    public static final int VERSION = 2;
+
+    public static final int INTERLEAVED = 1;
+    public static final int INDEXED = 1 << 1;
+
+    public static final int HAS_COMMENTS = 1;
+    public static final int HAS_TYPE_ARGUMENTS = 1 << 1;
+    public static final int HAS_PROPERTIES = 1 << 2;
+    public static final int ALL = HAS_COMMENTS | HAS_TYPE_ARGUMENTS | HAS_PROPERTIES;
+    public static final int INLINE_TRUE = 1 << 3;
+
+    private int version;
+    private int flags;
+    private List<String> types;
+    private Map<String, Integer> typeIds;
+    private boolean pending;
+    private int pendingCount;
+
+    private JLSCByteFormat(int version, int flags, List<String> types, Map<String, Integer> typeIds) {
+        this.version = version;
+        this.flags = flags;
+        this.types = types;
+        this.typeIds = typeIds;
+        this.pending = false;
+    }
+
+    public static JLSCByteFormat legacy() {
+        return new JLSCByteFormat(JLSCByteFormat.LEGACY_VERSION, 0, new ArrayList<>(), new HashMap<>());
+    }
+
+    public static JLSCByteFormat v2() {
+        return JLSCByteFormat.v2(0);
+    }
+
+    public static JLSCByteFormat v2(int flags) {
+        if ((flags & JLSCByteFormat.INDEXED) != 0) {
+            flags |= JLSCByteFormat.INTERLEAVED;
+        }
+        return new JLSCByteFormat(JLSCByteFormat.VERSION, flags, new ArrayList<>(), new HashMap<>());
+    }
+
+    public static JLSCByteFormat read(ByteStream buffer) throws JLSCException {
+        int first;
+        try {
+            first = buffer.getInt();
+        } catch (IOException | UnsupportedOperationException | BufferUnderflowException e) {
+            throw new JLSCException("Unable to read format preamble (halted at: " + buffer.position() + ")", e);
+        }
+
+        if (first != JLSCByteFormat.MAGIC) {
+            JLSCByteFormat format = JLSCByteFormat.legacy();
+            format.pending = true;
+            format.pendingCount = first;
+            return format;
+        }
+
+        int version;
+        int flags;
+        try {
+            version = buffer.get() & 0xFF;
+            flags = buffer.get() & 0xFF;
+        } catch (IOException | BufferUnderflowException e) {
+            throw new JLSCException("Unable to read format version (halted at: " + buffer.position() + ")", e);
+        }
+        if (version != JLSCByteFormat.VERSION) {
+            throw new JLSCException("Unsupported binary format version " + version + " (halted at: " + buffer.position() + ")");
+        }
+        JLSCByteFormat format = JLSCByteFormat.v2(flags);
+        if (format.hasFlag(JLSCByteFormat.INDEXED)) {
+            try {
+                int types = format.readCount(buffer);
+                for (int i = 0; i < types; i++) {
+                    format.define(format.readString(buffer));
+                }
+            } catch (IOException | BufferUnderflowException e) {
+                throw new JLSCException("Unable to read type dictionary (halted at: " + buffer.position() + ")", e);
+            }
+        }
+        return format;
+    }
+
+    public void writePreamble(ByteStream buffer) throws JLSCException {
+        if (!this.isLegacy()) {
+            try {
+                buffer.putInt(JLSCByteFormat.MAGIC);
+                buffer.put((byte) this.version);
+                buffer.put((byte) this.flags);
+                if (this.hasFlag(JLSCByteFormat.INDEXED)) {
+                    this.writeCount(buffer, this.types.size());
+                    for (String type : this.types) {
+                        this.writeString(buffer, type);
+                    }
+                }
+            } catch (IOException e) {
+                throw new JLSCException("Unable to write format preamble (halted at: " + buffer.position() + ")", e);
+            }
+        }
+    }
+
+    public int preambleLength() {
+        if (this.isLegacy()) {
+            return 0;
+        }
+        int len = Integer.BYTES + 2;
+        if (this.hasFlag(JLSCByteFormat.INDEXED)) {
+            len += this.countLength(this.types.size());
+            for (String type : this.types) {
+                len += this.stringLength(type);
+            }
+        }
+        return len;
+    }
+
+    public void declare(String type) {
+        if (!this.isLegacy() && !this.typeIds.containsKey(type)) {
+            this.define(type);
+        }
+    }
+
+    /**
+     * Creates a format with the version and flags of this format and an empty dictionary, for writing or measuring a new
+     * stream.
+     *
+     * @return A new format without any stream state.
+     */
+    public JLSCByteFormat fresh() {
+        return new JLSCByteFormat(this.version, this.flags, new ArrayList<>(), new HashMap<>());
+    }
+
+    public JLSCByteFormat copy() {
+        JLSCByteFormat copy = new JLSCByteFormat(this.version, this.flags, new ArrayList<>(this.types), new HashMap<>(this.typeIds));
+        copy.pending = this.pending;
+        copy.pendingCount = this.pendingCount;
+        return copy;
+    }
+
+    public boolean isLegacy() {
+        return this.version == JLSCByteFormat.LEGACY_VERSION;
+    }
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    public int getFlags() {
+        return this.flags;
+    }
+
+    public boolean hasFlag(int flag) {
+        return (this.flags & flag) != 0;
+    }
+
+    public int flags(int flags) {
+        return this.isLegacy() ? JLSCByteFormat.ALL : flags;
+    }
+
+    public boolean isInline(String type) {
+        return !this.isLegacy() && type.equals("boolean");
+    }
+
+    public int readFlags(ByteStream buffer) throws IOException {
+        return this.isLegacy() ? JLSCByteFormat.ALL : buffer.get() & 0xFF;
+    }
+
+    public void writeFlags(ByteStream buffer, int flags) throws IOException {
+        if (!this.isLegacy()) {
+            buffer.put((byte) flags);
+        }
+    }
+
+    public int flagsLength() {
+        return this.isLegacy() ? 0 : 1;
+    }
+
+    public int readCount(ByteStream buffer) throws IOException {
+        if (this.pending) {
+            this.pending = false;
+            return this.pendingCount;
+        }
+        return this.isLegacy() ? buffer.getInt() : JLSCByteFormat.readVarInt(buffer);
+    }
+
+    public void writeCount(ByteStream buffer, int count) throws IOException {
+        if (this.isLegacy()) {
+            buffer.putInt(count);
+        } else {
+            JLSCByteFormat.writeVarInt(buffer, count);
+        }
+    }
+
+    public int countLength(int count) {
+        return this.isLegacy() ? Integer.BYTES : JLSCByteFormat.varIntLength(count);
+    }
+
+    public String readString(ByteStream buffer) throws IOException {
+        if (this.isLegacy()) {
+            return Bytes.readString(buffer);
+        }
+        byte[] bytes = new byte[JLSCByteFormat.readVarInt(buffer)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public void writeString(ByteStream buffer, String s) throws IOException {
+        if (this.isLegacy()) {
+            Bytes.writeString(buffer, s);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            JLSCByteFormat.writeVarInt(buffer, bytes.length);
+            for (byte b : bytes) {
+                buffer.put(b);
+            }
+        }
+    }
+
+    public int stringLength(String s) {
+        if (this.isLegacy()) {
+            return Bytes.length(s);
+        }
+        int len = JLSCByteFormat.utf8Length(s);
+        return JLSCByteFormat.varIntLength(len) + len;
+    }
+
+    public String readType(ByteStream buffer) throws IOException {
+        return this.readName(buffer);
+    }
+
+    public void writeType(ByteStream buffer, String type) throws IOException {
+        this.writeName(buffer, type);
+    }
+
+    public int typeLength(String type) {
+        return this.nameLength(type);
+    }
+
+    public String readName(ByteStream buffer) throws IOException {
+        if (this.isLegacy()) {
+            return Bytes.readString(buffer);
+        }
+        int ref = JLSCByteFormat.readVarInt(buffer);
+        if (ref == 0) {
+            String name = this.readString(buffer);
+            if (!this.hasFlag(JLSCByteFormat.INDEXED)) {
+                this.define(name);
+            }
+            return name;
+        } else if (ref > this.types.size()) {
+            throw new IOException("Undefined dictionary id " + (ref - 1));
+        }
+        return this.types.get(ref - 1);
+    }
+
+    public void writeName(ByteStream buffer, String name) throws IOException {
+        if (this.isLegacy()) {
+            Bytes.writeString(buffer, name);
+            return;
+        }
+        Integer id = this.typeIds.get(name);
+        if (id == null) {
+            JLSCByteFormat.writeVarInt(buffer, 0);
+            this.writeString(buffer, name);
+            if (!this.hasFlag(JLSCByteFormat.INDEXED)) {
+                this.define(name);
+            }
+        } else {
+            JLSCByteFormat.writeVarInt(buffer, id + 1);
+        }
+    }
+
+    public int nameLength(String name) {
+        if (this.isLegacy()) {
+            return Bytes.length(name);
+        }
+        Integer id = this.typeIds.get(name);
+        if (id == null) {
+            if (!this.hasFlag(JLSCByteFormat.INDEXED)) {
+                this.define(name);
+            }
+            return 1 + this.stringLength(name);
+        }
+        return JLSCByteFormat.varIntLength(id + 1);
+    }
+
+    private void define(String type) {
+        this.typeIds.put(type, this.types.size());
+        this.types.add(type);
+    }
+
+    public static int readVarInt(ByteStream buffer) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static void writeVarInt(ByteStream buffer, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int varIntLength(int value) {
+        int len = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            len++;
+        }
+        return len;
+    }
+
+    public static long readVarLong(ByteStream buffer) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varlong");
+    }
+
+    public static void writeVarLong(ByteStream buffer, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int varLongLength(long value) {
+        int len = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            len++;
+        }
+        return len;
+    }
+
+    private static int utf8Length(String s) {
+        int len = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                len++;
+            } else if (c < 0x800) {
+                len += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                len += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                len++;
+            } else {
+                len += 3;
+            }
+        }
+        return len;
+    }
+
+}
@@ -23,9 +23,11 @@ package com.gmail.socraticphoenix.jlsc.header;
 
 import com.gmail.socraticphoenix.jlsc.JLSCCompound;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
 import com.gmail.socraticphoenix.pio.ByteStream;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -42,36 +44,137 @@ public class JLSCCompoundHeader {
     }
 
     public static JLSCCompoundHeader read(ByteStream buffer) throws JLSCException {
-        int numHeaders = 0;
-        try {
-            numHeaders = buffer.getInt();
-        } catch (IOException | UnsupportedOperationException e) {
-            throw new JLSCException("Unable to read header amount", e);
-        }
+        return JLSCCompoundHeader.read(buffer, JLSCByteFormat.legacy());
+    }
+
+    public static JLSCCompoundHeader read(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int numHeaders = JLSCCompoundHeader.readSize(buffer, format);
         JLSCCompoundHeader header = new JLSCCompoundHeader();
         for (int i = 0; i < numHeaders; i++) {
-            header.getKeyValueHeaders().add(JLSCKeyValueHeader.read(buffer));
+            header.getKeyValueHeaders().add(JLSCKeyValueHeader.read(buffer, format));
         }
         return header;
     }
 
+    public static int readSize(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (format.hasFlag(JLSCByteFormat.INDEXED)) {
+            return (int) JLSCCompoundHeader.readIndexed(buffer, format)[0];
+        }
+        try {
+            return format.readCount(buffer);
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new JLSCException("Unable to read header amount (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    /**
+     * Reads the header of an indexed compound and skips its key index, leaving the buffer at the start of the body.
+     * Returns the size of the compound followed by the length of its body.
+     */
+    public static long[] readIndexed(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int size;
+        try {
+            size = format.readCount(buffer);
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new JLSCException("Unable to read header amount (halted at: " + buffer.position() + ")", e);
+        }
+        long body;
+        try {
+            body = JLSCByteFormat.readVarLong(buffer);
+            int width = buffer.get() & 0xFF;
+            JLSCReadWriteUtil.skip(buffer, (long) size * width);
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read key index (halted at: " + buffer.position() + ")", e);
+        }
+        return new long[] {size, body};
+    }
+
+    public static long readIndexedLength(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        try {
+            int size = format.readCount(buffer);
+            long body = JLSCByteFormat.readVarLong(buffer);
+            int width = buffer.get() & 0xFF;
+            return (long) size * width + body;
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read body length (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    /**
+     * Writes the header of an indexed compound: its size, the length of its body, the width of an offset and the
+     * offset of every entry within the body, in key order. The layout holds the body length followed by the offsets.
+     */
+    public static void writeIndexed(ByteStream buffer, JLSCByteFormat format, long[] layout) throws JLSCException {
+        JLSCCompoundHeader.writeSize(buffer, format, layout.length - 1);
+        try {
+            JLSCByteFormat.writeVarLong(buffer, layout[0]);
+            int width = JLSCCompoundHeader.offsetWidth(layout[0]);
+            buffer.put((byte) width);
+            for (int i = 1; i < layout.length; i++) {
+                JLSCCompoundHeader.writeOffset(buffer, layout[i], width);
+            }
+        } catch (IOException e) {
+            throw new JLSCException("Unable to write key index (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    public static long indexedLength(JLSCByteFormat format, int size, long body) {
+        return format.countLength(size) + JLSCByteFormat.varLongLength(body) + 1 + (long) size * JLSCCompoundHeader.offsetWidth(body);
+    }
+
+    public static int offsetWidth(long body) {
+        if (body <= 0xFFL) {
+            return 1;
+        } else if (body <= 0xFFFFL) {
+            return 2;
+        } else if (body <= 0xFFFFFFFFL) {
+            return 4;
+        }
+        return 8;
+    }
+
+    public static long readOffset(ByteBuffer buffer, int position, int width) {
+        long offset = 0;
+        for (int i = 0; i < width; i++) {
+            offset = (offset << 8) | (buffer.get(position + i) & 0xFF);
+        }
+        return offset;
+    }
+
+    private static void writeOffset(ByteStream buffer, long offset, int width) throws IOException {
+        for (int shift = (width - 1) * 8; shift >= 0; shift -= 8) {
+            buffer.put((byte) (offset >>> shift));
+        }
+    }
+
+    public static void writeSize(ByteStream buffer, JLSCByteFormat format, int size) throws JLSCException {
+        try {
+            format.writeCount(buffer, size);
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new JLSCException("Unable to write header amount (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
     public int length() {
-        int len = Integer.BYTES;
+        return this.length(JLSCByteFormat.legacy());
+    }
+
+    public int length(JLSCByteFormat format) {
+        int len = format.countLength(this.keyValueHeaders.size());
         for (JLSCKeyValueHeader header : this.keyValueHeaders) {
-            len += header.length();
+            len += header.length(format);
         }
         return len;
     }
 
     public void write(ByteStream buffer) throws JLSCException {
-        try {
-            buffer.putInt(this.keyValueHeaders.size());
-        } catch (IOException | UnsupportedOperationException e) {
-            throw new JLSCException("Unable to write header amount", e);
-        }
+        this.write(buffer, JLSCByteFormat.legacy());
+    }
+
+    public void write(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        JLSCCompoundHeader.writeSize(buffer, format, this.keyValueHeaders.size());
         for (int i = 0; i < this.keyValueHeaders.size(); i++) {
-            JLSCKeyValueHeader header = this.keyValueHeaders.get(i);
-            header.write(buffer);
+            this.keyValueHeaders.get(i).write(buffer, format);
         }
     }
 
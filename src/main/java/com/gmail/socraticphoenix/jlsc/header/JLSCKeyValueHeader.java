@@ -24,7 +24,6 @@ package com.gmail.socraticphoenix.jlsc.header;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
 import com.gmail.socraticphoenix.jlsc.value.JLSCKeyValue;
 import com.gmail.socraticphoenix.pio.ByteStream;
-import com.gmail.socraticphoenix.pio.Bytes;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -48,58 +47,94 @@ public class JLSCKeyValueHeader {
     }
 
     public static JLSCKeyValueHeader read(ByteStream buffer) throws JLSCException {
+        return JLSCKeyValueHeader.read(buffer, JLSCByteFormat.legacy());
+    }
+
+    public static JLSCKeyValueHeader read(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
         String key = null;
         try {
-            key = Bytes.readString(buffer);
+            key = format.readString(buffer);
         } catch (IOException | UnsupportedOperationException e) {
             throw new JLSCException("Unable to read key (halted at: " + buffer.position() + ")", e);
         }
-        int commentsNum = 0;
+        int flags = 0;
         try {
-            commentsNum = buffer.getInt();
+            flags = format.readFlags(buffer);
         } catch (IOException e) {
-            throw new JLSCException("Unable to read comment amount (halted at: " + buffer.position() + ")", e);
+            throw new JLSCException("Unable to read header flags (halted at: " + buffer.position() + ")", e);
         }
         List<String> comments = new ArrayList<>();
-        for (int i = 0; i < commentsNum; i++) {
+        if ((flags & JLSCByteFormat.HAS_COMMENTS) != 0) {
+            int commentsNum = 0;
             try {
-                comments.add(Bytes.readString(buffer));
+                commentsNum = format.readCount(buffer);
             } catch (IOException e) {
-                throw new JLSCException("Unable to read comment #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                throw new JLSCException("Unable to read comment amount (halted at: " + buffer.position() + ")", e);
+            }
+            for (int i = 0; i < commentsNum; i++) {
+                try {
+                    comments.add(format.readString(buffer));
+                } catch (IOException e) {
+                    throw new JLSCException("Unable to read comment #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
             }
         }
-        return new JLSCKeyValueHeader(key, comments, JLSCValueHeader.read(buffer));
+        return new JLSCKeyValueHeader(key, comments, JLSCValueHeader.read(buffer, format, flags));
+    }
+
+    public int flags() {
+        return this.comments.isEmpty() ? this.valueHeader.flags() : this.valueHeader.flags() | JLSCByteFormat.HAS_COMMENTS;
     }
 
     public int length() {
-        int len = Bytes.length(this.key) + Integer.BYTES;
-        for (String s : this.comments) {
-            len += Bytes.length(s);
+        return this.length(JLSCByteFormat.legacy());
+    }
+
+    public int length(JLSCByteFormat format) {
+        int flags = format.flags(this.flags());
+        int len = format.stringLength(this.key) + format.flagsLength();
+        if ((flags & JLSCByteFormat.HAS_COMMENTS) != 0) {
+            len += format.countLength(this.comments.size());
+            for (String s : this.comments) {
+                len += format.stringLength(s);
+            }
         }
-        len += this.valueHeader.length();
+        len += this.valueHeader.length(format, flags);
         return len;
     }
 
     public void write(ByteStream buffer) throws JLSCException {
+        this.write(buffer, JLSCByteFormat.legacy());
+    }
+
+    public void write(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int flags = format.flags(this.flags());
         try {
-            Bytes.writeString(buffer, this.key);
+            format.writeString(buffer, this.key);
         } catch (IOException e) {
             throw new JLSCException("Unable to write key (halted at: " + buffer.position() + ")", e);
         }
         try {
-            buffer.putInt(comments.size());
+            format.writeFlags(buffer, flags);
         } catch (IOException e) {
-            throw new JLSCException("Unable to write comment amount (halted at: " + buffer.position() + ")", e);
+            throw new JLSCException("Unable to write header flags (halted at: " + buffer.position() + ")", e);
         }
-        for (int i = 0; i < this.comments.size(); i++) {
-            String c = this.comments.get(i);
+        if ((flags & JLSCByteFormat.HAS_COMMENTS) != 0) {
             try {
-                Bytes.writeString(buffer, c);
+                format.writeCount(buffer, this.comments.size());
             } catch (IOException e) {
-                throw new JLSCException("Unable to write comment #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                throw new JLSCException("Unable to write comment amount (halted at: " + buffer.position() + ")", e);
+            }
+            for (int i = 0; i < this.comments.size(); i++) {
+                String c = this.comments.get(i);
+                try {
+                    format.writeString(buffer, c);
+                } catch (IOException e) {
+                    throw new JLSCException("Unable to write comment #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
             }
         }
-        this.valueHeader.write(buffer);
+        this.valueHeader.write(buffer, format, flags);
     }
 
     public String getKey() {
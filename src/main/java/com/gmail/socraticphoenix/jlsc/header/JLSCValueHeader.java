@@ -26,7 +26,6 @@ import com.gmail.socraticphoenix.jlsc.JLSCException;
 import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
 import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
 import com.gmail.socraticphoenix.pio.ByteStream;
-import com.gmail.socraticphoenix.pio.Bytes;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -35,11 +34,13 @@ import java.util.List;
 public class JLSCValueHeader {
     private JLSCValueProperty typeSpecifier;
     private List<JLSCValueProperty> properties;
+    private boolean inlineValue;
 
     public JLSCValueHeader(JLSCValue src) {
         src = src.getForWriting();
         this.typeSpecifier = src.getTypeSpecifier();
         this.properties = Items.looseClone(src.getProperties());
+        this.inlineValue = this.typeSpecifier.getName().equals("boolean") && Boolean.TRUE.equals(src.rawValue());
     }
 
     public JLSCValueHeader(JLSCValueProperty typeSpecifier) {
@@ -48,119 +49,182 @@ public class JLSCValueHeader {
     }
 
     public static JLSCValueHeader read(ByteStream buffer) throws JLSCException {
-        String typeName = null;
+        return JLSCValueHeader.read(buffer, JLSCByteFormat.legacy());
+    }
+
+    public static JLSCValueHeader read(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int flags = 0;
         try {
-            typeName = Bytes.readString(buffer);
+            flags = format.readFlags(buffer);
         } catch (IOException e) {
-            throw new JLSCException("Unable to read type specifier (halted at: " + buffer.position() + ")", e);
+            throw new JLSCException("Unable to read header flags (halted at: " + buffer.position() + ")", e);
         }
-        JLSCValueProperty typeSpecifier = new JLSCValueProperty(typeName);
-        int typeArgNum = 0;
+        return JLSCValueHeader.read(buffer, format, flags);
+    }
+
+    static JLSCValueHeader read(ByteStream buffer, JLSCByteFormat format, int flags) throws JLSCException {
+        String typeName = null;
         try {
-            typeArgNum = buffer.getInt();
+            typeName = format.readType(buffer);
         } catch (IOException e) {
-            throw new JLSCException("Unable to read type specifier argument amount (halted at: " + buffer.position() + ")", e);
+            throw new JLSCException("Unable to read type specifier (halted at: " + buffer.position() + ")", e);
         }
-        for (int i = 0; i < typeArgNum; i++) {
+        JLSCValueProperty typeSpecifier = new JLSCValueProperty(typeName);
+        if ((flags & JLSCByteFormat.HAS_TYPE_ARGUMENTS) != 0) {
+            int typeArgNum = 0;
             try {
-                typeSpecifier.getArguments().add(Bytes.readString(buffer));
+                typeArgNum = format.readCount(buffer);
             } catch (IOException e) {
-                throw new JLSCException("Unable to read type specifier argument #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                throw new JLSCException("Unable to read type specifier argument amount (halted at: " + buffer.position() + ")", e);
+            }
+            for (int i = 0; i < typeArgNum; i++) {
+                try {
+                    typeSpecifier.getArguments().add(format.readString(buffer));
+                } catch (IOException e) {
+                    throw new JLSCException("Unable to read type specifier argument #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
             }
         }
 
         JLSCValueHeader header = new JLSCValueHeader(typeSpecifier);
-        int propertyNum = 0;
-        try {
-            propertyNum = buffer.getInt();
-        } catch (IOException e) {
-            throw new JLSCException("Unable to read property amount (halted at: " + buffer.position() + ")", e);
-        }
-        for (int i = 0; i < propertyNum; i++) {
-            String name = null;
+        header.inlineValue = (flags & JLSCByteFormat.INLINE_TRUE) != 0;
+        if ((flags & JLSCByteFormat.HAS_PROPERTIES) != 0) {
+            int propertyNum = 0;
             try {
-                name = Bytes.readString(buffer);
+                propertyNum = format.readCount(buffer);
             } catch (IOException e) {
-                throw new JLSCException("Unable to read name of property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                throw new JLSCException("Unable to read property amount (halted at: " + buffer.position() + ")", e);
             }
-            JLSCValueProperty property = new JLSCValueProperty(name);
-            int argNum = 0;
-            try {
-                argNum = buffer.getInt();
-            } catch (IOException e) {
-                throw new JLSCException("Unable to read argument amount of property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
-            }
-            for (int j = 0; j < argNum; j++) {
+            for (int i = 0; i < propertyNum; i++) {
+                String name = null;
+                try {
+                    name = format.readString(buffer);
+                } catch (IOException e) {
+                    throw new JLSCException("Unable to read name of property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
+                JLSCValueProperty property = new JLSCValueProperty(name);
+                int argNum = 0;
                 try {
-                    property.getArguments().add(Bytes.readString(buffer));
+                    argNum = format.readCount(buffer);
                 } catch (IOException e) {
-                    throw new JLSCException("Unable to read argument #" + (j + 1) + " for property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                    throw new JLSCException("Unable to read argument amount of property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
+                for (int j = 0; j < argNum; j++) {
+                    try {
+                        property.getArguments().add(format.readString(buffer));
+                    } catch (IOException e) {
+                        throw new JLSCException("Unable to read argument #" + (j + 1) + " for property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                    }
                 }
+                header.getProperties().add(property);
             }
-            header.getProperties().add(property);
         }
 
         return header;
     }
 
+    public int flags() {
+        int flags = 0;
+        if (!this.typeSpecifier.getArguments().isEmpty()) {
+            flags |= JLSCByteFormat.HAS_TYPE_ARGUMENTS;
+        }
+        if (!this.properties.isEmpty()) {
+            flags |= JLSCByteFormat.HAS_PROPERTIES;
+        }
+        if (this.inlineValue) {
+            flags |= JLSCByteFormat.INLINE_TRUE;
+        }
+        return flags;
+    }
+
     public int length() {
-        int len = 0;
-        len += Bytes.length(this.typeSpecifier.getName()) + Integer.BYTES;
-        for(String s : this.typeSpecifier.getArguments()) {
-            len += Bytes.length(s);
+        return this.length(JLSCByteFormat.legacy());
+    }
+
+    public int length(JLSCByteFormat format) {
+        return format.flagsLength() + this.length(format, format.flags(this.flags()));
+    }
+
+    int length(JLSCByteFormat format, int flags) {
+        int len = format.typeLength(this.typeSpecifier.getName());
+        if ((flags & JLSCByteFormat.HAS_TYPE_ARGUMENTS) != 0) {
+            len += format.countLength(this.typeSpecifier.getArguments().size());
+            for (String s : this.typeSpecifier.getArguments()) {
+                len += format.stringLength(s);
+            }
         }
 
-        len += Integer.BYTES;
-        for (JLSCValueProperty property : this.properties) {
-            len += Bytes.length(property.getName()) + Integer.BYTES;
-            for(String s : property.getArguments()) {
-                len += Bytes.length(s);
+        if ((flags & JLSCByteFormat.HAS_PROPERTIES) != 0) {
+            len += format.countLength(this.properties.size());
+            for (JLSCValueProperty property : this.properties) {
+                len += format.stringLength(property.getName()) + format.countLength(property.getArguments().size());
+                for (String s : property.getArguments()) {
+                    len += format.stringLength(s);
+                }
             }
         }
         return len;
     }
 
     public void write(ByteStream buffer) throws JLSCException {
+        this.write(buffer, JLSCByteFormat.legacy());
+    }
+
+    public void write(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int flags = format.flags(this.flags());
         try {
-            Bytes.writeString(buffer, this.typeSpecifier.getName());
+            format.writeFlags(buffer, flags);
         } catch (IOException e) {
-            throw new JLSCException("Unable to write type specifier (halted at: " + buffer.position() + ")", e);
+            throw new JLSCException("Unable to write header flags (halted at: " + buffer.position() + ")", e);
         }
+        this.write(buffer, format, flags);
+    }
+
+    void write(ByteStream buffer, JLSCByteFormat format, int flags) throws JLSCException {
         try {
-            buffer.putInt(this.typeSpecifier.getArguments().size());
+            format.writeType(buffer, this.typeSpecifier.getName());
         } catch (IOException e) {
-            throw new JLSCException("Unable to write type specifier argument amount (halted at: " + buffer.position() + ")", e);
+            throw new JLSCException("Unable to write type specifier (halted at: " + buffer.position() + ")", e);
         }
-        for (int i = 0; i < this.typeSpecifier.getArguments().size(); i++) {
+        if ((flags & JLSCByteFormat.HAS_TYPE_ARGUMENTS) != 0) {
             try {
-                Bytes.writeString(buffer, this.typeSpecifier.getArguments().get(i));
+                format.writeCount(buffer, this.typeSpecifier.getArguments().size());
             } catch (IOException e) {
-                throw new JLSCException("Unable to write type specifier argument #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                throw new JLSCException("Unable to write type specifier argument amount (halted at: " + buffer.position() + ")", e);
+            }
+            for (int i = 0; i < this.typeSpecifier.getArguments().size(); i++) {
+                try {
+                    format.writeString(buffer, this.typeSpecifier.getArguments().get(i));
+                } catch (IOException e) {
+                    throw new JLSCException("Unable to write type specifier argument #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
             }
-        }
-        try {
-            buffer.putInt(this.properties.size());
-        } catch (IOException e) {
-            throw new JLSCException("Unable to write property amount (halted at: " + buffer.position() + ")", e);
         }
 
-        for (int i = 0; i < this.properties.size(); i++) {
-            JLSCValueProperty property = this.properties.get(i);
-            try {
-                Bytes.writeString(buffer, property.getName());
-            } catch (IOException e) {
-                throw new JLSCException("Unable to write property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
-            }
+        if ((flags & JLSCByteFormat.HAS_PROPERTIES) != 0) {
             try {
-                buffer.putInt(property.getArguments().size());
+                format.writeCount(buffer, this.properties.size());
             } catch (IOException e) {
-                throw new JLSCException("Unable to write argument amount for property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                throw new JLSCException("Unable to write property amount (halted at: " + buffer.position() + ")", e);
             }
-            for (int j = 0; j < property.getArguments().size(); j++) {
+            for (int i = 0; i < this.properties.size(); i++) {
+                JLSCValueProperty property = this.properties.get(i);
+                try {
+                    format.writeString(buffer, property.getName());
+                } catch (IOException e) {
+                    throw new JLSCException("Unable to write property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
                 try {
-                    Bytes.writeString(buffer, property.getArguments().get(j));
+                    format.writeCount(buffer, property.getArguments().size());
                 } catch (IOException e) {
-                    throw new JLSCException("Unable to write argument #" + (j + 1) + " for property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                    throw new JLSCException("Unable to write argument amount for property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                }
+                for (int j = 0; j < property.getArguments().size(); j++) {
+                    try {
+                        format.writeString(buffer, property.getArguments().get(j));
+                    } catch (IOException e) {
+                        throw new JLSCException("Unable to write argument #" + (j + 1) + " for property #" + (i + 1) + " (halted at: " + buffer.position() + ")", e);
+                    }
                 }
             }
         }
@@ -174,4 +238,8 @@ public class JLSCValueHeader {
         return this.properties;
     }
 
+    public boolean getInlineValue() {
+        return this.inlineValue;
+    }
+
 }
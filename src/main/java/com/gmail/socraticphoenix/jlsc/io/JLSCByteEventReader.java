@@ -0,0 +1,333 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCArrayHeader;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.header.JLSCCompoundHeader;
+import com.gmail.socraticphoenix.jlsc.header.JLSCKeyValueHeader;
+import com.gmail.socraticphoenix.jlsc.header.JLSCValueHeader;
+import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
+import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
+import com.gmail.socraticphoenix.jlsc.value.JLSCByteProcessor;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.parse.Strings;
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Stack;
+
+public class JLSCByteEventReader implements JLSCEventReader {
+    private ByteStream buffer;
+    private JLSCByteFormat format;
+    private Deque<JLSCEvent> events;
+    private Stack<Frame> frames;
+    private boolean started;
+    private int level;
+
+    public JLSCByteEventReader(ByteStream buffer) {
+        this.buffer = buffer;
+        this.events = new ArrayDeque<>();
+        this.frames = new Stack<>();
+        this.started = false;
+        this.level = 0;
+    }
+
+    @Override
+    public boolean hasNext() throws JLSCException {
+        while (this.events.isEmpty() && (!this.started || !this.frames.isEmpty())) {
+            try {
+                this.advance();
+            } catch (BufferOverflowException | BufferUnderflowException e) {
+                throw new JLSCException("Incorrect buffer size (halted at: " + this.buffer.position() + ")", e);
+            }
+        }
+        return !this.events.isEmpty();
+    }
+
+    @Override
+    public JLSCEvent next() throws JLSCException {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JLSCEvent event = this.events.poll();
+        if (event.getType() == JLSCEventType.START_COMPOUND || event.getType() == JLSCEventType.START_ARRAY) {
+            this.level++;
+        } else if (event.getType() == JLSCEventType.END_COMPOUND || event.getType() == JLSCEventType.END_ARRAY) {
+            this.level--;
+        }
+        return event;
+    }
+
+    @Override
+    public int depth() {
+        return this.level;
+    }
+
+    private void advance() throws JLSCException {
+        if (!this.started) {
+            this.started = true;
+            this.format = JLSCByteFormat.read(this.buffer);
+            this.frames.push(this.compoundFrame());
+            this.events.add(JLSCEvent.of(JLSCEventType.START_COMPOUND));
+            return;
+        }
+
+        Frame frame = this.frames.peek();
+        if (frame.index >= frame.size) {
+            this.frames.pop();
+            this.events.add(JLSCEvent.of(frame.array ? JLSCEventType.END_ARRAY : JLSCEventType.END_COMPOUND));
+        } else if (frame.array) {
+            JLSCValueHeader header = frame.headers == null ? JLSCValueHeader.read(this.buffer, this.format) : (JLSCValueHeader) frame.headers.get(frame.index);
+            frame.index++;
+            this.nextValue(header, "index " + (frame.index - 1));
+        } else {
+            JLSCKeyValueHeader header = frame.headers == null ? JLSCKeyValueHeader.read(this.buffer, this.format) : (JLSCKeyValueHeader) frame.headers.get(frame.index);
+            frame.index++;
+            for (String comment : header.getComments()) {
+                this.events.add(JLSCEvent.text(JLSCEventType.COMMENT, comment));
+            }
+            this.events.add(JLSCEvent.text(JLSCEventType.KEY, header.getKey()));
+            this.nextValue(header.getValueHeader(), "key \"" + Strings.escape(header.getKey()) + "\"");
+        }
+    }
+
+    private void nextValue(JLSCValueHeader header, String location) throws JLSCException {
+        for (JLSCValueProperty property : header.getProperties()) {
+            this.events.add(JLSCEvent.property(property));
+        }
+
+        String type = header.getTypeSpecifier().getName();
+        if (type.equals("compound")) {
+            this.frames.push(this.compoundFrame());
+            this.events.add(JLSCEvent.of(JLSCEventType.START_COMPOUND));
+        } else if (type.equals("array")) {
+            this.frames.push(this.arrayFrame());
+            this.events.add(JLSCEvent.of(JLSCEventType.START_ARRAY));
+        } else {
+            Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessor(type);
+            if (processorOptional.isPresent()) {
+                if (this.format.isInline(type)) {
+                    JLSCValue value = JLSCValue.of(header.getInlineValue());
+                    value.getProperties().addAll(header.getProperties());
+                    value.setTypeSpecifier(header.getTypeSpecifier());
+                    this.events.add(JLSCEvent.value(value, processorOptional.get()));
+                } else {
+                    this.events.add(JLSCEvent.value(this.payload(processorOptional.get()), this.format, header.getTypeSpecifier(), header.getProperties(), processorOptional.get()));
+                }
+            } else {
+                throw new JLSCException("Unable to read value at " + location + ", no byte processor found for id \"" + type + "\"");
+            }
+        }
+    }
+
+    /**
+     * Moves past the payload of a value without decoding it, and returns the bytes it spans. Over a {@link JLSCByteView}
+     * the payload is a slice of the underlying buffer; over any other stream, the bytes are copied as they are skipped.
+     */
+    private ByteBuffer payload(JLSCByteProcessor processor) throws JLSCException {
+        if (this.buffer instanceof JLSCByteView) {
+            ByteBuffer source = ((JLSCByteView) this.buffer).getBuffer();
+            int start = source.position();
+            processor.skipBytes(this.buffer, this.format);
+            ByteBuffer payload = source.duplicate();
+            payload.limit(source.position()).position(start);
+            return payload.slice().order(source.order());
+        }
+        Recorder recorder = new Recorder(this.buffer);
+        processor.skipBytes(recorder, this.format);
+        return ByteBuffer.wrap(recorder.output.toByteArray());
+    }
+
+    @Override
+    public void skipChildren() throws JLSCException {
+        if (!this.events.isEmpty() || this.frames.size() != this.level || this.frames.isEmpty() || this.frames.peek().end < 0) {
+            JLSCEventReader.super.skipChildren();
+            return;
+        }
+        Frame frame = this.frames.pop();
+        try {
+            JLSCReadWriteUtil.skip(this.buffer, frame.end - this.offset());
+        } catch (BufferOverflowException | BufferUnderflowException e) {
+            throw new JLSCException("Incorrect buffer size (halted at: " + this.buffer.position() + ")", e);
+        }
+        this.level--;
+    }
+
+    private long offset() {
+        return this.buffer instanceof JLSCByteInput ? ((JLSCByteInput) this.buffer).offset() : this.buffer.position();
+    }
+
+    private Frame compoundFrame() throws JLSCException {
+        if (this.format.hasFlag(JLSCByteFormat.INDEXED)) {
+            long[] header = JLSCCompoundHeader.readIndexed(this.buffer, this.format);
+            return new Frame(null, (int) header[0], false, this.offset() + header[1]);
+        } else if (this.format.hasFlag(JLSCByteFormat.INTERLEAVED)) {
+            return new Frame(null, JLSCCompoundHeader.readSize(this.buffer, this.format), false, -1);
+        }
+        List<JLSCKeyValueHeader> headers = JLSCCompoundHeader.read(this.buffer, this.format).getKeyValueHeaders();
+        return new Frame(headers, headers.size(), false, -1);
+    }
+
+    private Frame arrayFrame() throws JLSCException {
+        if (this.format.hasFlag(JLSCByteFormat.INDEXED)) {
+            long[] header = JLSCArrayHeader.readIndexed(this.buffer, this.format);
+            return new Frame(null, (int) header[0], true, this.offset() + header[1]);
+        } else if (this.format.hasFlag(JLSCByteFormat.INTERLEAVED)) {
+            return new Frame(null, JLSCArrayHeader.readSize(this.buffer, this.format), true, -1);
+        }
+        List<JLSCValueHeader> headers = JLSCArrayHeader.read(this.buffer, this.format).getValueHeaders();
+        return new Frame(headers, headers.size(), true, -1);
+    }
+
+    private static class Frame {
+        private List<?> headers;
+        private int size;
+        private boolean array;
+        private int index;
+        private long end;
+
+        public Frame(List<?> headers, int size, boolean array, long end) {
+            this.headers = headers;
+            this.size = size;
+            this.array = array;
+            this.index = 0;
+            this.end = end;
+        }
+
+    }
+
+    private static class Recorder implements ByteStream {
+        private ByteStream source;
+        private JLSCByteOutput output;
+
+        public Recorder(ByteStream source) {
+            this.source = source;
+            this.output = new JLSCByteOutput(Long.BYTES);
+        }
+
+        @Override
+        public byte get() throws IOException {
+            byte b = this.source.get();
+            this.output.put(b);
+            return b;
+        }
+
+        @Override
+        public short getShort() throws IOException {
+            short s = this.source.getShort();
+            this.output.putShort(s);
+            return s;
+        }
+
+        @Override
+        public char getChar() throws IOException {
+            char c = this.source.getChar();
+            this.output.putChar(c);
+            return c;
+        }
+
+        @Override
+        public int getInt() throws IOException {
+            int i = this.source.getInt();
+            this.output.putInt(i);
+            return i;
+        }
+
+        @Override
+        public long getLong() throws IOException {
+            long l = this.source.getLong();
+            this.output.putLong(l);
+            return l;
+        }
+
+        @Override
+        public float getFloat() throws IOException {
+            float f = this.source.getFloat();
+            this.output.putFloat(f);
+            return f;
+        }
+
+        @Override
+        public double getDouble() throws IOException {
+            double d = this.source.getDouble();
+            this.output.putDouble(d);
+            return d;
+        }
+
+        @Override
+        public ByteStream put(byte b) {
+            throw new UnsupportedOperationException("Cannot write to an input stream");
+        }
+
+        @Override
+        public ByteStream putShort(short s) {
+            throw new UnsupportedOperationException("Cannot write to an input stream");
+        }
+
+        @Override
+        public ByteStream putChar(char c) {
+            throw new UnsupportedOperationException("Cannot write to an input stream");
+        }
+
+        @Override
+        public ByteStream putInt(int i) {
+            throw new UnsupportedOperationException("Cannot write to an input stream");
+        }
+
+        @Override
+        public ByteStream putLong(long l) {
+            throw new UnsupportedOperationException("Cannot write to an input stream");
+        }
+
+        @Override
+        public ByteStream putFloat(float f) {
+            throw new UnsupportedOperationException("Cannot write to an input stream");
+        }
+
+        @Override
+        public ByteStream putDouble(double d) {
+            throw new UnsupportedOperationException("Cannot write to an input stream");
+        }
+
+        @Override
+        public int position() {
+            return this.source.position();
+        }
+
+        @Override
+        public int remaining() {
+            return this.source.remaining();
+        }
+
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A read-only {@link ByteStream} over a channel or input stream, such as a {@link java.nio.channels.FileChannel} or an
+ * {@link java.util.zip.InflaterInputStream}. Only a fixed-size window of the input is held in memory at once. Since the
+ * length of the input is not known until its end is reached, {@link #remaining()} reports {@link Integer#MAX_VALUE}
+ * until then, and is only exact from that point on. Inputs may be longer than {@link Integer#MAX_VALUE} bytes; {@link
+ * #offset()} reports the exact number of bytes read, while {@link #position()} saturates at {@link Integer#MAX_VALUE}.
+ */
+public class JLSCByteInput implements ByteStream {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    private long consumed;
+    private boolean eof;
+
+    public JLSCByteInput(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, Long.BYTES));
+        this.buffer.flip();
+        this.consumed = 0;
+        this.eof = false;
+    }
+
+    public JLSCByteInput(ReadableByteChannel channel) {
+        this(channel, JLSCByteInput.DEFAULT_BUFFER_SIZE);
+    }
+
+    public JLSCByteInput(InputStream stream, int bufferSize) {
+        this(Channels.newChannel(stream), bufferSize);
+    }
+
+    public JLSCByteInput(InputStream stream) {
+        this(stream, JLSCByteInput.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public byte get() throws IOException {
+        this.require(Byte.BYTES);
+        return this.buffer.get();
+    }
+
+    @Override
+    public short getShort() throws IOException {
+        this.require(Short.BYTES);
+        return this.buffer.getShort();
+    }
+
+    @Override
+    public char getChar() throws IOException {
+        this.require(Character.BYTES);
+        return this.buffer.getChar();
+    }
+
+    @Override
+    public int getInt() throws IOException {
+        this.require(Integer.BYTES);
+        return this.buffer.getInt();
+    }
+
+    @Override
+    public long getLong() throws IOException {
+        this.require(Long.BYTES);
+        return this.buffer.getLong();
+    }
+
+    @Override
+    public float getFloat() throws IOException {
+        this.require(Float.BYTES);
+        return this.buffer.getFloat();
+    }
+
+    @Override
+    public double getDouble() throws IOException {
+        this.require(Double.BYTES);
+        return this.buffer.getDouble();
+    }
+
+    public void get(ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            this.require(Byte.BYTES);
+            int amount = Math.min(target.remaining(), this.buffer.remaining());
+            ByteBuffer part = this.buffer.duplicate();
+            part.limit(part.position() + amount);
+            target.put(part);
+            this.buffer.position(this.buffer.position() + amount);
+        }
+    }
+
+    public void skip(long bytes) throws IOException {
+        while (bytes > 0) {
+            this.require(Byte.BYTES);
+            int amount = (int) Math.min(bytes, this.buffer.remaining());
+            this.buffer.position(this.buffer.position() + amount);
+            bytes -= amount;
+        }
+    }
+
+    @Override
+    public ByteStream put(byte b) {
+        throw new UnsupportedOperationException("Cannot write to an input stream");
+    }
+
+    @Override
+    public ByteStream putShort(short s) {
+        throw new UnsupportedOperationException("Cannot write to an input stream");
+    }
+
+    @Override
+    public ByteStream putChar(char c) {
+        throw new UnsupportedOperationException("Cannot write to an input stream");
+    }
+
+    @Override
+    public ByteStream putInt(int i) {
+        throw new UnsupportedOperationException("Cannot write to an input stream");
+    }
+
+    @Override
+    public ByteStream putLong(long l) {
+        throw new UnsupportedOperationException("Cannot write to an input stream");
+    }
+
+    @Override
+    public ByteStream putFloat(float f) {
+        throw new UnsupportedOperationException("Cannot write to an input stream");
+    }
+
+    @Override
+    public ByteStream putDouble(double d) {
+        throw new UnsupportedOperationException("Cannot write to an input stream");
+    }
+
+    public long offset() {
+        return this.consumed + this.buffer.position();
+    }
+
+    @Override
+    public int position() {
+        return (int) Math.min(this.offset(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int remaining() {
+        return this.eof ? this.buffer.remaining() : Integer.MAX_VALUE;
+    }
+
+    private void require(int bytes) throws IOException {
+        while (this.buffer.remaining() < bytes) {
+            if (this.eof) {
+                throw new BufferUnderflowException();
+            }
+            this.consumed += this.buffer.position();
+            this.buffer.compact();
+            int read = this.channel.read(this.buffer);
+            this.buffer.flip();
+            if (read < 0) {
+                this.eof = true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * A write-only {@link ByteStream} which lets binary output be produced in a single traversal, without measuring it
+ * first. Without a sink the buffer grows as needed; with one, it is flushed to the sink whenever it fills, so memory
+ * use stays bounded by the buffer size.
+ */
+public class JLSCByteOutput implements ByteStream {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private byte[] buffer;
+    private int count;
+    private int flushed;
+    private OutputStream sink;
+
+    public JLSCByteOutput(int initialSize) {
+        this.buffer = new byte[Math.max(initialSize, Long.BYTES)];
+        this.count = 0;
+        this.flushed = 0;
+        this.sink = null;
+    }
+
+    public JLSCByteOutput() {
+        this(JLSCByteOutput.DEFAULT_BUFFER_SIZE);
+    }
+
+    public JLSCByteOutput(OutputStream sink, int bufferSize) {
+        this(bufferSize);
+        this.sink = sink;
+    }
+
+    public JLSCByteOutput(OutputStream sink) {
+        this(sink, JLSCByteOutput.DEFAULT_BUFFER_SIZE);
+    }
+
+    public JLSCByteOutput(WritableByteChannel sink) {
+        this(Channels.newOutputStream(sink));
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.count);
+    }
+
+    public void flush() throws IOException {
+        if (this.sink != null) {
+            this.sink.write(this.buffer, 0, this.count);
+            this.flushed += this.count;
+            this.count = 0;
+            this.sink.flush();
+        }
+    }
+
+    @Override
+    public ByteStream put(byte b) throws IOException {
+        this.ensure(1);
+        this.buffer[this.count++] = b;
+        return this;
+    }
+
+    public ByteStream put(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            this.ensure(Math.min(source.remaining(), this.buffer.length));
+            int amount = Math.min(source.remaining(), this.buffer.length - this.count);
+            source.get(this.buffer, this.count, amount);
+            this.count += amount;
+        }
+        return this;
+    }
+
+    public ByteStream put(InputStream source) throws IOException {
+        int read;
+        do {
+            this.ensure(JLSCByteOutput.DEFAULT_BUFFER_SIZE);
+            read = source.read(this.buffer, this.count, this.buffer.length - this.count);
+            if (read > 0) {
+                this.count += read;
+            }
+        } while (read >= 0);
+        return this;
+    }
+
+    @Override
+    public ByteStream putShort(short s) throws IOException {
+        this.ensure(Short.BYTES);
+        this.buffer[this.count++] = (byte) (s >> 8);
+        this.buffer[this.count++] = (byte) s;
+        return this;
+    }
+
+    @Override
+    public ByteStream putChar(char c) throws IOException {
+        return this.putShort((short) c);
+    }
+
+    @Override
+    public ByteStream putInt(int i) throws IOException {
+        this.ensure(Integer.BYTES);
+        this.buffer[this.count++] = (byte) (i >> 24);
+        this.buffer[this.count++] = (byte) (i >> 16);
+        this.buffer[this.count++] = (byte) (i >> 8);
+        this.buffer[this.count++] = (byte) i;
+        return this;
+    }
+
+    @Override
+    public ByteStream putLong(long l) throws IOException {
+        this.putInt((int) (l >> 32));
+        return this.putInt((int) l);
+    }
+
+    @Override
+    public ByteStream putFloat(float f) throws IOException {
+        return this.putInt(Float.floatToRawIntBits(f));
+    }
+
+    @Override
+    public ByteStream putDouble(double d) throws IOException {
+        return this.putLong(Double.doubleToRawLongBits(d));
+    }
+
+    @Override
+    public byte get() {
+        throw new UnsupportedOperationException("Cannot read from an output stream");
+    }
+
+    @Override
+    public short getShort() {
+        throw new UnsupportedOperationException("Cannot read from an output stream");
+    }
+
+    @Override
+    public char getChar() {
+        throw new UnsupportedOperationException("Cannot read from an output stream");
+    }
+
+    @Override
+    public int getInt() {
+        throw new UnsupportedOperationException("Cannot read from an output stream");
+    }
+
+    @Override
+    public long getLong() {
+        throw new UnsupportedOperationException("Cannot read from an output stream");
+    }
+
+    @Override
+    public float getFloat() {
+        throw new UnsupportedOperationException("Cannot read from an output stream");
+    }
+
+    @Override
+    public double getDouble() {
+        throw new UnsupportedOperationException("Cannot read from an output stream");
+    }
+
+    @Override
+    public int position() {
+        return this.flushed + this.count;
+    }
+
+    @Override
+    public int remaining() {
+        return Integer.MAX_VALUE - this.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (this.count + bytes > this.buffer.length) {
+            if (this.sink != null) {
+                this.sink.write(this.buffer, 0, this.count);
+                this.flushed += this.count;
+                this.count = 0;
+            } else {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length << 1, this.count + bytes));
+            }
+        }
+    }
+
+}
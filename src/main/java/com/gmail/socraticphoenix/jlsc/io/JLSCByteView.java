@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link ByteStream} over a {@link ByteBuffer}, typically a slice of a memory-mapped file. Unlike a general stream,
+ * it can {@link #skip(int) skip} bytes by moving its position, so sections of the input which are never read are never
+ * touched.
+ */
+public class JLSCByteView implements ByteStream {
+    private ByteBuffer buffer;
+
+    public JLSCByteView(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public ByteBuffer getBuffer() {
+        return this.buffer;
+    }
+
+    public void skip(int bytes) {
+        if (bytes > this.buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        this.buffer.position(this.buffer.position() + bytes);
+    }
+
+    public ByteBuffer take(int bytes) {
+        if (bytes > this.buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer slice = this.buffer.duplicate();
+        slice.limit(slice.position() + bytes);
+        this.buffer.position(this.buffer.position() + bytes);
+        return slice.slice().order(this.buffer.order());
+    }
+
+    public ByteStream put(ByteBuffer source) {
+        this.buffer.put(source);
+        return this;
+    }
+
+    @Override
+    public byte get() {
+        return this.buffer.get();
+    }
+
+    @Override
+    public short getShort() {
+        return this.buffer.getShort();
+    }
+
+    @Override
+    public char getChar() {
+        return this.buffer.getChar();
+    }
+
+    @Override
+    public int getInt() {
+        return this.buffer.getInt();
+    }
+
+    @Override
+    public long getLong() {
+        return this.buffer.getLong();
+    }
+
+    @Override
+    public float getFloat() {
+        return this.buffer.getFloat();
+    }
+
+    @Override
+    public double getDouble() {
+        return this.buffer.getDouble();
+    }
+
+    @Override
+    public ByteStream put(byte b) {
+        this.buffer.put(b);
+        return this;
+    }
+
+    @Override
+    public ByteStream putShort(short b) {
+        this.buffer.putShort(b);
+        return this;
+    }
+
+    @Override
+    public ByteStream putChar(char b) {
+        this.buffer.putChar(b);
+        return this;
+    }
+
+    @Override
+    public ByteStream putInt(int b) {
+        this.buffer.putInt(b);
+        return this;
+    }
+
+    @Override
+    public ByteStream putLong(long b) {
+        this.buffer.putLong(b);
+        return this;
+    }
+
+    @Override
+    public ByteStream putFloat(float b) {
+        this.buffer.putFloat(b);
+        return this;
+    }
+
+    @Override
+    public ByteStream putDouble(double b) {
+        this.buffer.putDouble(b);
+        return this;
+    }
+
+    @Override
+    public int position() {
+        return this.buffer.position();
+    }
+
+    @Override
+    public int remaining() {
+        return this.buffer.remaining();
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A forward-only character source for {@link JLSCParser}. When backed by a {@link Reader}, only a fixed-size window of
+ * the input is held in memory at once; characters are retained beyond that only while a token is being captured.
+ */
+public class JLSCCharSource {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private Reader reader;
+    private char[] buffer;
+    private int length;
+    private int index;
+    private int offset;
+    private int mark;
+    private int markPosition;
+    private StringBuilder captured;
+
+    public JLSCCharSource(String src) {
+        this.reader = null;
+        this.buffer = src.toCharArray();
+        this.length = this.buffer.length;
+        this.index = 0;
+        this.offset = 0;
+        this.mark = -1;
+        this.captured = new StringBuilder();
+    }
+
+    public JLSCCharSource(char[] buffer, int start, int end, int position) {
+        this.reader = null;
+        this.buffer = buffer;
+        this.length = end;
+        this.index = start;
+        this.offset = position - start;
+        this.mark = -1;
+        this.captured = new StringBuilder();
+    }
+
+    public JLSCCharSource(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.length = 0;
+        this.index = 0;
+        this.offset = 0;
+        this.mark = -1;
+        this.captured = new StringBuilder();
+    }
+
+    public JLSCCharSource(Reader reader) {
+        this(reader, JLSCCharSource.DEFAULT_BUFFER_SIZE);
+    }
+
+    public boolean hasNext() throws JLSCException {
+        return this.index < this.length || this.fill();
+    }
+
+    public char peek() {
+        return this.buffer[this.index];
+    }
+
+    public void skip() {
+        this.index++;
+    }
+
+    public int position() {
+        return this.offset + this.index;
+    }
+
+    public void mark() {
+        this.mark = this.index;
+        this.markPosition = this.offset + this.index;
+        this.captured.setLength(0);
+    }
+
+    public String capture() {
+        String result;
+        if (this.captured.length() == 0) {
+            result = new String(this.buffer, this.mark, this.index - this.mark);
+        } else {
+            result = this.captured.append(this.buffer, this.mark, this.index - this.mark).toString();
+            this.captured.setLength(0);
+        }
+        this.mark = -1;
+        return result;
+    }
+
+    public JLSCCharSource captureSource() {
+        if (this.reader == null && this.captured.length() == 0) {
+            JLSCCharSource result = new JLSCCharSource(this.buffer, this.mark, this.index, this.markPosition);
+            this.mark = -1;
+            return result;
+        }
+        char[] chars = this.capture().toCharArray();
+        return new JLSCCharSource(chars, 0, chars.length, this.markPosition);
+    }
+
+    private boolean fill() throws JLSCException {
+        if (this.reader == null) {
+            return false;
+        }
+
+        if (this.mark >= 0) {
+            this.captured.append(this.buffer, this.mark, this.length - this.mark);
+            this.mark = 0;
+        }
+        this.offset += this.length;
+        this.index = 0;
+        this.length = 0;
+        try {
+            int read;
+            do {
+                read = this.reader.read(this.buffer, 0, this.buffer.length);
+            } while (read == 0);
+
+            if (read < 0) {
+                this.reader = null;
+                return false;
+            }
+            this.length = read;
+            return true;
+        } catch (IOException e) {
+            throw new JLSCException("Failed to read input (halted at: " + this.position() + ")", e);
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.parse.ParserData;
+import com.gmail.socraticphoenix.parse.Strings;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * A {@link JLSCSyntax} flattened into tables holding the character classes of each {@code char}, so that a class test
+ * is a single array lookup on a primitive instead of a chain of boxed predicates. Latin-1 is classified eagerly, every
+ * other block of 256 characters the first time a character from it is tested. Compiled forms are cached per syntax
+ * instance; the cache holds them softly, so they survive ordinary collections but are released under memory pressure or
+ * once their syntax is unreachable. The compiled {@link JLSCSyntax#DEFAULT} is held strongly.
+ */
+public final class JLSCCompiledSyntax {
+    public static final int COMPOUND_VALUE_END = 1;
+    public static final int ARRAY_VALUE_END = 1 << 1;
+    public static final int KEY_VALUE_DELIMITER = 1 << 2;
+    public static final int COMMENT_BEGIN = 1 << 3;
+    public static final int COMMENT_END = 1 << 4;
+    public static final int COMPOUND_BEGIN = 1 << 5;
+    public static final int COMPOUND_END = 1 << 6;
+    public static final int ARRAY_BEGIN = 1 << 7;
+    public static final int ARRAY_END = 1 << 8;
+    public static final int PROPERTY_START = 1 << 9;
+    public static final int PROPERTY_ARGS_START = 1 << 10;
+    public static final int PROPERTY_ARGS_DELIMITER = 1 << 11;
+    public static final int PROPERTY_ARGS_END = 1 << 12;
+    public static final int PROPERTY_END = 1 << 13;
+    public static final int IGNORE = 1 << 14;
+    public static final int NON_CONSUMABLE_DELIMITER = 1 << 15;
+    public static final int QUOTE = 1 << 16;
+    public static final int ESCAPE = 1 << 17;
+
+    public static final int KEY_END = KEY_VALUE_DELIMITER | NON_CONSUMABLE_DELIMITER;
+    public static final int OPEN = COMPOUND_BEGIN | ARRAY_BEGIN | PROPERTY_ARGS_START;
+    public static final int CLOSE = COMPOUND_END | ARRAY_END | PROPERTY_ARGS_END;
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final Map<JLSCSyntax, SoftReference<JLSCCompiledSyntax>> compiled = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final JLSCCompiledSyntax DEFAULT = new JLSCCompiledSyntax(JLSCSyntax.DEFAULT);
+
+    private Predicate<Character>[] classes;
+    private int[] latin;
+    private AtomicReferenceArray<int[]> pages;
+    private ParserData data;
+    private volatile Entry[] predicates;
+
+    @SuppressWarnings("unchecked")
+    private JLSCCompiledSyntax(JLSCSyntax syntax) {
+        this.classes = new Predicate[]{
+                syntax.compoundValueEnd(),
+                syntax.arrayValueEnd(),
+                syntax.keyValueDelimiter(),
+                syntax.commentBegin(),
+                syntax.commentEnd(),
+                syntax.compoundBegin(),
+                syntax.compoundEnd(),
+                syntax.arrayBegin(),
+                syntax.arrayEnd(),
+                syntax.propertyStart(),
+                syntax.propertyArgsStart(),
+                syntax.propertyArgsDelimiter(),
+                syntax.propertyArgsEnd(),
+                syntax.propertyEnd(),
+                syntax.ignore(),
+                syntax.nonConsumableDelimiter(),
+                syntax.quote(),
+                syntax.escape()
+        };
+        this.data = syntax.data();
+        this.predicates = new Entry[0];
+        this.pages = new AtomicReferenceArray<>((Character.MAX_VALUE + 1) >> PAGE_BITS);
+        this.latin = this.page(0);
+    }
+
+    public static JLSCCompiledSyntax of(JLSCSyntax syntax) {
+        if (syntax == JLSCSyntax.DEFAULT) {
+            return JLSCCompiledSyntax.DEFAULT;
+        }
+
+        SoftReference<JLSCCompiledSyntax> reference = JLSCCompiledSyntax.compiled.get(syntax);
+        JLSCCompiledSyntax result = reference == null ? null : reference.get();
+        if (result == null) {
+            result = new JLSCCompiledSyntax(syntax);
+            JLSCCompiledSyntax.compiled.put(syntax, new SoftReference<>(result));
+        }
+        return result;
+    }
+
+    public boolean is(char c, int classes) {
+        return (this.classes(c) & classes) != 0;
+    }
+
+    public Predicate<Character> predicate(int classes) {
+        for (Entry entry : this.predicates) {
+            if (entry.classes == classes) {
+                return entry.predicate;
+            }
+        }
+
+        synchronized (this) {
+            for (Entry entry : this.predicates) {
+                if (entry.classes == classes) {
+                    return entry.predicate;
+                }
+            }
+            Predicate<Character> predicate = c -> (this.classes(c) & classes) != 0;
+            Entry[] predicates = Arrays.copyOf(this.predicates, this.predicates.length + 1);
+            predicates[predicates.length - 1] = new Entry(classes, predicate);
+            this.predicates = predicates;
+            return predicate;
+        }
+    }
+
+    /**
+     * Removes the quotes around a key or argument and resolves its escapes, if it is quoted in this syntax.
+     */
+    public String unquote(String s) {
+        if (s.length() < 2 || !this.is(s.charAt(0), JLSCCompiledSyntax.QUOTE) || s.charAt(s.length() - 1) != s.charAt(0)) {
+            return s;
+        }
+        String content = Strings.cutFirst(Strings.cutLast(s));
+        if (this.is('\\', JLSCCompiledSyntax.ESCAPE)) {
+            return Strings.deEscape(content);
+        }
+
+        StringBuilder escaped = new StringBuilder(content.length());
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (this.is(c, JLSCCompiledSyntax.ESCAPE)) {
+                escaped.append('\\');
+                if (++i < content.length()) {
+                    escaped.append(content.charAt(i));
+                }
+            } else if (c == '\\') {
+                escaped.append("\\\\");
+            } else {
+                escaped.append(c);
+            }
+        }
+        return Strings.deEscape(escaped.toString());
+    }
+
+    public ParserData data() {
+        return this.data;
+    }
+
+    private int classes(char c) {
+        if (c < PAGE_SIZE) {
+            return this.latin[c];
+        }
+        int[] page = this.pages.get(c >> PAGE_BITS);
+        if (page == null) {
+            page = this.page(c >> PAGE_BITS);
+        }
+        return page[c & PAGE_MASK];
+    }
+
+    private int[] page(int index) {
+        int[] page = new int[PAGE_SIZE];
+        int base = index << PAGE_BITS;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Character c = (char) (base + i);
+            for (int j = 0; j < this.classes.length; j++) {
+                if (this.classes[j].test(c)) {
+                    page[i] |= 1 << j;
+                }
+            }
+        }
+        return this.pages.compareAndSet(index, null, page) ? page : this.pages.get(index);
+    }
+
+    private static class Entry {
+        private int classes;
+        private Predicate<Character> predicate;
+
+        public Entry(int classes, Predicate<Character> predicate) {
+            this.classes = classes;
+            this.predicate = predicate;
+        }
+
+    }
+
+}
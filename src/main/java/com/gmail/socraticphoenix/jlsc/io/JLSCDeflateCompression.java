@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A zlib codec. Its unframed streams are the same format that {@link com.gmail.socraticphoenix.pio.Bytes#compress(byte[])}
+ * produces, so they remain readable by older versions.
+ */
+public class JLSCDeflateCompression implements JLSCCompression {
+    public static final int ID = 1;
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    public static final JLSCDeflateCompression DEFAULT = new JLSCDeflateCompression(Deflater.DEFAULT_COMPRESSION, JLSCDeflateCompression.DEFAULT_BUFFER_SIZE);
+    public static final JLSCDeflateCompression FAST = new JLSCDeflateCompression(Deflater.BEST_SPEED, JLSCDeflateCompression.DEFAULT_BUFFER_SIZE);
+
+    private int level;
+    private int bufferSize;
+
+    public JLSCDeflateCompression(int level, int bufferSize) {
+        this.level = level;
+        this.bufferSize = bufferSize;
+    }
+
+    public JLSCDeflateCompression(int level) {
+        this(level, JLSCDeflateCompression.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public int id() {
+        return JLSCDeflateCompression.ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] src, int off, int len) {
+        Deflater deflater = new Deflater(this.level);
+        try {
+            deflater.setInput(src, off, len);
+            deflater.finish();
+            byte[] dst = new byte[len + (len >> 12) + 64];
+            int count = 0;
+            while (!deflater.finished()) {
+                if (count == dst.length) {
+                    dst = Arrays.copyOf(dst, dst.length * 2);
+                }
+                count += deflater.deflate(dst, count, dst.length - count);
+            }
+            return Arrays.copyOf(dst, count);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public void decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int dstLen) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(src, off, len);
+            int count = 0;
+            while (count < dstLen && !inflater.finished()) {
+                int read = inflater.inflate(dst, dstOff + count, dstLen - count);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                count += read;
+            }
+            if (count != dstLen) {
+                throw new IOException("Corrupt deflate block, expected " + dstLen + " bytes but got " + count);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt deflate block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) {
+        Deflater deflater = new Deflater(this.level);
+        return new DeflaterOutputStream(out, deflater, this.bufferSize) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) {
+        Inflater inflater = new Inflater();
+        return new InflaterInputStream(in, inflater, this.bufferSize) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+}
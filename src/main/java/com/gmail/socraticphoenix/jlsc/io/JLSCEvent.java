@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
+import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
+import com.gmail.socraticphoenix.jlsc.value.JLSCByteProcessor;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class JLSCEvent {
+    private JLSCEventType type;
+    private String text;
+    private JLSCValueProperty property;
+    private JLSCValueProperty typeSpecifier;
+    private List<JLSCValueProperty> properties;
+    private JLSCValue value;
+    private JLSCByteProcessor byteProcessor;
+    private ByteBuffer payload;
+    private JLSCByteFormat format;
+    private JLSCSyntax syntax;
+    private JLSCStyle style;
+
+    private JLSCEvent(JLSCEventType type) {
+        this.type = type;
+        this.properties = Collections.emptyList();
+    }
+
+    static JLSCEvent of(JLSCEventType type) {
+        return new JLSCEvent(type);
+    }
+
+    static JLSCEvent text(JLSCEventType type, String text) {
+        JLSCEvent event = new JLSCEvent(type);
+        event.text = text;
+        return event;
+    }
+
+    static JLSCEvent property(JLSCValueProperty property) {
+        JLSCEvent event = new JLSCEvent(JLSCEventType.PROPERTY);
+        event.property = property;
+        return event;
+    }
+
+    static JLSCEvent value(String raw, JLSCValueProperty typeSpecifier, List<JLSCValueProperty> properties, JLSCSyntax syntax, JLSCStyle style) {
+        JLSCEvent event = new JLSCEvent(JLSCEventType.VALUE);
+        event.text = raw;
+        event.typeSpecifier = typeSpecifier;
+        event.properties = properties;
+        event.syntax = syntax;
+        event.style = style;
+        return event;
+    }
+
+    static JLSCEvent value(JLSCValue value, JLSCByteProcessor byteProcessor) {
+        JLSCEvent event = new JLSCEvent(JLSCEventType.VALUE);
+        event.value = value;
+        event.typeSpecifier = value.getTypeSpecifier();
+        event.properties = value.getProperties();
+        event.byteProcessor = byteProcessor;
+        event.payload = ByteBuffer.allocate(0);
+        return event;
+    }
+
+    static JLSCEvent value(ByteBuffer payload, JLSCByteFormat format, JLSCValueProperty typeSpecifier, List<JLSCValueProperty> properties, JLSCByteProcessor byteProcessor) {
+        JLSCEvent event = new JLSCEvent(JLSCEventType.VALUE);
+        event.payload = payload;
+        event.format = format;
+        event.typeSpecifier = typeSpecifier;
+        event.properties = properties;
+        event.byteProcessor = byteProcessor;
+        return event;
+    }
+
+    public JLSCEventType getType() {
+        return this.type;
+    }
+
+    public Optional<String> getKey() {
+        return this.type == JLSCEventType.KEY ? Optional.of(this.text) : Optional.empty();
+    }
+
+    public Optional<String> getComment() {
+        return this.type == JLSCEventType.COMMENT ? Optional.of(this.text) : Optional.empty();
+    }
+
+    public Optional<JLSCValueProperty> getProperty() {
+        return Optional.ofNullable(this.property);
+    }
+
+    public Optional<String> getTypeId() {
+        switch (this.type) {
+            case START_COMPOUND:
+                return Optional.of("compound");
+            case START_ARRAY:
+                return Optional.of("array");
+            case VALUE:
+                if (this.typeSpecifier != null) {
+                    return Optional.of(this.typeSpecifier.getName());
+                } else if (this.byteProcessor != null) {
+                    return Optional.of(this.byteProcessor.id());
+                }
+                return Optional.of(JLSCRegistry.getProcessorFor(this.text, this.syntax, this.style).orElse(JLSCRegistry.DEFAULT_PROCESSOR).id());
+            default:
+                return Optional.empty();
+        }
+    }
+
+    public Optional<String> getText() {
+        return this.type == JLSCEventType.VALUE ? Optional.ofNullable(this.text) : Optional.empty();
+    }
+
+    /**
+     * Returns the payload of a binary value exactly as it appears in the stream, without its header. Values stored
+     * entirely in their header, such as inline booleans, have an empty payload.
+     *
+     * @return A read-only view of the payload, or an empty optional if this is not a binary value.
+     */
+    public Optional<ByteBuffer> getPayload() {
+        return this.payload == null ? Optional.empty() : Optional.of(this.payload.asReadOnlyBuffer());
+    }
+
+    public Optional<byte[]> getBytes() throws JLSCException {
+        if (this.payload == null) {
+            return Optional.empty();
+        }
+        ByteBuffer payload = this.payload.duplicate();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return Optional.of(bytes);
+    }
+
+    public Optional<JLSCValue> getValue() throws JLSCException {
+        if (this.type != JLSCEventType.VALUE) {
+            return Optional.empty();
+        } else if (this.value == null) {
+            if (this.payload != null) {
+                JLSCByteView view = new JLSCByteView(this.payload.duplicate());
+                try {
+                    this.value = this.byteProcessor.readBytes(view, this.format.copy());
+                } catch (BufferOverflowException | BufferUnderflowException e) {
+                    throw new JLSCException("Incorrect buffer size (halted at: " + view.position() + ")", e);
+                }
+                this.value.setTypeSpecifier(this.typeSpecifier);
+            } else {
+                this.value = JLSCLexer.readValue(this.text, this.typeSpecifier, this.syntax, this.style);
+            }
+            this.value.getProperties().addAll(this.properties);
+        }
+        return Optional.of(this.value);
+    }
+
+    public List<JLSCValueProperty> getProperties() {
+        return this.properties;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.Reader;
+
+/**
+ * A pull-style cursor over a serialized compound. Events are produced one at a time as the input is consumed, so
+ * individual keys can be found and read without materializing the surrounding {@link com.gmail.socraticphoenix.jlsc.JLSCCompound}.
+ */
+public interface JLSCEventReader {
+
+    static JLSCEventReader of(Reader reader, JLSCStyle style, JLSCSyntax syntax) {
+        return new JLSCTextEventReader(new JLSCCharSource(reader), style, syntax);
+    }
+
+    static JLSCEventReader of(String src, JLSCStyle style, JLSCSyntax syntax) {
+        return new JLSCTextEventReader(new JLSCCharSource(src), style, syntax);
+    }
+
+    static JLSCEventReader of(String src) {
+        return JLSCEventReader.of(src, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT);
+    }
+
+    static JLSCEventReader of(ByteStream buffer) {
+        return new JLSCByteEventReader(buffer);
+    }
+
+    boolean hasNext() throws JLSCException;
+
+    JLSCEvent next() throws JLSCException;
+
+    int depth();
+
+    default void skipChildren() throws JLSCException {
+        int depth = this.depth();
+        while (this.depth() >= depth && this.hasNext()) {
+            this.next();
+        }
+    }
+
+}
@@ -0,0 +1,350 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Decompresses a stream written by {@link JLSCFramedOutputStream} one block at a time. Without a {@link ForkJoinPool}
+ * it holds at most one compressed and one uncompressed block in memory; with one, it reads a few blocks ahead and
+ * decompresses them concurrently. A whole file can also be decompressed with
+ * {@link #decompress(FileChannel, ForkJoinPool)}, which uses the block index to read and decompress every block at once.
+ */
+public class JLSCFramedInputStream extends InputStream {
+    private DataInputStream in;
+    private JLSCCompression compression;
+    private ForkJoinPool pool;
+    private int maxPending;
+    private int blockSize;
+    private Deque<ForkJoinTask<byte[]>> pending;
+    private byte[] block;
+    private byte[] compressed;
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    public JLSCFramedInputStream(InputStream in, ForkJoinPool pool) throws IOException {
+        this.in = new DataInputStream(in);
+        this.compression = JLSCFramedInputStream.readCompression(this.in);
+        this.blockSize = JLSCFramedInputStream.readBlockSize(this.in);
+        this.pool = pool == null || pool.getParallelism() < 2 ? null : pool;
+        this.maxPending = this.pool == null ? 0 : this.pool.getParallelism() * 2;
+        this.pending = new ArrayDeque<>();
+        this.block = new byte[this.pool == null ? this.blockSize : 0];
+        this.compressed = new byte[0];
+        this.position = 0;
+        this.limit = 0;
+    }
+
+    public JLSCFramedInputStream(InputStream in) throws IOException {
+        this(in, null);
+    }
+
+    public static boolean isFramed(InputStream in) throws IOException {
+        in.mark(Integer.BYTES);
+        try {
+            int magic = 0;
+            for (int i = 0; i < Integer.BYTES; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    return false;
+                }
+                magic = (magic << 8) | b;
+            }
+            return magic == JLSCFramedOutputStream.MAGIC;
+        } finally {
+            in.reset();
+        }
+    }
+
+    public static boolean isFramed(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        JLSCFramedInputStream.readFully(channel, magic, 0);
+        return magic.getInt(0) == JLSCFramedOutputStream.MAGIC;
+    }
+
+    public static Optional<long[]> readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < JLSCFramedOutputStream.TRAILER_LENGTH + Integer.BYTES) {
+            return Optional.empty();
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(JLSCFramedOutputStream.TRAILER_LENGTH);
+        JLSCFramedInputStream.readFully(channel, trailer, size - JLSCFramedOutputStream.TRAILER_LENGTH);
+        long index = trailer.getLong(0);
+        if (trailer.getInt(Long.BYTES) != JLSCFramedOutputStream.MAGIC || index < 0 || index > size - JLSCFramedOutputStream.TRAILER_LENGTH - Integer.BYTES) {
+            return Optional.empty();
+        }
+        ByteBuffer count = ByteBuffer.allocate(Integer.BYTES);
+        JLSCFramedInputStream.readFully(channel, count, index);
+        int blocks = count.getInt(0);
+        if (blocks < 0 || index + Integer.BYTES + (long) blocks * Long.BYTES != size - JLSCFramedOutputStream.TRAILER_LENGTH) {
+            return Optional.empty();
+        }
+        ByteBuffer entries = ByteBuffer.allocate(blocks * Long.BYTES);
+        JLSCFramedInputStream.readFully(channel, entries, index + Integer.BYTES);
+        long[] offsets = new long[blocks];
+        entries.flip();
+        entries.asLongBuffer().get(offsets);
+        return Optional.of(offsets);
+    }
+
+    public static byte[] decompress(FileChannel channel, ForkJoinPool pool) throws IOException {
+        Optional<long[]> index = JLSCFramedInputStream.readIndex(channel);
+        if (!index.isPresent()) {
+            JLSCByteOutput output = new JLSCByteOutput();
+            output.put(new JLSCFramedInputStream(Channels.newInputStream(channel.position(0)), pool));
+            return output.toByteArray();
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2 + 2);
+        JLSCFramedInputStream.readFully(channel, header, 0);
+        DataInputStream headerStream = new DataInputStream(new ByteArrayInputStream(header.array()));
+        JLSCCompression compression = JLSCFramedInputStream.readCompression(headerStream);
+        int blockSize = JLSCFramedInputStream.readBlockSize(headerStream);
+
+        long[] offsets = index.get();
+        int[] lengths = new int[offsets.length];
+        int[] stored = new int[offsets.length];
+        long total = 0;
+        ByteBuffer blockHeader = ByteBuffer.allocate(Integer.BYTES * 2);
+        for (int i = 0; i < offsets.length; i++) {
+            blockHeader.clear();
+            JLSCFramedInputStream.readFully(channel, blockHeader, offsets[i]);
+            lengths[i] = blockHeader.getInt(0);
+            stored[i] = blockHeader.getInt(Integer.BYTES);
+            if (lengths[i] <= 0 || lengths[i] > blockSize || stored[i] < 0 || stored[i] > lengths[i]) {
+                throw new IOException("Corrupt header of block " + i + ", length " + lengths[i] + " stored as " + stored[i]);
+            }
+            total += lengths[i];
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IOException("Framed stream of " + total + " bytes is too large to decompress into one array");
+        }
+
+        byte[] result = new byte[(int) total];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            long offset = offsets[i] + Integer.BYTES * 2;
+            int dstOff = start;
+            int length = lengths[i];
+            int storedLength = stored[i];
+            ForkJoinTask<?> task = ForkJoinTask.adapt(() -> {
+                if (storedLength == length) {
+                    JLSCFramedInputStream.readFully(channel, ByteBuffer.wrap(result, dstOff, length), offset);
+                } else {
+                    ByteBuffer data = ByteBuffer.allocate(storedLength);
+                    JLSCFramedInputStream.readFully(channel, data, offset);
+                    compression.decompress(data.array(), 0, storedLength, result, dstOff, length);
+                }
+                return null;
+            });
+            if (pool == null) {
+                task.quietlyInvoke();
+                tasks.add(task);
+            } else {
+                tasks.add(pool.submit(task));
+            }
+            start += length;
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            JLSCFramedInputStream.join(task, "Failed to decompress block");
+        }
+        return result;
+    }
+
+    public JLSCCompression getCompression() {
+        return this.compression;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.position == this.limit && !this.nextBlock()) {
+            return -1;
+        }
+        return this.block[this.position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (this.position == this.limit && !this.nextBlock()) {
+            return -1;
+        }
+        int n = Math.min(len, this.limit - this.position);
+        System.arraycopy(this.block, this.position, b, off, n);
+        this.position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return this.limit - this.position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ForkJoinTask<byte[]> task : this.pending) {
+            task.cancel(false);
+        }
+        this.pending.clear();
+        this.in.close();
+    }
+
+    private static JLSCCompression readCompression(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        if (magic != JLSCFramedOutputStream.MAGIC) {
+            throw new IOException("Not a framed stream, bad magic number 0x" + Integer.toHexString(magic));
+        }
+        int version = in.readUnsignedByte();
+        if (version != JLSCFramedOutputStream.VERSION) {
+            throw new IOException("Unsupported framed stream version " + version);
+        }
+        int id = in.readUnsignedByte();
+        return JLSCRegistry.getCompression(id).orElseThrow(() -> new IOException("No compression registered for id " + id));
+    }
+
+    private static int readBlockSize(DataInputStream in) throws IOException {
+        int blockSize = in.readInt();
+        if (blockSize <= 0) {
+            throw new IOException("Invalid block size " + blockSize);
+        }
+        return blockSize;
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (this.pool == null) {
+            return this.readBlock();
+        }
+        while (!this.finished && this.pending.size() < this.maxPending) {
+            int length = this.readLength();
+            if (length == 0) {
+                break;
+            }
+            int stored = this.in.readInt();
+            this.checkLengths(length, stored);
+            byte[] data = new byte[stored];
+            this.in.readFully(data);
+            if (stored == length) {
+                ForkJoinTask<byte[]> task = ForkJoinTask.adapt(() -> data);
+                task.quietlyInvoke();
+                this.pending.add(task);
+            } else {
+                this.pending.add(this.pool.submit(() -> {
+                    byte[] result = new byte[length];
+                    this.compression.decompress(data, 0, stored, result, 0, length);
+                    return result;
+                }));
+            }
+        }
+        if (this.pending.isEmpty()) {
+            return false;
+        }
+        this.block = JLSCFramedInputStream.join(this.pending.poll(), "Failed to decompress block");
+        this.position = 0;
+        this.limit = this.block.length;
+        return true;
+    }
+
+    private boolean readBlock() throws IOException {
+        if (this.finished) {
+            return false;
+        }
+        int length = this.readLength();
+        if (length == 0) {
+            return false;
+        }
+        int stored = this.in.readInt();
+        this.checkLengths(length, stored);
+        if (stored == length) {
+            this.in.readFully(this.block, 0, length);
+        } else {
+            if (this.compressed.length < stored) {
+                this.compressed = new byte[Math.max(stored, Math.min(this.blockSize, stored * 2))];
+            }
+            this.in.readFully(this.compressed, 0, stored);
+            this.compression.decompress(this.compressed, 0, stored, this.block, 0, length);
+        }
+        this.position = 0;
+        this.limit = length;
+        return true;
+    }
+
+    private int readLength() throws IOException {
+        int length = this.in.readInt();
+        if (length == 0) {
+            this.finished = true;
+        }
+        return length;
+    }
+
+    private void checkLengths(int length, int stored) throws IOException {
+        if (length < 0 || length > this.blockSize || stored < 0 || stored > length) {
+            throw new IOException("Corrupt block header, length " + length + " stored as " + stored);
+        }
+    }
+
+    private static <T> T join(ForkJoinTask<T> task, String message) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(message);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(message, e.getCause());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file (halted at: " + position + ")");
+            }
+            position += read;
+        }
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Compresses a stream in independent fixed-size blocks, so it can be decompressed a block at a time by
+ * {@link JLSCFramedInputStream}. The stream begins with {@link #MAGIC}, a version byte, the codec id and the block size.
+ * Each block is its uncompressed and stored lengths followed by its data, which is stored uncompressed when compression
+ * would not shrink it. A zero uncompressed length ends the blocks.
+ * <p>
+ * The blocks are followed by an index of their offsets and a trailer holding the offset of that index and
+ * {@link #MAGIC}, so a file can be split into blocks without reading it front to back. Given a {@link ForkJoinPool},
+ * blocks are compressed concurrently while the stream keeps writing them in order.
+ */
+public class JLSCFramedOutputStream extends OutputStream {
+    public static final int MAGIC = 0x4A4C535A;
+    public static final int VERSION = 1;
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    public static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES;
+
+    private DataOutputStream out;
+    private JLSCCompression compression;
+    private ForkJoinPool pool;
+    private int maxPending;
+    private Deque<PendingBlock> pending;
+    private Deque<byte[]> free;
+    private byte[] block;
+    private int count;
+    private long position;
+    private long[] offsets;
+    private int blocks;
+    private boolean closed;
+
+    public JLSCFramedOutputStream(OutputStream out, JLSCCompression compression, int blockSize, ForkJoinPool pool) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        }
+        this.out = new DataOutputStream(out);
+        this.compression = compression;
+        this.pool = pool == null || pool.getParallelism() < 2 ? null : pool;
+        this.maxPending = this.pool == null ? 0 : this.pool.getParallelism() * 2;
+        this.pending = new ArrayDeque<>();
+        this.free = new ArrayDeque<>();
+        this.block = new byte[blockSize];
+        this.count = 0;
+        this.offsets = new long[16];
+        this.blocks = 0;
+        this.out.writeInt(JLSCFramedOutputStream.MAGIC);
+        this.out.writeByte(JLSCFramedOutputStream.VERSION);
+        this.out.writeByte(compression.id());
+        this.out.writeInt(blockSize);
+        this.position = Integer.BYTES * 2 + 2;
+    }
+
+    public JLSCFramedOutputStream(OutputStream out, JLSCCompression compression, int blockSize) throws IOException {
+        this(out, compression, blockSize, null);
+    }
+
+    public JLSCFramedOutputStream(OutputStream out, JLSCCompression compression) throws IOException {
+        this(out, compression, JLSCFramedOutputStream.DEFAULT_BLOCK_SIZE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (this.count == this.block.length) {
+            this.writeBlock();
+        }
+        this.block[this.count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (this.count == this.block.length) {
+                this.writeBlock();
+            }
+            int n = Math.min(len, this.block.length - this.count);
+            System.arraycopy(b, off, this.block, this.count, n);
+            this.count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            try {
+                this.writeBlock();
+                while (!this.pending.isEmpty()) {
+                    this.writePending();
+                }
+                this.out.writeInt(0);
+                long index = this.position + Integer.BYTES;
+                this.out.writeInt(this.blocks);
+                for (int i = 0; i < this.blocks; i++) {
+                    this.out.writeLong(this.offsets[i]);
+                }
+                this.out.writeLong(index);
+                this.out.writeInt(JLSCFramedOutputStream.MAGIC);
+                this.out.flush();
+            } finally {
+                for (PendingBlock pendingBlock : this.pending) {
+                    pendingBlock.task.cancel(false);
+                }
+                this.out.close();
+            }
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (this.count == 0) {
+            return;
+        }
+        if (this.pool == null) {
+            this.emit(this.block, this.count, this.compression.compress(this.block, 0, this.count));
+        } else {
+            byte[] data = this.block;
+            int length = this.count;
+            this.pending.add(new PendingBlock(data, length, this.pool.submit(() -> this.compression.compress(data, 0, length))));
+            this.block = this.free.isEmpty() ? new byte[data.length] : this.free.poll();
+            while (this.pending.size() > this.maxPending) {
+                this.writePending();
+            }
+        }
+        this.count = 0;
+    }
+
+    private void writePending() throws IOException {
+        PendingBlock pendingBlock = this.pending.poll();
+        try {
+            this.emit(pendingBlock.data, pendingBlock.length, pendingBlock.task.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing block " + this.blocks);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to compress block " + this.blocks, e.getCause());
+        }
+        this.free.add(pendingBlock.data);
+    }
+
+    private void emit(byte[] data, int length, byte[] compressed) throws IOException {
+        if (this.blocks == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.blocks * 2);
+        }
+        this.offsets[this.blocks++] = this.position;
+        this.out.writeInt(length);
+        if (compressed.length < length) {
+            this.out.writeInt(compressed.length);
+            this.out.write(compressed);
+            this.position += Integer.BYTES * 2 + compressed.length;
+        } else {
+            this.out.writeInt(length);
+            this.out.write(data, 0, length);
+            this.position += Integer.BYTES * 2 + length;
+        }
+    }
+
+    private static class PendingBlock {
+        private byte[] data;
+        private int length;
+        private ForkJoinTask<byte[]> task;
+
+        public PendingBlock(byte[] data, int length, ForkJoinTask<byte[]> task) {
+            this.data = data;
+            this.length = length;
+            this.task = task;
+        }
+
+    }
+
+}
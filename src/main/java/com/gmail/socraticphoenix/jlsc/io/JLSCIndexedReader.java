@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.header.JLSCCompoundHeader;
+import com.gmail.socraticphoenix.jlsc.header.JLSCKeyValueHeader;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Point lookups into a binary stream written with {@link JLSCByteFormat#INDEXED}. Each key of a path is found by a
+ * binary search over its compound's key index, comparing the encoded key bytes in place, so only the entries along the
+ * path and the requested value are decoded.
+ * A compound or array found this way is returned as a deferred view over the buffer and decoded when first accessed.
+ */
+public class JLSCIndexedReader {
+    private ByteBuffer buffer;
+    private JLSCByteFormat format;
+    private int root;
+
+    public JLSCIndexedReader(ByteBuffer buffer) throws JLSCException {
+        this.buffer = buffer.duplicate();
+        ByteStream stream = new JLSCByteView(this.buffer);
+        this.format = JLSCByteFormat.read(stream);
+        if (!this.format.hasFlag(JLSCByteFormat.INDEXED)) {
+            throw new JLSCException("Unable to seek in a stream without a key index (halted at: " + stream.position() + ")");
+        }
+        this.root = this.buffer.position();
+    }
+
+    public static JLSCIndexedReader open(Path path) throws IOException, JLSCException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new JLSCException("Unable to seek in \"" + path + "\", its " + channel.size() + " bytes exceed the " + Integer.MAX_VALUE + " bytes a mapped buffer can hold");
+            }
+            return new JLSCIndexedReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public JLSCCompound read() throws JLSCException {
+        return JLSCReadWriteUtil.readCompound(this.stream(this.root), this.format, null, LinkedHashMap::new, ArrayList::new);
+    }
+
+    public Optional<JLSCValue> get(String... path) throws JLSCException {
+        if (path.length == 0) {
+            return Optional.of(JLSCValue.of(this.read()));
+        }
+
+        try {
+            int position = this.root;
+            JLSCKeyValueHeader header = null;
+            for (String key : path) {
+                if (header != null && !header.getValueHeader().getTypeSpecifier().getName().equals("compound")) {
+                    return Optional.empty();
+                }
+                int entry = this.find(position, key.getBytes(StandardCharsets.UTF_8));
+                if (entry < 0) {
+                    return Optional.empty();
+                }
+                ByteStream stream = this.stream(entry);
+                header = JLSCKeyValueHeader.read(stream, this.format);
+                position = stream.position();
+            }
+            return Optional.of(JLSCReadWriteUtil.readValue(this.stream(position), this.format, header.getValueHeader(), header.getKey(), 0, this.buffer, LinkedHashMap::new, ArrayList::new));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new JLSCException("Incorrect buffer size", e);
+        }
+    }
+
+    private int find(int position, byte[] key) throws JLSCException {
+        ByteStream stream = this.stream(position);
+        try {
+            int size = this.format.readCount(stream);
+            long body = JLSCByteFormat.readVarLong(stream);
+            int width = stream.get() & 0xFF;
+            int index = stream.position();
+            long start = index + (long) size * width;
+            if (start + body > this.buffer.limit()) {
+                throw new JLSCException("Key index exceeds buffer (halted at: " + index + ")");
+            }
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int entry = (int) (start + JLSCCompoundHeader.readOffset(this.buffer, index + mid * width, width));
+                int comparison = this.compare(entry, key);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return entry;
+                }
+            }
+            return -1;
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read key index (halted at: " + stream.position() + ")", e);
+        }
+    }
+
+    private int compare(int entry, byte[] key) throws IOException {
+        ByteStream stream = this.stream(entry);
+        int length = JLSCByteFormat.readVarInt(stream);
+        int start = stream.position();
+        int len = Math.min(length, key.length);
+        for (int i = 0; i < len; i++) {
+            int comparison = (this.buffer.get(start + i) & 0xFF) - (key[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return length - key.length;
+    }
+
+    private ByteStream stream(int position) {
+        ByteBuffer view = this.buffer.duplicate();
+        view.position(position);
+        return new JLSCByteView(view);
+    }
+
+}
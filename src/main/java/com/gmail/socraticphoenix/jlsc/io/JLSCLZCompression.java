@@ -0,0 +1,187 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A pure-Java LZ77 codec in the style of LZ4, trading ratio for speed. Each block is a series of sequences, each a token
+ * holding the literal and match lengths, the literals, and a two-byte little-endian offset back into the output
+ * followed by the match. The final sequence holds only literals. Streams are always framed.
+ */
+public class JLSCLZCompression implements JLSCCompression {
+    public static final int ID = 2;
+    public static final JLSCLZCompression DEFAULT = new JLSCLZCompression(JLSCFramedOutputStream.DEFAULT_BLOCK_SIZE);
+
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int HASH_BITS = 16;
+    private static final int SKIP_SHIFT = 6;
+
+    private int blockSize;
+
+    public JLSCLZCompression(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public int id() {
+        return JLSCLZCompression.ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] src, int off, int len) {
+        byte[] dst = new byte[len + len / 255 + 16];
+        int[] table = new int[1 << JLSCLZCompression.HASH_BITS];
+        int end = off + len;
+        int limit = end - JLSCLZCompression.MIN_MATCH;
+        int anchor = off;
+        int i = off;
+        int o = 0;
+        while (i <= limit) {
+            int sequence = JLSCLZCompression.readInt(src, i);
+            int hash = (sequence * -1640531535) >>> (32 - JLSCLZCompression.HASH_BITS);
+            int ref = table[hash] - 1 + off;
+            table[hash] = i - off + 1;
+            if (ref >= off && i - ref <= JLSCLZCompression.MAX_OFFSET && JLSCLZCompression.readInt(src, ref) == sequence) {
+                int match = JLSCLZCompression.MIN_MATCH;
+                while (i + match < end && src[ref + match] == src[i + match]) {
+                    match++;
+                }
+                o = JLSCLZCompression.writeSequence(dst, o, src, anchor, i - anchor, match - JLSCLZCompression.MIN_MATCH);
+                dst[o++] = (byte) (i - ref);
+                dst[o++] = (byte) ((i - ref) >>> 8);
+                o = JLSCLZCompression.writeLength(dst, o, match - JLSCLZCompression.MIN_MATCH);
+                i += match;
+                anchor = i;
+            } else {
+                i += 1 + ((i - anchor) >>> JLSCLZCompression.SKIP_SHIFT);
+            }
+        }
+        if (anchor < end) {
+            o = JLSCLZCompression.writeSequence(dst, o, src, anchor, end - anchor, 0);
+        }
+        return Arrays.copyOf(dst, o);
+    }
+
+    @Override
+    public void decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int dstLen) throws IOException {
+        int i = off;
+        int end = off + len;
+        int o = dstOff;
+        int dstEnd = dstOff + dstLen;
+        try {
+            while (o < dstEnd) {
+                int token = src[i++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int b;
+                    do {
+                        b = src[i++] & 0xFF;
+                        literals += b;
+                    } while (b == 255);
+                }
+                if (literals > dstEnd - o || literals > end - i) {
+                    throw new IOException("Corrupt LZ block, literals overrun the block (halted at: " + (i - off) + ")");
+                }
+                System.arraycopy(src, i, dst, o, literals);
+                i += literals;
+                o += literals;
+                if (o == dstEnd) {
+                    break;
+                }
+
+                int offset = (src[i++] & 0xFF) | ((src[i++] & 0xFF) << 8);
+                int match = token & 0x0F;
+                if (match == 15) {
+                    int b;
+                    do {
+                        b = src[i++] & 0xFF;
+                        match += b;
+                    } while (b == 255);
+                }
+                match += JLSCLZCompression.MIN_MATCH;
+                int ref = o - offset;
+                if (offset == 0 || ref < dstOff || match > dstEnd - o) {
+                    throw new IOException("Corrupt LZ block, invalid match (halted at: " + (i - off) + ")");
+                }
+                if (offset >= match) {
+                    System.arraycopy(dst, ref, dst, o, match);
+                    o += match;
+                } else {
+                    for (int j = 0; j < match; j++) {
+                        dst[o++] = dst[ref + j];
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt LZ block, unexpected end of block", e);
+        }
+        if (i != end) {
+            throw new IOException("Corrupt LZ block, " + (end - i) + " trailing bytes");
+        }
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) throws IOException {
+        return new JLSCFramedOutputStream(out, this, this.blockSize);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new JLSCFramedInputStream(in);
+    }
+
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    private static int writeSequence(byte[] dst, int o, byte[] src, int start, int literals, int match) {
+        dst[o++] = (byte) ((Math.min(literals, 15) << 4) | Math.min(match, 15));
+        if (literals >= 15) {
+            o = JLSCLZCompression.writeExtra(dst, o, literals - 15);
+        }
+        System.arraycopy(src, start, dst, o, literals);
+        return o + literals;
+    }
+
+    private static int writeLength(byte[] dst, int o, int match) {
+        return match >= 15 ? JLSCLZCompression.writeExtra(dst, o, match - 15) : o;
+    }
+
+    private static int writeExtra(byte[] dst, int o, int remaining) {
+        while (remaining >= 255) {
+            dst[o++] = (byte) 255;
+            remaining -= 255;
+        }
+        dst[o++] = (byte) remaining;
+        return o;
+    }
+
+    private static int readInt(byte[] src, int i) {
+        return (src[i] & 0xFF) | ((src[i + 1] & 0xFF) << 8) | ((src[i + 2] & 0xFF) << 16) | ((src[i + 3] & 0xFF) << 24);
+    }
+
+}
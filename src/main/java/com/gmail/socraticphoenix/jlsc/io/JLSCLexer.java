@@ -0,0 +1,348 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
+import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
+import com.gmail.socraticphoenix.jlsc.value.JLSCProcessor;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.parse.Strings;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The lexical layer shared by {@link JLSCParser} and {@link JLSCTextEventReader}: syntax predicates, token scanning and
+ * leaf value dispatch over a {@link JLSCCharSource}.
+ */
+abstract class JLSCLexer {
+    protected JLSCCharSource source;
+    protected int depth;
+    protected JLSCStyle style;
+    protected JLSCSyntax syntax;
+    protected JLSCCompiledSyntax compiled;
+
+    protected JLSCLexer(JLSCCharSource source, JLSCStyle style, JLSCSyntax syntax) {
+        this.source = source;
+        this.depth = 0;
+        this.style = style;
+        this.syntax = syntax;
+        this.compiled = JLSCCompiledSyntax.of(syntax);
+    }
+
+    protected JLSCValueProperty takeTypeSpecifier(List<JLSCValueProperty> properties) {
+        for (int i = 0; i < properties.size(); i++) {
+            if (JLSCRegistry.getProcessor(properties.get(i).getName()).isPresent()) {
+                return properties.remove(i);
+            }
+        }
+        return null;
+    }
+
+    protected JLSCValue readValue(String value, JLSCValueProperty typeSpecifier) throws JLSCException {
+        return JLSCLexer.readValue(value, typeSpecifier, this.syntax, this.style);
+    }
+
+    static JLSCValue readValue(String value, JLSCValueProperty typeSpecifier, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        if (typeSpecifier != null) {
+            JLSCProcessor processor = JLSCRegistry.getProcessor(typeSpecifier.getName()).get();
+            Optional<JLSCValue> read = processor.tryRead(value, syntax, style);
+            if (read.isPresent()) {
+                return read.get();
+            } else {
+                throw new JLSCException("\"" + Strings.escape(value) + "\" cannot be read by processor \"" + typeSpecifier.getName() + "\"");
+            }
+        } else {
+            Optional<JLSCValue> read = JLSCRegistry.tryRead(value, syntax, style);
+            if (read.isPresent()) {
+                return read.get();
+            } else {
+                return JLSCRegistry.DEFAULT_PROCESSOR.read(value, syntax, style);
+            }
+        }
+    }
+
+    protected JLSCValueProperty nextProperty() throws JLSCException {
+        this.skip(JLSCCompiledSyntax.PROPERTY_START | JLSCCompiledSyntax.IGNORE);
+        this.source.mark();
+        while (this.hasChar() && !this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_START | JLSCCompiledSyntax.PROPERTY_END)) {
+            this.source.skip();
+        }
+        JLSCValueProperty property = new JLSCValueProperty(this.source.capture());
+        this.skipIgnored();
+        if (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_START)) {
+            this.source.skip();
+            int argEnd = JLSCCompiledSyntax.PROPERTY_ARGS_END | JLSCCompiledSyntax.PROPERTY_ARGS_DELIMITER;
+            while (true) {
+                this.skipIgnored();
+                if (!this.hasChar()) {
+                    throw new JLSCException("Unexpected end of input, expected end of property arguments (halted at: " + this.source.position() + ")");
+                } else if (this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_END)) {
+                    this.source.skip();
+                    break;
+                }
+                String arg = this.unquote(this.nextRaw(argEnd).trim());
+                if (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_DELIMITER)) {
+                    this.source.skip();
+                } else if (!this.hasChar() || !this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_END)) {
+                    throw new JLSCException("Unterminated property arguments (halted at: " + this.source.position() + ")");
+                }
+                property.getArguments().add(arg);
+            }
+        }
+        this.skip(JLSCCompiledSyntax.PROPERTY_END | JLSCCompiledSyntax.IGNORE);
+        return property;
+    }
+
+    protected String nextComment() throws JLSCException {
+        this.skipIgnored();
+        this.source.skip();
+        this.source.mark();
+        while (this.hasChar() && !this.is(this.peek(), JLSCCompiledSyntax.COMMENT_END)) {
+            this.source.skip();
+        }
+        String comment = this.source.capture();
+        if (this.hasChar()) {
+            this.source.skip();
+        }
+        this.skipIgnored();
+        return comment;
+    }
+
+    protected String nextKey() throws JLSCException {
+        this.source.mark();
+        this.scanKey();
+        return this.source.capture();
+    }
+
+    protected void scanKey() throws JLSCException {
+        char quote = 0;
+        boolean quoted = false;
+        while (this.hasChar()) {
+            char c = this.peek();
+            if (this.is(c, JLSCCompiledSyntax.ESCAPE)) {
+                this.source.skip();
+                if (this.hasChar()) {
+                    this.source.skip();
+                }
+                continue;
+            } else if (quoted) {
+                quoted = c != quote;
+            } else if (this.is(c, JLSCCompiledSyntax.KEY_END) || (this.depth > 0 && this.is(c, JLSCCompiledSyntax.CLOSE))) {
+                break;
+            } else if (this.is(c, JLSCCompiledSyntax.QUOTE)) {
+                quote = c;
+                quoted = true;
+            }
+            this.source.skip();
+        }
+    }
+
+    protected String nextRaw(int end) throws JLSCException {
+        this.source.mark();
+        this.scanRaw(end);
+        return this.source.capture();
+    }
+
+    protected void scanRaw(int end) throws JLSCException {
+        int brackets = 0;
+        char quote = 0;
+        boolean quoted = false;
+        while (this.hasChar()) {
+            char c = this.peek();
+            if (this.is(c, JLSCCompiledSyntax.ESCAPE)) {
+                this.source.skip();
+                if (this.hasChar()) {
+                    this.source.skip();
+                }
+                continue;
+            } else if (quoted) {
+                quoted = c != quote;
+            } else if (brackets == 0 && this.is(c, end)) {
+                break;
+            } else if (this.is(c, JLSCCompiledSyntax.QUOTE)) {
+                quote = c;
+                quoted = true;
+            } else if (this.is(c, JLSCCompiledSyntax.OPEN)) {
+                brackets++;
+            } else if (this.is(c, JLSCCompiledSyntax.CLOSE)) {
+                if (brackets > 0) {
+                    brackets--;
+                } else if (this.depth > 0) {
+                    break;
+                }
+            }
+            this.source.skip();
+        }
+    }
+
+    protected void skipCompound() throws JLSCException {
+        this.depth++;
+        while (true) {
+            this.skipIgnored();
+            if (!this.hasChar()) {
+                throw new JLSCException("Unexpected end of input, expected end of compound (halted at: " + this.source.position() + ")");
+            } else if (this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_END)) {
+                this.source.skip();
+                break;
+            } else if (this.is(this.peek(), JLSCCompiledSyntax.CLOSE)) {
+                throw new JLSCException("Unexpected '" + this.peek() + "', expected end of compound (halted at: " + this.source.position() + ")");
+            }
+            this.skipKeyValue();
+        }
+        this.depth--;
+    }
+
+    protected void skipKeyValue() throws JLSCException {
+        while (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMMENT_BEGIN)) {
+            this.skipComment();
+        }
+        this.skipIgnored();
+        this.scanKey();
+        this.skip(JLSCCompiledSyntax.KEY_VALUE_DELIMITER | JLSCCompiledSyntax.IGNORE);
+        this.skipValue(JLSCCompiledSyntax.COMPOUND_VALUE_END);
+    }
+
+    protected void skipArray() throws JLSCException {
+        this.depth++;
+        while (true) {
+            this.skipIgnored();
+            if (!this.hasChar()) {
+                throw new JLSCException("Unexpected end of input, expected end of array (halted at: " + this.source.position() + ")");
+            } else if (this.is(this.peek(), JLSCCompiledSyntax.ARRAY_END)) {
+                this.source.skip();
+                break;
+            } else if (this.is(this.peek(), JLSCCompiledSyntax.CLOSE)) {
+                throw new JLSCException("Unexpected '" + this.peek() + "', expected end of array (halted at: " + this.source.position() + ")");
+            }
+            this.skipValue(JLSCCompiledSyntax.ARRAY_VALUE_END);
+        }
+        this.depth--;
+    }
+
+    protected void skipValue(int end) throws JLSCException {
+        this.skipIgnored();
+        boolean specified = false;
+        while (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_START)) {
+            specified |= this.skipProperty();
+        }
+
+        if (!specified && this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_BEGIN)) {
+            this.source.skip();
+            this.skipCompound();
+            this.endStructure(end);
+        } else if (!specified && this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.ARRAY_BEGIN)) {
+            this.source.skip();
+            this.skipArray();
+            this.endStructure(end);
+        } else {
+            this.scanRaw(end);
+        }
+        this.skip(end | JLSCCompiledSyntax.IGNORE);
+    }
+
+    private boolean skipProperty() throws JLSCException {
+        this.skip(JLSCCompiledSyntax.PROPERTY_START | JLSCCompiledSyntax.IGNORE);
+        StringBuilder name = new StringBuilder();
+        while (this.hasChar() && !this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_START | JLSCCompiledSyntax.PROPERTY_END)) {
+            name.append(this.peek());
+            this.source.skip();
+        }
+        this.skipIgnored();
+        if (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_START)) {
+            this.source.skip();
+            while (true) {
+                this.skipIgnored();
+                if (!this.hasChar()) {
+                    throw new JLSCException("Unexpected end of input, expected end of property arguments (halted at: " + this.source.position() + ")");
+                } else if (this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_END)) {
+                    this.source.skip();
+                    break;
+                }
+                this.scanRaw(JLSCCompiledSyntax.PROPERTY_ARGS_END | JLSCCompiledSyntax.PROPERTY_ARGS_DELIMITER);
+                if (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_DELIMITER)) {
+                    this.source.skip();
+                } else if (!this.hasChar() || !this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_ARGS_END)) {
+                    throw new JLSCException("Unterminated property arguments (halted at: " + this.source.position() + ")");
+                }
+            }
+        }
+        this.skip(JLSCCompiledSyntax.PROPERTY_END | JLSCCompiledSyntax.IGNORE);
+        return JLSCRegistry.getProcessor(name.toString()).isPresent();
+    }
+
+    private void skipComment() throws JLSCException {
+        this.skipIgnored();
+        this.source.skip();
+        while (this.hasChar() && !this.is(this.peek(), JLSCCompiledSyntax.COMMENT_END)) {
+            this.source.skip();
+        }
+        if (this.hasChar()) {
+            this.source.skip();
+        }
+        this.skipIgnored();
+    }
+
+    protected void endStructure(int end) throws JLSCException {
+        while (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.IGNORE) && !this.is(this.peek(), end)) {
+            this.source.skip();
+        }
+        if (this.hasChar() && !this.is(this.peek(), end) && !(this.depth > 0 && this.is(this.peek(), JLSCCompiledSyntax.CLOSE))) {
+            throw new JLSCException("Unexpected '" + this.peek() + "' after end of value (halted at: " + this.source.position() + ")");
+        }
+    }
+
+    protected void expectEnd() throws JLSCException {
+        this.skipIgnored();
+        if (this.hasChar()) {
+            throw new JLSCException("Unexpected '" + this.peek() + "' after end of document (halted at: " + this.source.position() + ")");
+        }
+    }
+
+    protected String unquote(String s) {
+        return this.compiled.unquote(s);
+    }
+
+    protected void skipIgnored() throws JLSCException {
+        this.skip(JLSCCompiledSyntax.IGNORE);
+    }
+
+    protected void skip(int classes) throws JLSCException {
+        while (this.hasChar() && this.is(this.peek(), classes)) {
+            this.source.skip();
+        }
+    }
+
+    protected boolean hasChar() throws JLSCException {
+        return this.source.hasNext();
+    }
+
+    protected char peek() {
+        return this.source.peek();
+    }
+
+    protected boolean is(char c, int classes) {
+        return this.compiled.is(c, classes);
+    }
+
+}
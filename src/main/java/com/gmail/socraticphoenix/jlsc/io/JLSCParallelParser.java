@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.value.JLSCKeyValue;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Reads a compound by first scanning the source for the boundaries of its top-level entries, without building any
+ * values, and then parsing runs of those entries concurrently on a {@link ForkJoinPool}. The parsed runs are merged
+ * back in source order, so the result is identical to that of {@link JLSCParser}.
+ */
+public class JLSCParallelParser extends JLSCLexer {
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private char[] src;
+    private ForkJoinPool pool;
+    private int threshold;
+    private Supplier<Map<String, JLSCKeyValue>> compoundConstructor;
+    private Supplier<List<JLSCValue>> arrayConstructor;
+
+    public JLSCParallelParser(String src, JLSCStyle style, JLSCSyntax syntax, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor, ForkJoinPool pool, int threshold) {
+        this(src.toCharArray(), style, syntax, compoundConstructor, arrayConstructor, pool, threshold);
+    }
+
+    public JLSCParallelParser(String src, JLSCStyle style, JLSCSyntax syntax, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) {
+        this(src, style, syntax, compoundConstructor, arrayConstructor, ForkJoinPool.commonPool(), JLSCParallelParser.DEFAULT_THRESHOLD);
+    }
+
+    private JLSCParallelParser(char[] src, JLSCStyle style, JLSCSyntax syntax, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor, ForkJoinPool pool, int threshold) {
+        super(new JLSCCharSource(src, 0, src.length, 0), style, syntax);
+        this.src = src;
+        this.pool = pool;
+        this.threshold = threshold;
+        this.compoundConstructor = compoundConstructor;
+        this.arrayConstructor = arrayConstructor;
+    }
+
+    public JLSCCompound readCompound() throws JLSCException {
+        if (this.src.length < this.threshold || this.pool.getParallelism() < 2) {
+            return this.parse(0, this.src.length);
+        }
+
+        List<int[]> chunks = this.scan();
+        if (chunks.size() < 2) {
+            return this.parse(0, this.src.length);
+        }
+
+        List<ForkJoinTask<JLSCCompound>> tasks = new ArrayList<>();
+        for (int[] chunk : chunks) {
+            tasks.add(this.pool.submit(() -> this.parse(chunk[0], chunk[1])));
+        }
+
+        JLSCCompound compound = new JLSCCompound(this.compoundConstructor);
+        for (ForkJoinTask<JLSCCompound> task : tasks) {
+            try {
+                for (JLSCKeyValue keyValue : task.get().entries()) {
+                    compound.put(keyValue);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JLSCException("Interrupted while reading compound", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof JLSCException) {
+                    throw (JLSCException) e.getCause();
+                }
+                throw new JLSCException("Failed to read compound", e.getCause());
+            }
+        }
+        return compound;
+    }
+
+    private JLSCCompound parse(int start, int end) throws JLSCException {
+        return new JLSCParser(new JLSCCharSource(this.src, start, end, start), this.style, this.syntax, this.compoundConstructor, this.arrayConstructor).readCompound();
+    }
+
+    private List<int[]> scan() throws JLSCException {
+        List<int[]> chunks = new ArrayList<>();
+        int target = Math.max(this.src.length / (this.pool.getParallelism() * 4), 1);
+
+        this.skipIgnored();
+        boolean enclosed = this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_BEGIN);
+        if (enclosed) {
+            this.source.skip();
+            this.depth++;
+        }
+
+        int start = this.source.position();
+        while (true) {
+            this.skipIgnored();
+            if (!this.hasChar()) {
+                if (enclosed) {
+                    throw new JLSCException("Unexpected end of input, expected end of compound (halted at: " + this.source.position() + ")");
+                }
+                break;
+            } else if (enclosed && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_END)) {
+                break;
+            } else if (enclosed && this.is(this.peek(), JLSCCompiledSyntax.CLOSE)) {
+                throw new JLSCException("Unexpected '" + this.peek() + "', expected end of compound (halted at: " + this.source.position() + ")");
+            }
+
+            this.skipKeyValue();
+            if (this.source.position() - start >= target) {
+                chunks.add(new int[] {start, this.source.position()});
+                start = this.source.position();
+            }
+        }
+        if (this.source.position() > start) {
+            chunks.add(new int[] {start, this.source.position()});
+        }
+
+        if (enclosed) {
+            this.source.skip();
+            this.depth--;
+        }
+        this.expectEnd();
+        return chunks;
+    }
+
+}
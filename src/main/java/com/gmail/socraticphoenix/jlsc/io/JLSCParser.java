@@ -0,0 +1,236 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCArray;
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
+import com.gmail.socraticphoenix.jlsc.value.JLSCKeyValue;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.parse.Strings;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A recursive-descent parser which walks the source exactly once, building nested compounds and arrays as it reaches
+ * them instead of extracting and re-tokenizing their text like {@link JLSCTokenizer} does. The source may be a string
+ * or a {@link Reader}, in which case the input is consumed through a bounded {@link JLSCCharSource} buffer.
+ */
+public class JLSCParser extends JLSCLexer {
+    private Supplier<Map<String, JLSCKeyValue>> compoundConstructor;
+    private Supplier<List<JLSCValue>> arrayConstructor;
+    private boolean lazy;
+
+    public JLSCParser(JLSCCharSource source, JLSCStyle style, JLSCSyntax syntax, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) {
+        super(source, style, syntax);
+        this.compoundConstructor = compoundConstructor;
+        this.arrayConstructor = arrayConstructor;
+    }
+
+    public JLSCParser(String src, JLSCStyle style, JLSCSyntax syntax, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) {
+        this(new JLSCCharSource(src), style, syntax, compoundConstructor, arrayConstructor);
+    }
+
+    public JLSCParser(Reader reader, JLSCStyle style, JLSCSyntax syntax, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) {
+        this(new JLSCCharSource(reader), style, syntax, compoundConstructor, arrayConstructor);
+    }
+
+    public JLSCParser setLazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    public JLSCCompound readCompound() throws JLSCException {
+        this.skipIgnored();
+        JLSCCompound compound;
+        if (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_BEGIN)) {
+            this.source.skip();
+            compound = this.nextCompound();
+        } else {
+            compound = this.compoundBody(false);
+        }
+        this.expectEnd();
+        return compound;
+    }
+
+    public JLSCArray readArray() throws JLSCException {
+        this.skipIgnored();
+        JLSCArray array;
+        if (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.ARRAY_BEGIN)) {
+            this.source.skip();
+            array = this.nextArray();
+        } else {
+            array = this.arrayBody(false);
+        }
+        this.expectEnd();
+        return array;
+    }
+
+    private JLSCCompound nextCompound() throws JLSCException {
+        this.depth++;
+        JLSCCompound compound = this.compoundBody(true);
+        this.depth--;
+        return compound;
+    }
+
+    private JLSCArray nextArray() throws JLSCException {
+        this.depth++;
+        JLSCArray array = this.arrayBody(true);
+        this.depth--;
+        return array;
+    }
+
+    private JLSCCompound skipAndNextCompound() throws JLSCException {
+        this.source.skip();
+        return this.nextCompound();
+    }
+
+    private JLSCArray skipAndNextArray() throws JLSCException {
+        this.source.skip();
+        return this.nextArray();
+    }
+
+    private JLSCCompound deferCompound() throws JLSCException {
+        this.source.mark();
+        this.source.skip();
+        this.skipCompound();
+        JLSCCharSource slice = this.source.captureSource();
+        JLSCStyle style = this.style;
+        JLSCSyntax syntax = this.syntax;
+        Supplier<Map<String, JLSCKeyValue>> compoundConstructor = this.compoundConstructor;
+        Supplier<List<JLSCValue>> arrayConstructor = this.arrayConstructor;
+        return JLSCCompound.deferred(() -> new JLSCParser(slice, style, syntax, compoundConstructor, arrayConstructor).setLazy(true).readCompound());
+    }
+
+    private JLSCArray deferArray() throws JLSCException {
+        this.source.mark();
+        this.source.skip();
+        this.skipArray();
+        JLSCCharSource slice = this.source.captureSource();
+        JLSCStyle style = this.style;
+        JLSCSyntax syntax = this.syntax;
+        Supplier<Map<String, JLSCKeyValue>> compoundConstructor = this.compoundConstructor;
+        Supplier<List<JLSCValue>> arrayConstructor = this.arrayConstructor;
+        return JLSCArray.deferred(() -> new JLSCParser(slice, style, syntax, compoundConstructor, arrayConstructor).setLazy(true).readArray());
+    }
+
+    private JLSCCompound compoundBody(boolean enclosed) throws JLSCException {
+        JLSCCompound compound = new JLSCCompound(this.compoundConstructor);
+        while (true) {
+            this.skipIgnored();
+            if (!this.hasChar()) {
+                if (enclosed) {
+                    throw new JLSCException("Unexpected end of input, expected end of compound (halted at: " + this.source.position() + ")");
+                }
+                break;
+            } else if (enclosed && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_END)) {
+                this.source.skip();
+                break;
+            } else if (enclosed && this.is(this.peek(), JLSCCompiledSyntax.CLOSE)) {
+                throw new JLSCException("Unexpected '" + this.peek() + "', expected end of compound (halted at: " + this.source.position() + ")");
+            }
+            compound.put(this.nextKeyValue());
+        }
+        return compound;
+    }
+
+    private JLSCArray arrayBody(boolean enclosed) throws JLSCException {
+        JLSCArray array = new JLSCArray(this.arrayConstructor);
+        int i = 0;
+        while (true) {
+            this.skipIgnored();
+            if (!this.hasChar()) {
+                if (enclosed) {
+                    throw new JLSCException("Unexpected end of input, expected end of array (halted at: " + this.source.position() + ")");
+                }
+                break;
+            } else if (enclosed && this.is(this.peek(), JLSCCompiledSyntax.ARRAY_END)) {
+                this.source.skip();
+                break;
+            } else if (enclosed && this.is(this.peek(), JLSCCompiledSyntax.CLOSE)) {
+                throw new JLSCException("Unexpected '" + this.peek() + "', expected end of array (halted at: " + this.source.position() + ")");
+            }
+            try {
+                array.add(this.nextValue(true));
+            } catch (JLSCException e) {
+                throw new JLSCException("Failed to read value at index " + i, e);
+            }
+            i++;
+        }
+        return array;
+    }
+
+    private JLSCKeyValue nextKeyValue() throws JLSCException {
+        List<String> comments = new ArrayList<>();
+        while (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMMENT_BEGIN)) {
+            comments.add(this.nextComment());
+        }
+        this.skipIgnored();
+        String key = this.unquote(this.nextKey().trim());
+        this.skip(JLSCCompiledSyntax.KEY_VALUE_DELIMITER | JLSCCompiledSyntax.IGNORE);
+        try {
+            JLSCValue value = this.nextValue(false);
+            JLSCKeyValue keyValue = new JLSCKeyValue(key, value);
+            keyValue.getComments().addAll(comments);
+            return keyValue;
+        } catch (JLSCException e) {
+            throw new JLSCException("Failed to read value at key \"" + Strings.escape(key) + "\"", e);
+        }
+    }
+
+    private JLSCValue nextValue(boolean array) throws JLSCException {
+        this.skipIgnored();
+        List<JLSCValueProperty> properties = new ArrayList<>();
+        while (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_START)) {
+            properties.add(this.nextProperty());
+        }
+
+        JLSCValueProperty typeSpecifier = this.takeTypeSpecifier(properties);
+
+        int end = array ? JLSCCompiledSyntax.ARRAY_VALUE_END : JLSCCompiledSyntax.COMPOUND_VALUE_END;
+        JLSCValue jlscValue;
+        if (typeSpecifier == null && this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_BEGIN)) {
+            jlscValue = JLSCValue.of(this.lazy ? this.deferCompound() : this.skipAndNextCompound());
+            this.endStructure(end);
+        } else if (typeSpecifier == null && this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.ARRAY_BEGIN)) {
+            jlscValue = JLSCValue.of(this.lazy ? this.deferArray() : this.skipAndNextArray());
+            this.endStructure(end);
+        } else {
+            jlscValue = this.readValue(this.nextRaw(end).trim(), typeSpecifier);
+        }
+        this.skip(end | JLSCCompiledSyntax.IGNORE);
+        if (!properties.isEmpty()) {
+            jlscValue.getProperties().addAll(properties);
+        }
+        return jlscValue;
+    }
+
+}
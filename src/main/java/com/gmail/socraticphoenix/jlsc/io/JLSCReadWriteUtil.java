@@ -25,7 +25,9 @@ import com.gmail.socraticphoenix.collect.Items;
 import com.gmail.socraticphoenix.jlsc.JLSCArray;
 import com.gmail.socraticphoenix.jlsc.JLSCCompound;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.JLSCReadMode;
 import com.gmail.socraticphoenix.jlsc.header.JLSCArrayHeader;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
 import com.gmail.socraticphoenix.jlsc.header.JLSCCompoundHeader;
 import com.gmail.socraticphoenix.jlsc.header.JLSCKeyValueHeader;
 import com.gmail.socraticphoenix.jlsc.header.JLSCValueHeader;
@@ -38,16 +40,82 @@ import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
 import com.gmail.socraticphoenix.parse.Strings;
 import com.gmail.socraticphoenix.pio.ByteStream;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 public class JLSCReadWriteUtil {
 
+    public static JLSCCompound readCompound(String src, JLSCSyntax syntax, JLSCStyle style, JLSCReadMode mode, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        return JLSCReadWriteUtil.readCompound(src, syntax, style, mode, ForkJoinPool.commonPool(), compoundConstructor, arrayConstructor);
+    }
+
+    public static JLSCCompound readCompound(String src, JLSCSyntax syntax, JLSCStyle style, JLSCReadMode mode, ForkJoinPool pool, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        switch (mode) {
+            case SINGLE_PASS:
+                return new JLSCParser(src, style, syntax, compoundConstructor, arrayConstructor).readCompound();
+            case LAZY:
+                return new JLSCParser(src, style, syntax, compoundConstructor, arrayConstructor).setLazy(true).readCompound();
+            case PARALLEL:
+                return new JLSCParallelParser(src, style, syntax, compoundConstructor, arrayConstructor, pool, JLSCParallelParser.DEFAULT_THRESHOLD).readCompound();
+            case TOKENIZER:
+            default:
+                return JLSCReadWriteUtil.readCompound(src, syntax, style, compoundConstructor, arrayConstructor);
+        }
+    }
+
+    public static JLSCArray readArray(String src, JLSCSyntax syntax, JLSCStyle style, JLSCReadMode mode, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        switch (mode) {
+            case SINGLE_PASS:
+            case PARALLEL:
+                return new JLSCParser(src, style, syntax, compoundConstructor, arrayConstructor).readArray();
+            case LAZY:
+                return new JLSCParser(src, style, syntax, compoundConstructor, arrayConstructor).setLazy(true).readArray();
+            case TOKENIZER:
+            default:
+                return JLSCReadWriteUtil.readArray(src, syntax, style, compoundConstructor, arrayConstructor);
+        }
+    }
+
+    /**
+     * Reads a compound from a character stream in a single pass, lazily if mode is {@link JLSCReadMode#LAZY}. The
+     * {@link JLSCReadMode#TOKENIZER} and {@link JLSCReadMode#PARALLEL} modes need the whole source up front, so they
+     * fall back to {@link JLSCReadMode#SINGLE_PASS} here; read the source into a String to use them.
+     */
+    public static JLSCCompound readCompound(Reader src, JLSCSyntax syntax, JLSCStyle style, JLSCReadMode mode, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        return new JLSCParser(src, style, syntax, compoundConstructor, arrayConstructor).setLazy(mode == JLSCReadMode.LAZY).readCompound();
+    }
+
+    public static JLSCCompound readCompound(Reader src, JLSCSyntax syntax, JLSCStyle style, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        return JLSCReadWriteUtil.readCompound(src, syntax, style, JLSCReadMode.SINGLE_PASS, compoundConstructor, arrayConstructor);
+    }
+
+    /**
+     * Reads a array from a character stream in a single pass, lazily if mode is {@link JLSCReadMode#LAZY}. The
+     * {@link JLSCReadMode#TOKENIZER} and {@link JLSCReadMode#PARALLEL} modes need the whole source up front, so they
+     * fall back to {@link JLSCReadMode#SINGLE_PASS} here; read the source into a String to use them.
+     */
+    public static JLSCArray readArray(Reader src, JLSCSyntax syntax, JLSCStyle style, JLSCReadMode mode, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        return new JLSCParser(src, style, syntax, compoundConstructor, arrayConstructor).setLazy(mode == JLSCReadMode.LAZY).readArray();
+    }
+
+    public static JLSCArray readArray(Reader src, JLSCSyntax syntax, JLSCStyle style, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        return JLSCReadWriteUtil.readArray(src, syntax, style, JLSCReadMode.SINGLE_PASS, compoundConstructor, arrayConstructor);
+    }
+
     public static JLSCCompound readCompound(String src, JLSCSyntax syntax, JLSCStyle style, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
         src = src.trim();
         if (src.startsWith("{") && src.endsWith("}")) {
@@ -79,12 +147,16 @@ public class JLSCReadWriteUtil {
     }
 
     public static boolean requiresQuotation(String key, String eKey, JLSCStyle style, JLSCSyntax syntax) {
+        return JLSCReadWriteUtil.requiresQuotation(key, eKey, style, JLSCCompiledSyntax.of(syntax));
+    }
+
+    public static boolean requiresQuotation(String key, String eKey, JLSCStyle style, JLSCCompiledSyntax compiled) {
         if(!key.equals(eKey) || style.alwaysUseKeyQuotes()) {
             return true;
         }
 
-        for(char c : key.toCharArray()) {
-            if(syntax.keyValueDelimiter().test(c) || syntax.nonConsumableDelimiter().test(c)) {
+        for (int i = 0; i < key.length(); i++) {
+            if (compiled.is(key.charAt(i), JLSCCompiledSyntax.KEY_END)) {
                 return true;
             }
         }
@@ -94,162 +166,145 @@ public class JLSCReadWriteUtil {
 
     public static String writeCompound(JLSCCompound compound, JLSCSyntax syntax, JLSCStyle style, int indent) throws JLSCException {
         StringBuilder builder = new StringBuilder();
-        Iterator<JLSCKeyValue> iterator = compound.iterator();
-        while (iterator.hasNext()) {
-            JLSCKeyValue keyValue = iterator.next();
-            for (String comment : keyValue.getComments()) {
-                builder.append(style.beginComment(indent)).append(comment).append(style.endComment(indent));
-            }
-            builder.append(style.preKey(indent));
-            String eKey = Strings.escape(keyValue.getKey());
-            builder.append(!JLSCReadWriteUtil.requiresQuotation(keyValue.getKey(), eKey, style, syntax) ? keyValue.getKey() : "\"" + eKey + "\"");
-            builder.append(style.delimiter(indent));
+        JLSCReadWriteUtil.writeCompound(compound, syntax, style, indent, builder);
+        return builder.toString();
+    }
 
-            List<JLSCValueProperty> properties = Items.looseClone(keyValue.getProperties());
-            JLSCValue value = keyValue.getValue().getForWriting();
-            String result;
-            if (value.getAsCompound().isPresent()) {
-                try {
-                    result = style.beginCompound(indent) + JLSCReadWriteUtil.writeCompound(value.getAsCompound().get(), syntax, style, indent + 1) + style.endCompound(indent);
-                } catch (JLSCException e) {
-                    throw new JLSCException("Error while writing value at key \"" + eKey + "\"", e);
+    public static String writeArray(JLSCArray array, JLSCSyntax syntax, JLSCStyle style, int indent) throws JLSCException {
+        StringBuilder builder = new StringBuilder();
+        JLSCReadWriteUtil.writeArray(array, syntax, style, indent, builder);
+        return builder.toString();
+    }
+
+    public static void writeCompound(JLSCCompound compound, JLSCSyntax syntax, JLSCStyle style, int indent, Appendable out) throws JLSCException {
+        JLSCReadWriteUtil.writeCompound(compound, syntax, JLSCCompiledSyntax.of(syntax), style, indent, out);
+    }
+
+    public static void writeArray(JLSCArray array, JLSCSyntax syntax, JLSCStyle style, int indent, Appendable out) throws JLSCException {
+        JLSCReadWriteUtil.writeArray(array, syntax, JLSCCompiledSyntax.of(syntax), style, indent, out);
+    }
+
+    private static void writeCompound(JLSCCompound compound, JLSCSyntax syntax, JLSCCompiledSyntax compiled, JLSCStyle style, int indent, Appendable out) throws JLSCException {
+        try {
+            Iterator<JLSCKeyValue> iterator = compound.iterator();
+            while (iterator.hasNext()) {
+                JLSCKeyValue keyValue = iterator.next();
+                for (String comment : keyValue.getComments()) {
+                    out.append(style.beginComment(indent)).append(comment).append(style.endComment(indent));
                 }
-            } else if (value.getAsArray().isPresent()) {
+                out.append(style.preKey(indent));
+                String eKey = Strings.escape(keyValue.getKey());
+                out.append(!JLSCReadWriteUtil.requiresQuotation(keyValue.getKey(), eKey, style, compiled) ? keyValue.getKey() : "\"" + eKey + "\"");
+                out.append(style.delimiter(indent));
+
                 try {
-                    result = style.beginArray(indent) + JLSCReadWriteUtil.writeArray(value.getAsArray().get(), syntax, style, indent + 1) + style.endArray(indent);
+                    JLSCReadWriteUtil.writeValue(keyValue.getValue().getForWriting(), Items.looseClone(keyValue.getProperties()), syntax, compiled, style, indent, out);
                 } catch (JLSCException e) {
                     throw new JLSCException("Error while writing value at key \"" + eKey + "\"", e);
                 }
-            } else {
-                Optional<JLSCProcessor> processor = JLSCRegistry.getProcessorFor(value);
-                if (processor.isPresent()) {
-                    try {
-                        result = processor.get().write(value, indent, syntax, style);
-                        if (JLSCReadWriteUtil.requiresSpecifier(value, result, style, syntax)) {
-                            properties.add(0, new JLSCValueProperty(processor.get().id()));
-                        }
-                    } catch (JLSCException e) {
-                        throw new JLSCException("Error while writing value at key \"" + eKey + "\"", e);
-                    }
-                } else {
-                    throw new JLSCException("No processor for value of type \"" + value.type().getName() + "\"");
-                }
-            }
 
-            for (JLSCValueProperty property : properties) {
-                builder.append(style.beginProperty(indent)).append(property.getName());
-                if (!property.getArguments().isEmpty()) {
-                    builder.append(style.beginPropertyArgs(indent));
-                    List<String> arguments = property.getArguments();
-                    for (int i = 0; i < arguments.size(); i++) {
-                        builder.append(arguments.get(i));
-                        if (i < arguments.size() - 1) {
-                            builder.append(style.propertyArgsDelimiter(indent));
-                        }
-                    }
-                    builder.append(style.endPropertyArgs(indent));
+                if (iterator.hasNext() || style.doLastCompoundValue()) {
+                    out.append(style.compoundValueDelimiter(indent));
                 }
-                builder.append(style.endProperty(indent));
-            }
-
-            builder.append(result);
-
-            if (iterator.hasNext() || style.doLastCompoundValue()) {
-                builder.append(style.compoundValueDelimiter(indent));
             }
-
+        } catch (IOException e) {
+            throw new JLSCException("Failed to write compound", e);
         }
-        return builder.toString();
     }
 
-    public static String writeArray(JLSCArray array, JLSCSyntax syntax, JLSCStyle style, int indent) throws JLSCException {
-        StringBuilder builder = new StringBuilder();
-        int index = 0;
-        Iterator<JLSCValue> iterator = array.iterator();
-        while (iterator.hasNext()) {
-            builder.append(style.preArrayVal(indent));
-
-            JLSCValue value = iterator.next().getForWriting();
-            List<JLSCValueProperty> properties = Items.looseClone(value.getProperties());
-            String result;
-            if (value.getAsCompound().isPresent()) {
+    private static void writeArray(JLSCArray array, JLSCSyntax syntax, JLSCCompiledSyntax compiled, JLSCStyle style, int indent, Appendable out) throws JLSCException {
+        try {
+            int index = 0;
+            Iterator<JLSCValue> iterator = array.iterator();
+            while (iterator.hasNext()) {
+                out.append(style.preArrayVal(indent));
+
+                JLSCValue value = iterator.next().getForWriting();
                 try {
-                    result = style.beginCompound(indent) + JLSCReadWriteUtil.writeCompound(value.getAsCompound().get(), syntax, style, indent + 1) + style.endCompound(indent);
+                    JLSCReadWriteUtil.writeValue(value, Items.looseClone(value.getProperties()), syntax, compiled, style, indent, out);
                 } catch (JLSCException e) {
                     throw new JLSCException("Error while writing value at index " + index, e);
                 }
-            } else if (value.getAsArray().isPresent()) {
-                try {
-                    result = style.beginArray(indent) + JLSCReadWriteUtil.writeArray(value.getAsArray().get(), syntax, style, indent + 1) + style.endArray(indent);
-                } catch (JLSCException e) {
-                    throw new JLSCException("Error while writing value at index " + index, e);
+
+                if (iterator.hasNext() || style.doLastArrayValue()) {
+                    out.append(style.arrayValueDelimiter(indent));
                 }
-            } else {
-                Optional<JLSCProcessor> processor = JLSCRegistry.getProcessorFor(value);
-                if (processor.isPresent()) {
-                    try {
-                        result = processor.get().write(value, indent, syntax, style);
-                        if (JLSCReadWriteUtil.requiresSpecifier(value, result, style, syntax)) {
-                            properties.add(0, new JLSCValueProperty(processor.get().id()));
-                        }
-                    } catch (JLSCException e) {
-                        throw new JLSCException("Error while writing value at index " + indent, e);
-                    }
-                } else {
-                    throw new JLSCException("No processor for value of type \"" + value.type().getName() + "\"");
+                index++;
+            }
+        } catch (IOException e) {
+            throw new JLSCException("Failed to write array", e);
+        }
+    }
+
+    private static void writeValue(JLSCValue value, List<JLSCValueProperty> properties, JLSCSyntax syntax, JLSCCompiledSyntax compiled, JLSCStyle style, int indent, Appendable out) throws JLSCException, IOException {
+        if (value.getAsCompound().isPresent()) {
+            JLSCReadWriteUtil.writeProperties(properties, style, indent, out);
+            out.append(style.beginCompound(indent));
+            JLSCReadWriteUtil.writeCompound(value.getAsCompound().get(), syntax, compiled, style, indent + 1, out);
+            out.append(style.endCompound(indent));
+        } else if (value.getAsArray().isPresent()) {
+            JLSCReadWriteUtil.writeProperties(properties, style, indent, out);
+            out.append(style.beginArray(indent));
+            JLSCReadWriteUtil.writeArray(value.getAsArray().get(), syntax, compiled, style, indent + 1, out);
+            out.append(style.endArray(indent));
+        } else {
+            Optional<JLSCProcessor> processor = JLSCRegistry.getProcessorFor(value);
+            if (processor.isPresent()) {
+                String result = processor.get().write(value, indent, syntax, style);
+                if (JLSCRegistry.requiresSpecifier(processor.get(), result, syntax, style)) {
+                    properties.add(0, new JLSCValueProperty(processor.get().id()));
                 }
+                JLSCReadWriteUtil.writeProperties(properties, style, indent, out);
+                out.append(result);
+            } else {
+                throw new JLSCException("No processor for value of type \"" + value.type().getName() + "\"");
             }
+        }
+    }
 
-            for (JLSCValueProperty property : properties) {
-                builder.append(style.beginProperty(indent)).append(property.getName());
-                if (!property.getArguments().isEmpty()) {
-                    builder.append(style.beginPropertyArgs(indent));
-                    List<String> arguments = property.getArguments();
-                    for (int i = 0; i < arguments.size(); i++) {
-                        builder.append(arguments.get(i));
-                        if (i < arguments.size() - 1) {
-                            builder.append(style.propertyArgsDelimiter(indent));
-                        }
+    private static void writeProperties(List<JLSCValueProperty> properties, JLSCStyle style, int indent, Appendable out) throws IOException {
+        for (JLSCValueProperty property : properties) {
+            out.append(style.beginProperty(indent)).append(property.getName());
+            if (!property.getArguments().isEmpty()) {
+                out.append(style.beginPropertyArgs(indent));
+                List<String> arguments = property.getArguments();
+                for (int i = 0; i < arguments.size(); i++) {
+                    out.append(arguments.get(i));
+                    if (i < arguments.size() - 1) {
+                        out.append(style.propertyArgsDelimiter(indent));
                     }
-                    builder.append(style.endPropertyArgs(indent));
                 }
-                builder.append(style.endProperty(indent));
+                out.append(style.endPropertyArgs(indent));
             }
+            out.append(style.endProperty(indent));
+        }
+    }
 
-            builder.append(result);
-
-            if (iterator.hasNext() || style.doLastArrayValue()) {
-                builder.append(style.arrayValueDelimiter(indent));
-            }
+    public static JLSCCompound readCompound(ByteStream buffer, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        return JLSCReadWriteUtil.readCompound(buffer, JLSCByteFormat.read(buffer), null, compoundConstructor, arrayConstructor);
+    }
 
-            index++;
+    public static JLSCCompound readCompound(ByteBuffer buffer, JLSCReadMode mode, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        JLSCByteView stream = new JLSCByteView(buffer);
+        JLSCByteFormat format = JLSCByteFormat.read(stream);
+        if (mode == JLSCReadMode.LAZY) {
+            ByteBuffer slice = JLSCReadWriteUtil.slice(buffer, buffer.position(), buffer.limit());
+            buffer.position(buffer.limit());
+            return JLSCReadWriteUtil.deferCompound(slice, format.copy(), compoundConstructor, arrayConstructor);
         }
-
-        return builder.toString();
+        return JLSCReadWriteUtil.readCompound(stream, format, null, compoundConstructor, arrayConstructor);
     }
 
-    public static JLSCCompound readCompound(ByteStream buffer, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+    static JLSCCompound readCompound(ByteStream buffer, JLSCByteFormat format, ByteBuffer lazySource, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
         try {
             JLSCCompound compound = new JLSCCompound(compoundConstructor);
-            JLSCCompoundHeader header = JLSCCompoundHeader.read(buffer);
-            for (JLSCKeyValueHeader keyValueHeader : header.getKeyValueHeaders()) {
+            boolean interleaved = format.hasFlag(JLSCByteFormat.INTERLEAVED);
+            List<JLSCKeyValueHeader> keyValueHeaders = interleaved ? null : JLSCCompoundHeader.read(buffer, format).getKeyValueHeaders();
+            int size = interleaved ? JLSCCompoundHeader.readSize(buffer, format) : keyValueHeaders.size();
+            for (int i = 0; i < size; i++) {
+                JLSCKeyValueHeader keyValueHeader = interleaved ? JLSCKeyValueHeader.read(buffer, format) : keyValueHeaders.get(i);
                 try {
-                    JLSCValue value;
-                    String type = keyValueHeader.getValueHeader().getTypeSpecifier().getName();
-                    if (type.equals("array")) {
-                        value = JLSCValue.of(JLSCReadWriteUtil.readArray(buffer, compoundConstructor, arrayConstructor));
-                    } else if (type.equals("compound")) {
-                        value = JLSCValue.of(JLSCReadWriteUtil.readCompound(buffer, compoundConstructor, arrayConstructor));
-                    } else {
-                        Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessor(type);
-                        if (processorOptional.isPresent()) {
-                            value = processorOptional.get().readBytes(buffer);
-                        } else {
-                            throw new JLSCException("Unable to read value at key \"" + Strings.escape(keyValueHeader.getKey()) + "\", no byte processor found for id \"" + keyValueHeader.getValueHeader().getTypeSpecifier().getName() + "\"");
-                        }
-                    }
-                    value.getProperties().addAll(keyValueHeader.getValueHeader().getProperties());
-                    value.setTypeSpecifier(keyValueHeader.getValueHeader().getTypeSpecifier());
+                    JLSCValue value = JLSCReadWriteUtil.readValue(buffer, format, keyValueHeader.getValueHeader(), keyValueHeader.getKey(), i, lazySource, compoundConstructor, arrayConstructor);
                     JLSCKeyValue keyValue = new JLSCKeyValue(keyValueHeader.getKey(), value);
                     keyValue.getComments().addAll(keyValueHeader.getComments());
                     compound.put(keyValue);
@@ -264,30 +319,30 @@ public class JLSCReadWriteUtil {
     }
 
     public static JLSCArray readArray(ByteStream buffer, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        return JLSCReadWriteUtil.readArray(buffer, JLSCByteFormat.read(buffer), null, compoundConstructor, arrayConstructor);
+    }
+
+    public static JLSCArray readArray(ByteBuffer buffer, JLSCReadMode mode, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        JLSCByteView stream = new JLSCByteView(buffer);
+        JLSCByteFormat format = JLSCByteFormat.read(stream);
+        if (mode == JLSCReadMode.LAZY) {
+            ByteBuffer slice = JLSCReadWriteUtil.slice(buffer, buffer.position(), buffer.limit());
+            buffer.position(buffer.limit());
+            return JLSCReadWriteUtil.deferArray(slice, format.copy(), compoundConstructor, arrayConstructor);
+        }
+        return JLSCReadWriteUtil.readArray(stream, format, null, compoundConstructor, arrayConstructor);
+    }
+
+    static JLSCArray readArray(ByteStream buffer, JLSCByteFormat format, ByteBuffer lazySource, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
         try {
             JLSCArray array = new JLSCArray(arrayConstructor);
-            JLSCArrayHeader header = JLSCArrayHeader.read(buffer);
-            List<JLSCValueHeader> valueHeaders = header.getValueHeaders();
-            for (int i = 0; i < valueHeaders.size(); i++) {
+            boolean interleaved = format.hasFlag(JLSCByteFormat.INTERLEAVED);
+            List<JLSCValueHeader> valueHeaders = interleaved ? null : JLSCArrayHeader.read(buffer, format).getValueHeaders();
+            int size = interleaved ? JLSCArrayHeader.readSize(buffer, format) : valueHeaders.size();
+            for (int i = 0; i < size; i++) {
                 try {
-                    JLSCValueHeader valueHeader = valueHeaders.get(i);
-                    JLSCValue value;
-                    String type = valueHeader.getTypeSpecifier().getName();
-                    if (type.equals("array")) {
-                        value = JLSCValue.of(JLSCReadWriteUtil.readArray(buffer, compoundConstructor, arrayConstructor));
-                    } else if (type.equals("compound")) {
-                        value = JLSCValue.of(JLSCReadWriteUtil.readCompound(buffer, compoundConstructor, arrayConstructor));
-                    } else {
-                        Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessor(type);
-                        if (processorOptional.isPresent()) {
-                            value = processorOptional.get().readBytes(buffer);
-                        } else {
-                            throw new JLSCException("Unable to read vale at index " + i + ", no byte processor found for id \"" + valueHeader.getTypeSpecifier().getName() + "\"");
-                        }
-                    }
-                    value.getProperties().addAll(valueHeader.getProperties());
-                    value.setTypeSpecifier(valueHeader.getTypeSpecifier());
-                    array.add(value);
+                    JLSCValueHeader valueHeader = interleaved ? JLSCValueHeader.read(buffer, format) : valueHeaders.get(i);
+                    array.add(JLSCReadWriteUtil.readValue(buffer, format, valueHeader, null, i, lazySource, compoundConstructor, arrayConstructor));
                 } catch (BufferOverflowException | BufferUnderflowException e) {
                     throw new JLSCException("Incorrect buffer size at index " + i, e);
                 }
@@ -298,58 +353,398 @@ public class JLSCReadWriteUtil {
         }
     }
 
+    static JLSCValue readValue(ByteStream buffer, JLSCByteFormat format, JLSCValueHeader valueHeader, String key, int index, ByteBuffer lazySource, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        JLSCValue value;
+        String type = valueHeader.getTypeSpecifier().getName();
+        if (type.equals("array")) {
+            value = JLSCValue.of(lazySource != null ? JLSCReadWriteUtil.deferArray(buffer, format, lazySource, compoundConstructor, arrayConstructor) : JLSCReadWriteUtil.readArray(buffer, format, null, compoundConstructor, arrayConstructor));
+        } else if (type.equals("compound")) {
+            value = JLSCValue.of(lazySource != null ? JLSCReadWriteUtil.deferCompound(buffer, format, lazySource, compoundConstructor, arrayConstructor) : JLSCReadWriteUtil.readCompound(buffer, format, null, compoundConstructor, arrayConstructor));
+        } else if (format.isInline(type)) {
+            value = JLSCValue.of(valueHeader.getInlineValue());
+        } else {
+            Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessor(type);
+            if (processorOptional.isPresent()) {
+                value = processorOptional.get().readBytes(buffer, format);
+            } else {
+                throw new JLSCException("Unable to read value at " + (key != null ? "key \"" + Strings.escape(key) + "\"" : "index " + index) + ", no byte processor found for id \"" + type + "\"");
+            }
+        }
+        if (!valueHeader.getProperties().isEmpty()) {
+            value.getProperties().addAll(valueHeader.getProperties());
+        }
+        value.setTypeSpecifier(valueHeader.getTypeSpecifier());
+        return value;
+    }
+
+    public static JLSCValue readValue(ByteStream buffer, JLSCByteFormat format, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        try {
+            return JLSCReadWriteUtil.readValue(buffer, format, JLSCValueHeader.read(buffer, format), null, 0, null, compoundConstructor, arrayConstructor);
+        } catch (BufferOverflowException | BufferUnderflowException e) {
+            throw new JLSCException("Incorrect buffer size", e);
+        }
+    }
+
+    private static JLSCCompound deferCompound(ByteStream buffer, JLSCByteFormat format, ByteBuffer lazySource, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        int start = buffer.position();
+        JLSCByteFormat sliceFormat = format.copy();
+        JLSCReadWriteUtil.skipCompound(buffer, format);
+        return JLSCReadWriteUtil.deferCompound(JLSCReadWriteUtil.slice(lazySource, start, buffer.position()), sliceFormat, compoundConstructor, arrayConstructor);
+    }
+
+    private static JLSCCompound deferCompound(ByteBuffer slice, JLSCByteFormat sliceFormat, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) {
+        return JLSCCompound.deferred(() -> {
+            ByteBuffer source = slice.duplicate();
+            return JLSCReadWriteUtil.readCompound(new JLSCByteView(source), sliceFormat.copy(), source.duplicate(), compoundConstructor, arrayConstructor);
+        });
+    }
+
+    private static JLSCArray deferArray(ByteStream buffer, JLSCByteFormat format, ByteBuffer lazySource, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) throws JLSCException {
+        int start = buffer.position();
+        JLSCByteFormat sliceFormat = format.copy();
+        JLSCReadWriteUtil.skipArray(buffer, format);
+        return JLSCReadWriteUtil.deferArray(JLSCReadWriteUtil.slice(lazySource, start, buffer.position()), sliceFormat, compoundConstructor, arrayConstructor);
+    }
+
+    private static JLSCArray deferArray(ByteBuffer slice, JLSCByteFormat sliceFormat, Supplier<Map<String, JLSCKeyValue>> compoundConstructor, Supplier<List<JLSCValue>> arrayConstructor) {
+        return JLSCArray.deferred(() -> {
+            ByteBuffer source = slice.duplicate();
+            return JLSCReadWriteUtil.readArray(new JLSCByteView(source), sliceFormat.copy(), source.duplicate(), compoundConstructor, arrayConstructor);
+        });
+    }
+
+    private static ByteBuffer slice(ByteBuffer source, int start, int end) {
+        ByteBuffer slice = source.duplicate();
+        slice.limit(end);
+        slice.position(start);
+        return slice.slice();
+    }
+
+    private static void skipCompound(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (format.hasFlag(JLSCByteFormat.INDEXED)) {
+            JLSCReadWriteUtil.skip(buffer, JLSCCompoundHeader.readIndexedLength(buffer, format));
+        } else if (format.hasFlag(JLSCByteFormat.INTERLEAVED)) {
+            int size = JLSCCompoundHeader.readSize(buffer, format);
+            for (int i = 0; i < size; i++) {
+                JLSCReadWriteUtil.skipValue(buffer, format, JLSCKeyValueHeader.read(buffer, format).getValueHeader());
+            }
+        } else {
+            JLSCCompoundHeader header = JLSCCompoundHeader.read(buffer, format);
+            for (JLSCKeyValueHeader keyValueHeader : header.getKeyValueHeaders()) {
+                JLSCReadWriteUtil.skipValue(buffer, format, keyValueHeader.getValueHeader());
+            }
+        }
+    }
+
+    private static void skipArray(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (format.hasFlag(JLSCByteFormat.INDEXED)) {
+            JLSCReadWriteUtil.skip(buffer, JLSCArrayHeader.readIndexedLength(buffer, format));
+        } else if (format.hasFlag(JLSCByteFormat.INTERLEAVED)) {
+            int size = JLSCArrayHeader.readSize(buffer, format);
+            for (int i = 0; i < size; i++) {
+                JLSCReadWriteUtil.skipValue(buffer, format, JLSCValueHeader.read(buffer, format));
+            }
+        } else {
+            JLSCArrayHeader header = JLSCArrayHeader.read(buffer, format);
+            for (JLSCValueHeader valueHeader : header.getValueHeaders()) {
+                JLSCReadWriteUtil.skipValue(buffer, format, valueHeader);
+            }
+        }
+    }
+
+    public static void skip(ByteStream buffer, long bytes) throws JLSCException {
+        if (buffer instanceof JLSCByteView && bytes <= Integer.MAX_VALUE) {
+            ((JLSCByteView) buffer).skip((int) bytes);
+        } else {
+            try {
+                if (buffer instanceof JLSCByteInput) {
+                    ((JLSCByteInput) buffer).skip(bytes);
+                } else {
+                    for (long i = 0; i < bytes; i++) {
+                        buffer.get();
+                    }
+                }
+            } catch (IOException e) {
+                throw new JLSCException("Unable to skip value (halted at: " + buffer.position() + ")", e);
+            }
+        }
+    }
+
+    private static void skipValue(ByteStream buffer, JLSCByteFormat format, JLSCValueHeader valueHeader) throws JLSCException {
+        String type = valueHeader.getTypeSpecifier().getName();
+        if (type.equals("array")) {
+            JLSCReadWriteUtil.skipArray(buffer, format);
+        } else if (type.equals("compound")) {
+            JLSCReadWriteUtil.skipCompound(buffer, format);
+        } else if (!format.isInline(type)) {
+            JLSCRegistry.getByteProcessor(type).orElseThrow(() -> new JLSCException("Unable to skip value (halted at: " + buffer.position() + "), no byte processor found for id \"" + type + "\"")).skipBytes(buffer, format);
+        }
+    }
+
     public static int length(JLSCCompound compound) {
-        JLSCCompoundHeader header = new JLSCCompoundHeader(compound);
-        int len = header.length();
-        for (JLSCKeyValue keyValue : compound.entries()) {
+        return JLSCReadWriteUtil.length(compound, JLSCByteFormat.legacy());
+    }
+
+    public static int length(JLSCArray array) {
+        return JLSCReadWriteUtil.length(array, JLSCByteFormat.legacy());
+    }
+
+    public static int length(JLSCCompound compound, JLSCByteFormat format) {
+        return JLSCReadWriteUtil.length(compound, format.fresh(), true);
+    }
+
+    public static int length(JLSCArray array, JLSCByteFormat format) {
+        return JLSCReadWriteUtil.length(array, format.fresh(), true);
+    }
+
+    public static int length(JLSCValue value, JLSCByteFormat format) {
+        int len = new JLSCValueHeader(value).length(format);
+        value = value.getForWriting();
+        if (value.directCast(JLSCArray.class).isPresent()) {
+            return len + JLSCReadWriteUtil.length(value.getAsArray().get(), format, false);
+        } else if (value.directCast(JLSCCompound.class).isPresent()) {
+            return len + JLSCReadWriteUtil.length(value.getAsCompound().get(), format, false);
+        } else if (!format.isInline(value.getTypeSpecifier().getName())) {
+            Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessorFor(value);
+            if (processorOptional.isPresent()) {
+                return len + processorOptional.get().size(value, format);
+            }
+        }
+        return len;
+    }
+
+    public static void write(JLSCValue value, ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        new JLSCValueHeader(value).write(buffer, format);
+        value = value.getForWriting();
+        if (value.directCast(JLSCArray.class).isPresent()) {
+            JLSCReadWriteUtil.write(value.getAsArray().get(), buffer, format, false);
+        } else if (value.directCast(JLSCCompound.class).isPresent()) {
+            JLSCReadWriteUtil.write(value.getAsCompound().get(), buffer, format, false);
+        } else if (!format.isInline(value.getTypeSpecifier().getName())) {
+            Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessorFor(value);
+            if (processorOptional.isPresent()) {
+                processorOptional.get().write(buffer, value, format);
+            } else {
+                throw new JLSCException("Unable to write value, no byte processor found for value of type \"" + value.type().getName() + "\"");
+            }
+        }
+    }
+
+    public static void write(JLSCCompound compound, ByteStream buffer) throws JLSCException {
+        JLSCReadWriteUtil.write(compound, buffer, JLSCByteFormat.legacy());
+    }
+
+    public static void write(JLSCArray array, ByteStream buffer) throws JLSCException {
+        JLSCReadWriteUtil.write(array, buffer, JLSCByteFormat.legacy());
+    }
+
+    public static void write(JLSCCompound compound, ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        JLSCReadWriteUtil.write(compound, buffer, format.fresh(), true);
+    }
+
+    public static void write(JLSCArray array, ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        JLSCReadWriteUtil.write(array, buffer, format.fresh(), true);
+    }
+
+    public static void write(JLSCCompound compound, OutputStream out, JLSCByteFormat format) throws JLSCException {
+        JLSCByteOutput output = new JLSCByteOutput(out);
+        JLSCReadWriteUtil.write(compound, output, format.fresh(), true);
+        JLSCReadWriteUtil.flush(output);
+    }
+
+    public static void write(JLSCArray array, OutputStream out, JLSCByteFormat format) throws JLSCException {
+        JLSCByteOutput output = new JLSCByteOutput(out);
+        JLSCReadWriteUtil.write(array, output, format.fresh(), true);
+        JLSCReadWriteUtil.flush(output);
+    }
+
+    private static void flush(JLSCByteOutput output) throws JLSCException {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new JLSCException("Unable to flush output (halted at: " + output.position() + ")", e);
+        }
+    }
+
+    private static int length(JLSCCompound compound, JLSCByteFormat format, boolean preamble) {
+        boolean interleaved = format.hasFlag(JLSCByteFormat.INTERLEAVED);
+        boolean indexed = format.hasFlag(JLSCByteFormat.INDEXED);
+        if (preamble && indexed) {
+            JLSCReadWriteUtil.declareTypes(compound, format);
+        }
+        int len = preamble ? format.preambleLength() : 0;
+        if (indexed) {
+            return (int) (len + JLSCReadWriteUtil.layout(compound, format, null));
+        }
+        List<JLSCKeyValue> entries = compound.entries();
+        int header = interleaved ? format.countLength(entries.size()) : new JLSCCompoundHeader(compound).length(format);
+        int body = 0;
+        for (JLSCKeyValue keyValue : entries) {
+            if (interleaved) {
+                body += new JLSCKeyValueHeader(keyValue).length(format);
+            }
             JLSCValue value = keyValue.getValue().getForWriting();
             if (value.getAsArray().isPresent()) {
-                len += JLSCReadWriteUtil.length(value.getAsArray().get());
+                body += JLSCReadWriteUtil.length(value.getAsArray().get(), format, false);
             } else if (value.getAsCompound().isPresent()) {
-                len += JLSCReadWriteUtil.length(value.getAsCompound().get());
-            } else {
+                body += JLSCReadWriteUtil.length(value.getAsCompound().get(), format, false);
+            } else if (!format.isInline(value.getTypeSpecifier().getName())) {
                 Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessorFor(value);
                 if (processorOptional.isPresent()) {
-                    len += processorOptional.get().size(value);
+                    body += processorOptional.get().size(value, format);
                 }
             }
         }
-        return len;
+        return len + header + body;
     }
 
-    public static int length(JLSCArray array) {
-        JLSCArrayHeader header = new JLSCArrayHeader(array);
-        int len = header.length();
-        for (JLSCValue value : array.leaves(false)) {
+    private static int length(JLSCArray array, JLSCByteFormat format, boolean preamble) {
+        boolean interleaved = format.hasFlag(JLSCByteFormat.INTERLEAVED);
+        boolean indexed = format.hasFlag(JLSCByteFormat.INDEXED);
+        if (preamble && indexed) {
+            JLSCReadWriteUtil.declareTypes(array, format);
+        }
+        int len = preamble ? format.preambleLength() : 0;
+        if (indexed) {
+            return (int) (len + JLSCReadWriteUtil.layout(array, format, null));
+        }
+        List<JLSCValue> leaves = array.leaves(false);
+        int header = interleaved ? format.countLength(leaves.size()) : new JLSCArrayHeader(array).length(format);
+        int body = 0;
+        for (JLSCValue value : leaves) {
+            if (interleaved) {
+                body += new JLSCValueHeader(value).length(format);
+            }
             value = value.getForWriting();
             if (value.getAsArray().isPresent()) {
-                len += JLSCReadWriteUtil.length(value.getAsArray().get());
+                body += JLSCReadWriteUtil.length(value.getAsArray().get(), format, false);
             } else if (value.getAsCompound().isPresent()) {
-                len += JLSCReadWriteUtil.length(value.getAsCompound().get());
-            } else {
+                body += JLSCReadWriteUtil.length(value.getAsCompound().get(), format, false);
+            } else if (!format.isInline(value.getTypeSpecifier().getName())) {
                 Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessorFor(value);
                 if (processorOptional.isPresent()) {
-                    len += processorOptional.get().size(value);
+                    body += processorOptional.get().size(value, format);
                 }
             }
         }
-        return len;
+        return len + header + body;
     }
 
-    public static void write(JLSCCompound compound, ByteStream buffer) throws JLSCException {
-        JLSCCompoundHeader header = new JLSCCompoundHeader(compound);
-        header.write(buffer);
-        for (JLSCKeyValue keyValue : compound.entries()) {
+    /**
+     * Measures an indexed compound without writing it. If layouts is not null, the body length and key ordered entry
+     * offsets of this compound and of every compound and array inside it are appended to it in the order the writer
+     * visits them, so a single pass sizes the whole tree and the writer never buffers a body.
+     */
+    private static long layout(JLSCCompound compound, JLSCByteFormat format, Deque<long[]> layouts) {
+        List<JLSCKeyValue> entries = compound.entries();
+        long[] layout = layouts == null ? null : new long[entries.size() + 1];
+        if (layouts != null) {
+            layouts.add(layout);
+        }
+        long[] offsets = new long[entries.size()];
+        long body = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            JLSCKeyValue keyValue = entries.get(i);
+            offsets[i] = body;
+            body += new JLSCKeyValueHeader(keyValue).length(format);
+            body += JLSCReadWriteUtil.layout(keyValue.getValue(), format, layouts);
+        }
+        if (layout != null) {
+            byte[][] keys = new byte[entries.size()][];
+            Integer[] order = new Integer[entries.size()];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = entries.get(i).getKey().getBytes(StandardCharsets.UTF_8);
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> JLSCReadWriteUtil.compare(keys[x], keys[y]));
+            layout[0] = body;
+            for (int i = 0; i < order.length; i++) {
+                layout[i + 1] = offsets[order[i]];
+            }
+        }
+        return JLSCCompoundHeader.indexedLength(format, entries.size(), body) + body;
+    }
+
+    private static long layout(JLSCArray array, JLSCByteFormat format, Deque<long[]> layouts) {
+        long[] layout = new long[1];
+        if (layouts != null) {
+            layouts.add(layout);
+        }
+        long body = 0;
+        for (int i = 0; i < array.size(); i++) {
+            JLSCValue value = array.get(i).get();
+            body += new JLSCValueHeader(value).length(format);
+            body += JLSCReadWriteUtil.layout(value, format, layouts);
+        }
+        layout[0] = body;
+        return JLSCArrayHeader.indexedLength(format, array.size(), body) + body;
+    }
+
+    private static long layout(JLSCValue value, JLSCByteFormat format, Deque<long[]> layouts) {
+        value = value.getForWriting();
+        if (value.directCast(JLSCArray.class).isPresent()) {
+            return JLSCReadWriteUtil.layout(value.getAsArray().get(), format, layouts);
+        } else if (value.directCast(JLSCCompound.class).isPresent()) {
+            return JLSCReadWriteUtil.layout(value.getAsCompound().get(), format, layouts);
+        } else if (!format.isInline(value.getTypeSpecifier().getName())) {
+            Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessorFor(value);
+            if (processorOptional.isPresent()) {
+                return processorOptional.get().size(value, format);
+            }
+        }
+        return 0;
+    }
+
+    static int compare(byte[] a, byte[] b) {
+        int len = Math.min(a.length, b.length);
+        for (int i = 0; i < len; i++) {
+            int comparison = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static void write(JLSCCompound compound, ByteStream buffer, JLSCByteFormat format, boolean preamble) throws JLSCException {
+        JLSCReadWriteUtil.write(compound, buffer, format, preamble, null);
+    }
+
+    private static void write(JLSCCompound compound, ByteStream buffer, JLSCByteFormat format, boolean preamble, Deque<long[]> layouts) throws JLSCException {
+        boolean interleaved = format.hasFlag(JLSCByteFormat.INTERLEAVED);
+        boolean indexed = format.hasFlag(JLSCByteFormat.INDEXED);
+        if (preamble) {
+            if (indexed) {
+                JLSCReadWriteUtil.declareTypes(compound, format);
+            }
+            format.writePreamble(buffer);
+        }
+        List<JLSCKeyValue> entries = compound.entries();
+        if (indexed) {
+            if (layouts == null) {
+                layouts = new ArrayDeque<>();
+                JLSCReadWriteUtil.layout(compound, format.copy(), layouts);
+            }
+            JLSCCompoundHeader.writeIndexed(buffer, format, layouts.poll());
+        } else if (interleaved) {
+            JLSCCompoundHeader.writeSize(buffer, format, entries.size());
+        } else {
+            new JLSCCompoundHeader(compound).write(buffer, format);
+        }
+        for (JLSCKeyValue keyValue : entries) {
+            if (interleaved) {
+                new JLSCKeyValueHeader(keyValue).write(buffer, format);
+            }
             JLSCValue value = keyValue.getValue().getForWriting();
             if (value.directCast(JLSCArray.class).isPresent()) {
-                JLSCReadWriteUtil.write(value.getAsArray().get(), buffer);
+                JLSCReadWriteUtil.write(value.getAsArray().get(), buffer, format, false, layouts);
             } else if (value.directCast(JLSCCompound.class).isPresent()) {
-                JLSCReadWriteUtil.write(value.getAsCompound().get(), buffer);
-            } else {
+                JLSCReadWriteUtil.write(value.getAsCompound().get(), buffer, format, false, layouts);
+            } else if (!format.isInline(value.getTypeSpecifier().getName())) {
                 Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessorFor(value);
                 if (processorOptional.isPresent()) {
                     JLSCByteProcessor processor = processorOptional.get();
-                    processor.write(buffer, value);
+                    processor.write(buffer, value, format);
                 } else {
                     throw new JLSCException("Unable to write value at key \"" + Strings.escape(keyValue.getKey()) + "\", no byte processor found for value of type \"" + value.type().getName() + "\"");
                 }
@@ -357,20 +752,44 @@ public class JLSCReadWriteUtil {
         }
     }
 
-    public static void write(JLSCArray array, ByteStream buffer) throws JLSCException {
-        JLSCArrayHeader header = new JLSCArrayHeader(array);
-        header.write(buffer);
+    private static void write(JLSCArray array, ByteStream buffer, JLSCByteFormat format, boolean preamble) throws JLSCException {
+        JLSCReadWriteUtil.write(array, buffer, format, preamble, null);
+    }
+
+    private static void write(JLSCArray array, ByteStream buffer, JLSCByteFormat format, boolean preamble, Deque<long[]> layouts) throws JLSCException {
+        boolean interleaved = format.hasFlag(JLSCByteFormat.INTERLEAVED);
+        boolean indexed = format.hasFlag(JLSCByteFormat.INDEXED);
+        if (preamble) {
+            if (indexed) {
+                JLSCReadWriteUtil.declareTypes(array, format);
+            }
+            format.writePreamble(buffer);
+        }
+        if (indexed) {
+            if (layouts == null) {
+                layouts = new ArrayDeque<>();
+                JLSCReadWriteUtil.layout(array, format.copy(), layouts);
+            }
+            JLSCArrayHeader.writeIndexed(buffer, format, array.size(), layouts.poll()[0]);
+        } else if (interleaved) {
+            JLSCArrayHeader.writeSize(buffer, format, array.size());
+        } else {
+            new JLSCArrayHeader(array).write(buffer, format);
+        }
         for (int i = 0; i < array.size(); i++) {
+            if (interleaved) {
+                new JLSCValueHeader(array.get(i).get()).write(buffer, format);
+            }
             JLSCValue value = array.get(i).get().getForWriting();
             if (value.directCast(JLSCArray.class).isPresent()) {
-                JLSCReadWriteUtil.write(value.getAsArray().get(), buffer);
+                JLSCReadWriteUtil.write(value.getAsArray().get(), buffer, format, false, layouts);
             } else if (value.directCast(JLSCCompound.class).isPresent()) {
-                JLSCReadWriteUtil.write(value.getAsCompound().get(), buffer);
-            } else {
+                JLSCReadWriteUtil.write(value.getAsCompound().get(), buffer, format, false, layouts);
+            } else if (!format.isInline(value.getTypeSpecifier().getName())) {
                 Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.getByteProcessorFor(value);
                 if (processorOptional.isPresent()) {
                     JLSCByteProcessor processor = processorOptional.get();
-                    processor.write(buffer, value);
+                    processor.write(buffer, value, format);
                 } else {
                     throw new JLSCException("Unable to write value at index " + i + ", no byte processor found for value of type \"" + value.type().getName() + "\"");
                 }
@@ -378,4 +797,26 @@ public class JLSCReadWriteUtil {
         }
     }
 
+    private static void declareTypes(JLSCCompound compound, JLSCByteFormat format) {
+        for (JLSCKeyValue keyValue : compound.entries()) {
+            JLSCReadWriteUtil.declareTypes(keyValue.getValue(), format);
+        }
+    }
+
+    private static void declareTypes(JLSCArray array, JLSCByteFormat format) {
+        for (JLSCValue value : array.leaves(false)) {
+            JLSCReadWriteUtil.declareTypes(value, format);
+        }
+    }
+
+    private static void declareTypes(JLSCValue value, JLSCByteFormat format) {
+        format.declare(new JLSCValueHeader(value).getTypeSpecifier().getName());
+        value = value.getForWriting();
+        if (value.directCast(JLSCArray.class).isPresent()) {
+            JLSCReadWriteUtil.declareTypes(value.getAsArray().get(), format);
+        } else if (value.directCast(JLSCCompound.class).isPresent()) {
+            JLSCReadWriteUtil.declareTypes(value.getAsCompound().get(), format);
+        }
+    }
+
 }
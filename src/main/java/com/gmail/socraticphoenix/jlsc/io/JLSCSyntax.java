@@ -69,6 +69,22 @@ public interface JLSCSyntax {
         return this.compoundBegin().or(this.arrayBegin());
     }
 
+    /**
+     * The characters that open and close a quoted region. A region is closed by the same character that opened it.
+     * Syntaxes that change the quotes in {@link #data()} should change them here as well.
+     */
+    default Predicate<Character> quote() {
+        return c -> c == '"';
+    }
+
+    /**
+     * The characters that escape the character following them. Syntaxes that change the escape character in
+     * {@link #data()} should change it here as well.
+     */
+    default Predicate<Character> escape() {
+        return c -> c == '\\';
+    }
+
     class Default implements JLSCSyntax {
 
         @Override
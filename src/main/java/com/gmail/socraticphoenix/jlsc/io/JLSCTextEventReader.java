@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Stack;
+
+public class JLSCTextEventReader extends JLSCLexer implements JLSCEventReader {
+    private Deque<JLSCEvent> events;
+    private Stack<Frame> frames;
+    private boolean started;
+    private int level;
+
+    public JLSCTextEventReader(JLSCCharSource source, JLSCStyle style, JLSCSyntax syntax) {
+        super(source, style, syntax);
+        this.events = new ArrayDeque<>();
+        this.frames = new Stack<>();
+        this.started = false;
+        this.level = 0;
+    }
+
+    @Override
+    public boolean hasNext() throws JLSCException {
+        while (this.events.isEmpty() && (!this.started || !this.frames.isEmpty())) {
+            this.advance();
+        }
+        return !this.events.isEmpty();
+    }
+
+    @Override
+    public JLSCEvent next() throws JLSCException {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JLSCEvent event = this.events.poll();
+        if (event.getType() == JLSCEventType.START_COMPOUND || event.getType() == JLSCEventType.START_ARRAY) {
+            this.level++;
+        } else if (event.getType() == JLSCEventType.END_COMPOUND || event.getType() == JLSCEventType.END_ARRAY) {
+            this.level--;
+        }
+        return event;
+    }
+
+    @Override
+    public int depth() {
+        return this.level;
+    }
+
+    private void advance() throws JLSCException {
+        if (!this.started) {
+            this.started = true;
+            this.skipIgnored();
+            boolean enclosed = this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_BEGIN);
+            if (enclosed) {
+                this.source.skip();
+                this.depth++;
+            }
+            this.frames.push(new Frame(false, enclosed));
+            this.events.add(JLSCEvent.of(JLSCEventType.START_COMPOUND));
+            return;
+        }
+
+        Frame frame = this.frames.peek();
+        this.skipIgnored();
+        int end = frame.array ? JLSCCompiledSyntax.ARRAY_END : JLSCCompiledSyntax.COMPOUND_END;
+        if (!this.hasChar()) {
+            if (frame.enclosed) {
+                throw new JLSCException("Unexpected end of input, expected end of " + (frame.array ? "array" : "compound") + " (halted at: " + this.source.position() + ")");
+            }
+            this.endFrame();
+        } else if (frame.enclosed && this.is(this.peek(), end)) {
+            this.source.skip();
+            this.endFrame();
+        } else if (frame.enclosed && this.is(this.peek(), JLSCCompiledSyntax.CLOSE)) {
+            throw new JLSCException("Unexpected '" + this.peek() + "', expected end of " + (frame.array ? "array" : "compound") + " (halted at: " + this.source.position() + ")");
+        } else if (frame.array) {
+            this.nextValue(true);
+        } else {
+            this.nextKeyValue();
+        }
+    }
+
+    private void endFrame() throws JLSCException {
+        Frame frame = this.frames.pop();
+        if (frame.enclosed) {
+            this.depth--;
+        }
+        this.events.add(JLSCEvent.of(frame.array ? JLSCEventType.END_ARRAY : JLSCEventType.END_COMPOUND));
+        if (this.frames.isEmpty()) {
+            this.expectEnd();
+        } else {
+            int end = this.frames.peek().array ? JLSCCompiledSyntax.ARRAY_VALUE_END : JLSCCompiledSyntax.COMPOUND_VALUE_END;
+            this.endStructure(end);
+            this.skip(end | JLSCCompiledSyntax.IGNORE);
+        }
+    }
+
+    private void nextKeyValue() throws JLSCException {
+        while (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMMENT_BEGIN)) {
+            this.events.add(JLSCEvent.text(JLSCEventType.COMMENT, this.nextComment()));
+        }
+        this.skipIgnored();
+        this.events.add(JLSCEvent.text(JLSCEventType.KEY, this.unquote(this.nextKey().trim())));
+        this.skip(JLSCCompiledSyntax.KEY_VALUE_DELIMITER | JLSCCompiledSyntax.IGNORE);
+        this.nextValue(false);
+    }
+
+    private void nextValue(boolean array) throws JLSCException {
+        this.skipIgnored();
+        List<JLSCValueProperty> properties = new ArrayList<>();
+        while (this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.PROPERTY_START)) {
+            properties.add(this.nextProperty());
+        }
+
+        JLSCValueProperty typeSpecifier = this.takeTypeSpecifier(properties);
+        for (JLSCValueProperty property : properties) {
+            this.events.add(JLSCEvent.property(property));
+        }
+
+        if (typeSpecifier == null && this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.COMPOUND_BEGIN)) {
+            this.source.skip();
+            this.depth++;
+            this.frames.push(new Frame(false, true));
+            this.events.add(JLSCEvent.of(JLSCEventType.START_COMPOUND));
+        } else if (typeSpecifier == null && this.hasChar() && this.is(this.peek(), JLSCCompiledSyntax.ARRAY_BEGIN)) {
+            this.source.skip();
+            this.depth++;
+            this.frames.push(new Frame(true, true));
+            this.events.add(JLSCEvent.of(JLSCEventType.START_ARRAY));
+        } else {
+            int end = array ? JLSCCompiledSyntax.ARRAY_VALUE_END : JLSCCompiledSyntax.COMPOUND_VALUE_END;
+            String raw = this.nextRaw(end).trim();
+            this.skip(end | JLSCCompiledSyntax.IGNORE);
+            this.events.add(JLSCEvent.value(raw, typeSpecifier, properties, this.syntax, this.style));
+        }
+    }
+
+    private static class Frame {
+        private boolean array;
+        private boolean enclosed;
+
+        public Frame(boolean array, boolean enclosed) {
+            this.array = array;
+            this.enclosed = enclosed;
+        }
+
+    }
+
+}
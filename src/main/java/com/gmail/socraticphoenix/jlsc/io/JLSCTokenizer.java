@@ -40,6 +40,7 @@ public class JLSCTokenizer {
     private CharacterStream stream;
     private JLSCStyle style;
     private JLSCSyntax syntax;
+    private JLSCCompiledSyntax compiled;
     private int i;
     private Supplier<Map<String, JLSCKeyValue>> compoundConstructor;
     private Supplier<List<JLSCValue>> arrayConstructor;
@@ -49,12 +50,13 @@ public class JLSCTokenizer {
         this.i = -1;
         this.style = style;
         this.syntax = syntax;
+        this.compiled = JLSCCompiledSyntax.of(syntax);
         this.compoundConstructor = compoundConstructor;
         this.arrayConstructor = arrayConstructor;
     }
 
     public boolean hasNext() {
-        this.stream.consumeAll(this.syntax.ignore());
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE));
         return this.stream.hasNext();
     }
 
@@ -69,14 +71,14 @@ public class JLSCTokenizer {
 
     public JLSCKeyValue compoundNext() throws JLSCException {
         List<String> comments = new ArrayList<>();
-        while (this.stream.isNext(this.syntax.commentBegin())) {
+        while (this.stream.isNext(this.compiled.predicate(JLSCCompiledSyntax.COMMENT_BEGIN))) {
             comments.add(this.nextComment());
         }
-        this.stream.consumeAll(this.syntax.ignore());
-        String key = this.stream.nextUntil(this.syntax.keyValueDelimiter().or(this.syntax.nonConsumableDelimiter()), Strings.javaEscapeFormat().quote('"')).trim();
-        this.stream.consumeAll(this.syntax.keyValueDelimiter().or(this.syntax.ignore()));
-        key = key.startsWith("\"") && key.endsWith("\"") ? Strings.deEscape(Strings.cutFirst(Strings.cutLast(key))) : key;
-        this.stream.consumeAll(this.syntax.keyValueDelimiter());
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE));
+        String key = this.stream.nextUntil(this.compiled.predicate(JLSCCompiledSyntax.KEY_VALUE_DELIMITER | JLSCCompiledSyntax.NON_CONSUMABLE_DELIMITER), Strings.javaEscapeFormat().quote('"')).trim();
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.KEY_VALUE_DELIMITER | JLSCCompiledSyntax.IGNORE));
+        key = this.compiled.unquote(key);
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.KEY_VALUE_DELIMITER));
         try {
             JLSCValue value = this.nextValue(false);
             JLSCKeyValue keyValue = new JLSCKeyValue(key, value);
@@ -88,9 +90,9 @@ public class JLSCTokenizer {
     }
 
     private JLSCValue nextValue(boolean array) throws JLSCException {
-        this.stream.consumeAll(this.syntax.ignore());
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE));
         List<JLSCValueProperty> properties = new ArrayList<>();
-        while (this.stream.isNext(this.syntax.propertyStart())) {
+        while (this.stream.isNext(this.compiled.predicate(JLSCCompiledSyntax.PROPERTY_START))) {
             properties.add(this.nextProperty());
         }
 
@@ -103,58 +105,61 @@ public class JLSCTokenizer {
         }
 
         JLSCValue jlscValue;
-        String value = this.stream.nextUntil(array ? this.syntax.arrayValueEnd() : this.syntax.compoundValueEnd(), this.syntax.data()).trim();
-        this.stream.consumeAll((array ? this.syntax.arrayValueEnd() : this.syntax.compoundValueEnd()).or(this.syntax.ignore()));
+        String value = this.stream.nextUntil(this.compiled.predicate(array ? JLSCCompiledSyntax.ARRAY_VALUE_END : JLSCCompiledSyntax.COMPOUND_VALUE_END), this.compiled.data()).trim();
+        this.stream.consumeAll(this.compiled.predicate((array ? JLSCCompiledSyntax.ARRAY_VALUE_END : JLSCCompiledSyntax.COMPOUND_VALUE_END) | JLSCCompiledSyntax.IGNORE));
         if (typeSpecifier != null) {
             JLSCProcessor processor = JLSCRegistry.getProcessor(typeSpecifier.getName()).get();
-            if (processor.canRead(value, this.syntax, this.style)) {
-                jlscValue = processor.read(value, this.syntax, this.style);
+            Optional<JLSCValue> read = processor.tryRead(value, this.syntax, this.style);
+            if (read.isPresent()) {
+                jlscValue = read.get();
             } else {
                 throw new JLSCException("\"" + Strings.escape(value) + "\" cannot be read by processor \"" + typeSpecifier.getName() + "\"");
             }
-        } else if (!value.isEmpty() && this.syntax.compoundBegin().test(value.charAt(0)) && this.syntax.compoundEnd().test(value.charAt(value.length() - 1))) {
+        } else if (!value.isEmpty() && this.compiled.is(value.charAt(0), JLSCCompiledSyntax.COMPOUND_BEGIN) && this.compiled.is(value.charAt(value.length() - 1), JLSCCompiledSyntax.COMPOUND_END)) {
             jlscValue = JLSCValue.of(JLSCReadWriteUtil.readCompound(value, this.syntax, this.style, this.compoundConstructor, this.arrayConstructor));
-        } else if (!value.isEmpty() && this.syntax.arrayBegin().test(value.charAt(0)) && this.syntax.arrayEnd().test(value.charAt(value.length() - 1))) {
+        } else if (!value.isEmpty() && this.compiled.is(value.charAt(0), JLSCCompiledSyntax.ARRAY_BEGIN) && this.compiled.is(value.charAt(value.length() - 1), JLSCCompiledSyntax.ARRAY_END)) {
             jlscValue = JLSCValue.of(JLSCReadWriteUtil.readArray(value, this.syntax, this.style, this.compoundConstructor, this.arrayConstructor));
         } else {
-            Optional<JLSCProcessor> processor = JLSCRegistry.getProcessorFor(value, syntax, style);
-            if (processor.isPresent()) {
-                jlscValue = processor.get().read(value, this.syntax, this.style);
+            Optional<JLSCValue> read = JLSCRegistry.tryRead(value, this.syntax, this.style);
+            if (read.isPresent()) {
+                jlscValue = read.get();
             } else {
                 jlscValue = JLSCRegistry.DEFAULT_PROCESSOR.read(value, this.syntax, this.style);
             }
         }
-        jlscValue.getProperties().addAll(properties);
+        if (!properties.isEmpty()) {
+            jlscValue.getProperties().addAll(properties);
+        }
         return jlscValue;
     }
 
     private JLSCValueProperty nextProperty() {
-        this.stream.consumeAll(this.syntax.propertyStart().or(this.syntax.ignore()));
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.PROPERTY_START | JLSCCompiledSyntax.IGNORE));
 
-        String name = this.stream.nextUntil(this.syntax.propertyArgsStart().or(this.syntax.propertyEnd()));
-        this.stream.consumeAll(this.syntax.ignore());
+        String name = this.stream.nextUntil(this.compiled.predicate(JLSCCompiledSyntax.PROPERTY_ARGS_START | JLSCCompiledSyntax.PROPERTY_END));
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE));
         JLSCValueProperty property = new JLSCValueProperty(name);
-        if (this.stream.isNext(this.syntax.propertyArgsStart())) {
+        if (this.stream.isNext(this.compiled.predicate(JLSCCompiledSyntax.PROPERTY_ARGS_START))) {
             String arg;
-            while (!this.stream.isNext(this.syntax.propertyArgsEnd())) {
-                this.stream.consumeAll(this.syntax.ignore());
-                arg = this.stream.nextUntil(this.syntax.propertyArgsEnd().or(this.syntax.propertyArgsDelimiter()), this.syntax.data()).trim();
-                this.stream.consumeAll(this.syntax.ignore().or(this.syntax.propertyArgsDelimiter()));
-                arg = arg.startsWith("\"") && arg.endsWith("\"") ? Strings.deEscape(Strings.cutFirst(Strings.cutLast(arg))) : arg;
+            while (!this.stream.isNext(this.compiled.predicate(JLSCCompiledSyntax.PROPERTY_ARGS_END))) {
+                this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE));
+                arg = this.stream.nextUntil(this.compiled.predicate(JLSCCompiledSyntax.PROPERTY_ARGS_END | JLSCCompiledSyntax.PROPERTY_ARGS_DELIMITER), this.compiled.data()).trim();
+                this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE | JLSCCompiledSyntax.PROPERTY_ARGS_DELIMITER));
+                arg = this.compiled.unquote(arg);
                 property.getArguments().add(arg);
             }
-            this.stream.consumeAll(this.syntax.ignore().or(this.syntax.propertyArgsEnd()));
+            this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE | JLSCCompiledSyntax.PROPERTY_ARGS_END));
         }
-        this.stream.consumeAll(this.syntax.propertyEnd().or(this.syntax.ignore()));
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.PROPERTY_END | JLSCCompiledSyntax.IGNORE));
         return property;
     }
 
     private String nextComment() {
-        this.stream.consumeAll(this.syntax.ignore());
-        this.stream.consume(this.syntax.commentBegin());
-        String comment = this.stream.nextUntil(this.syntax.commentEnd());
-        this.stream.consume(this.syntax.commentEnd());
-        this.stream.consumeAll(this.syntax.ignore());
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE));
+        this.stream.consume(this.compiled.predicate(JLSCCompiledSyntax.COMMENT_BEGIN));
+        String comment = this.stream.nextUntil(this.compiled.predicate(JLSCCompiledSyntax.COMMENT_END));
+        this.stream.consume(this.compiled.predicate(JLSCCompiledSyntax.COMMENT_END));
+        this.stream.consumeAll(this.compiled.predicate(JLSCCompiledSyntax.IGNORE));
         return comment;
     }
 
@@ -21,7 +21,11 @@
  */
 package com.gmail.socraticphoenix.jlsc.registry;
 
+import com.gmail.socraticphoenix.jlsc.JLSCException;
 import com.gmail.socraticphoenix.jlsc.header.JLSCKeyValueHeader;
+import com.gmail.socraticphoenix.jlsc.io.JLSCCompression;
+import com.gmail.socraticphoenix.jlsc.io.JLSCDeflateCompression;
+import com.gmail.socraticphoenix.jlsc.io.JLSCLZCompression;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
 import com.gmail.socraticphoenix.jlsc.serialization.JLSCSerializer;
@@ -37,9 +41,11 @@ import com.gmail.socraticphoenix.jlsc.value.annotation.JLSCAnnotationProcessorGe
 import com.gmail.socraticphoenix.jlsc.value.annotation.JLSCAnnotationProcessorPreID;
 import com.gmail.socraticphoenix.jlsc.value.annotation.JLSCAnnotationProcessorPreParse;
 import com.gmail.socraticphoenix.jlsc.value.annotation.JLSCAnnotationProcessorPreProcess;
+import com.gmail.socraticphoenix.jlsc.value.processors.JLSCBooleanArrayProcessor;
 import com.gmail.socraticphoenix.jlsc.value.processors.JLSCEnumProcessor;
 import com.gmail.socraticphoenix.jlsc.value.processors.JLSCFileProcecssor;
 import com.gmail.socraticphoenix.jlsc.value.processors.JLSCNullProcessor;
+import com.gmail.socraticphoenix.jlsc.value.processors.JLSCPrimitiveArrayProcessor;
 import com.gmail.socraticphoenix.jlsc.value.processors.JLSCPrimitiveProcessors;
 import com.gmail.socraticphoenix.jlsc.value.processors.JLSCSimpleArrayProcessor;
 import com.gmail.socraticphoenix.jlsc.value.processors.JLSCUUIDProcessor;
@@ -62,19 +68,24 @@ public class JLSCRegistry {
     private static List<JLSCSerializer> serializers;
     private static Map<String, JLSCProcessor> processors;
     private static Map<String, JLSCByteProcessor> byteProcessors;
+    private static Map<Integer, JLSCCompression> compressions;
     private static List<JLSCPreProcess> preProcesses;
     private static List<JLSCPreSerialize> preSerializes;
     private static List<JLSCPreParse> preParses;
     private static List<JLSCPreID> preIDs;
+    private static volatile ClassValue<Optional<JLSCProcessor>> processorDispatch;
+    private static volatile ClassValue<Optional<JLSCByteProcessor>> byteProcessorDispatch;
 
     static {
         JLSCRegistry.processors = Collections.synchronizedMap(new LinkedHashMap<>());
         JLSCRegistry.byteProcessors = Collections.synchronizedMap(new LinkedHashMap<>());
+        JLSCRegistry.compressions = Collections.synchronizedMap(new LinkedHashMap<>());
         JLSCRegistry.serializers = new ArrayList<>();
         JLSCRegistry.preProcesses = new ArrayList<>();
         JLSCRegistry.preSerializes = new ArrayList<>();
         JLSCRegistry.preParses = new ArrayList<>();
         JLSCRegistry.preIDs = new ArrayList<>();
+        JLSCRegistry.invalidateDispatch();
 
         JLSCRegistry.initDefaults();
     }
@@ -100,6 +111,15 @@ public class JLSCRegistry {
         register(JLSCPrimitiveProcessors.BOOLEAN);
         register(JLSCPrimitiveProcessors.STRING);
 
+        register(new JLSCPrimitiveArrayProcessor(byte[].class, "bytes"));
+        register(new JLSCPrimitiveArrayProcessor(char[].class, "chars"));
+        register(new JLSCPrimitiveArrayProcessor(short[].class, "shorts"));
+        register(new JLSCPrimitiveArrayProcessor(int[].class, "ints"));
+        register(new JLSCPrimitiveArrayProcessor(long[].class, "longs"));
+        register(new JLSCPrimitiveArrayProcessor(float[].class, "floats"));
+        register(new JLSCPrimitiveArrayProcessor(double[].class, "doubles"));
+        register(new JLSCBooleanArrayProcessor());
+
         register(new JLSCSimpleArrayProcessor(JLSCPrimitiveProcessors.BIG_INT, BigInteger[].class));
         register(new JLSCSimpleArrayProcessor(JLSCPrimitiveProcessors.BIG_DECIMAL, BigDecimal[].class));
         register(new JLSCSimpleArrayProcessor(JLSCPrimitiveProcessors.BYTE, Byte[].class));
@@ -116,6 +136,9 @@ public class JLSCRegistry {
         register(new JLSCEnumProcessor());
         register(new JLSCFileProcecssor());
 
+        register(JLSCDeflateCompression.DEFAULT);
+        register(JLSCLZCompression.DEFAULT);
+
         JLSCRegistry.validate();
     }
 
@@ -186,6 +209,7 @@ public class JLSCRegistry {
     public static boolean register(JLSCPreProcess preProcess) {
         if (!JLSCRegistry.preProcesses.contains(preProcess)) {
             JLSCRegistry.preProcesses.add(preProcess);
+            JLSCRegistry.invalidateDispatch();
             return true;
         }
         return false;
@@ -218,6 +242,7 @@ public class JLSCRegistry {
     public static boolean register(JLSCProcessor processor) {
         if (!JLSCRegistry.processors.containsKey(processor.id())) {
             JLSCRegistry.processors.put(processor.id(), processor);
+            JLSCRegistry.invalidateDispatch();
             return true;
         }
         return false;
@@ -226,6 +251,15 @@ public class JLSCRegistry {
     public static boolean register(JLSCByteProcessor byteProcessor) {
         if (!JLSCRegistry.byteProcessors.containsKey(byteProcessor.id())) {
             JLSCRegistry.byteProcessors.put(byteProcessor.id(), byteProcessor);
+            JLSCRegistry.invalidateDispatch();
+            return true;
+        }
+        return false;
+    }
+
+    public static boolean register(JLSCCompression compression) {
+        if (!JLSCRegistry.compressions.containsKey(compression.id())) {
+            JLSCRegistry.compressions.put(compression.id(), compression);
             return true;
         }
         return false;
@@ -266,6 +300,10 @@ public class JLSCRegistry {
         return processorOptional;
     }
 
+    public static Optional<JLSCCompression> getCompression(int id) {
+        return Optional.ofNullable(JLSCRegistry.compressions.get(id));
+    }
+
     public static <T> Optional<JLSCSerializer<T>> getSerializerFor(Class<T> type, JLSCValue value) {
         Optional<JLSCSerializer<T>> serializerOptional = (Optional) getSerializer(s -> type.isAssignableFrom(s.result()) && s.verifier().isValid(value));
         if (!serializerOptional.isPresent()) {
@@ -280,19 +318,14 @@ public class JLSCRegistry {
     }
 
     public static Optional<JLSCProcessor> getProcessorFor(Class target) {
-        Optional<JLSCProcessor> processorOptional = JLSCRegistry.processors.values().stream().filter(p -> p.canWrite(target)).findFirst();
-        if (!processorOptional.isPresent()) {
-            Optional<JLSCPreProcess> preProcessOptional = JLSCRegistry.preProcesses.stream().filter(p -> p.affects(target)).findFirst();
-            if (preProcessOptional.isPresent()) {
-                JLSCPreProcess preProcess = preProcessOptional.get();
-                preProcess.apply(target);
-                processorOptional = JLSCRegistry.processors.values().stream().filter(p -> p.canWrite(target)).findFirst();
-            }
-        }
-        return processorOptional;
+        return JLSCRegistry.processorDispatch.get(target);
     }
 
     public static Optional<JLSCProcessor> getProcessorFor(JLSCValue value) {
+        if (!value.isNull()) {
+            return JLSCRegistry.processorDispatch.get(value.type());
+        }
+
         Optional<JLSCProcessor> processorOptional = JLSCRegistry.processors.values().stream().filter(p -> p.canWrite(value)).findFirst();
         if (!processorOptional.isPresent()) {
             Optional<JLSCPreProcess> preProcessOptional = JLSCRegistry.preProcesses.stream().filter(p -> p.affects(value.type())).findFirst();
@@ -318,32 +351,109 @@ public class JLSCRegistry {
         return processorOptional;
     }
 
+    public static Optional<JLSCValue> tryRead(String read, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        Optional<JLSCValue> value = JLSCRegistry.tryReadAny(read, syntax, style);
+        if (!value.isPresent()) {
+            Optional<JLSCPreParse> preParseOptional = JLSCRegistry.preParses.stream().filter(p -> p.affects(read)).findFirst();
+            if (preParseOptional.isPresent()) {
+                JLSCPreParse preProcess = preParseOptional.get();
+                preProcess.apply(read);
+                value = JLSCRegistry.tryReadAny(read, syntax, style);
+            }
+        }
+        return value;
+    }
+
+    private static Optional<JLSCValue> tryReadAny(String read, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        for (JLSCProcessor processor : JLSCRegistry.processors.values()) {
+            Optional<JLSCValue> value = processor.tryRead(read, syntax, style);
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static boolean requiresSpecifier(JLSCProcessor processor, String written, JLSCSyntax syntax, JLSCStyle style) {
+        Optional<Set<String>> ambiguities = processor.ambiguities();
+        if (!ambiguities.isPresent()) {
+            return JLSCRegistry.getProcessorFor(written, syntax, style).orElse(null) != processor;
+        } else if (!processor.canRead(written, syntax, style)) {
+            return true;
+        }
+
+        for (JLSCProcessor other : JLSCRegistry.processors.values()) {
+            if (other == processor) {
+                return false;
+            } else if (ambiguities.get().contains(other.id()) && other.canRead(written, syntax, style)) {
+                return true;
+            }
+        }
+        return true;
+    }
+
     public static Optional<JLSCByteProcessor> getByteProcessorFor(Class target) {
-        Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(target)).findFirst();
+        return JLSCRegistry.byteProcessorDispatch.get(target);
+    }
+
+    public static Optional<JLSCByteProcessor> getByteProcessorFor(JLSCValue value) {
+        if (!value.isNull()) {
+            return JLSCRegistry.byteProcessorDispatch.get(value.type());
+        }
+
+        Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(value)).findFirst();
+        if (!processorOptional.isPresent()) {
+            Optional<JLSCPreProcess> preProcessOptional = JLSCRegistry.preProcesses.stream().filter(p -> p.affects(value.type())).findFirst();
+            if (preProcessOptional.isPresent()) {
+                JLSCPreProcess preProcess = preProcessOptional.get();
+                preProcess.apply(value.type());
+                processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(value)).findFirst();
+            }
+        }
+        return processorOptional;
+    }
+
+    private static Optional<JLSCProcessor> resolveProcessorFor(Class target) {
+        Optional<JLSCProcessor> processorOptional = JLSCRegistry.processors.values().stream().filter(p -> p.canWrite(target)).findFirst();
         if (!processorOptional.isPresent()) {
             Optional<JLSCPreProcess> preProcessOptional = JLSCRegistry.preProcesses.stream().filter(p -> p.affects(target)).findFirst();
             if (preProcessOptional.isPresent()) {
                 JLSCPreProcess preProcess = preProcessOptional.get();
                 preProcess.apply(target);
-                processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(target)).findFirst();
+                processorOptional = JLSCRegistry.processors.values().stream().filter(p -> p.canWrite(target)).findFirst();
             }
         }
         return processorOptional;
     }
 
-    public static Optional<JLSCByteProcessor> getByteProcessorFor(JLSCValue value) {
-        Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(value)).findFirst();
+    private static Optional<JLSCByteProcessor> resolveByteProcessorFor(Class target) {
+        Optional<JLSCByteProcessor> processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(target)).findFirst();
         if (!processorOptional.isPresent()) {
-            Optional<JLSCPreProcess> preProcessOptional = JLSCRegistry.preProcesses.stream().filter(p -> p.affects(value.type())).findFirst();
+            Optional<JLSCPreProcess> preProcessOptional = JLSCRegistry.preProcesses.stream().filter(p -> p.affects(target)).findFirst();
             if (preProcessOptional.isPresent()) {
                 JLSCPreProcess preProcess = preProcessOptional.get();
-                preProcess.apply(value.type());
-                processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(value)).findFirst();
+                preProcess.apply(target);
+                processorOptional = JLSCRegistry.byteProcessors.values().stream().filter(p -> p.canWriteBytes(target)).findFirst();
             }
         }
         return processorOptional;
     }
 
+    private static void invalidateDispatch() {
+        JLSCRegistry.processorDispatch = new ClassValue<Optional<JLSCProcessor>>() {
+            @Override
+            protected Optional<JLSCProcessor> computeValue(Class<?> type) {
+                return JLSCRegistry.resolveProcessorFor(type);
+            }
+        };
+        JLSCRegistry.byteProcessorDispatch = new ClassValue<Optional<JLSCByteProcessor>>() {
+            @Override
+            protected Optional<JLSCByteProcessor> computeValue(Class<?> type) {
+                return JLSCRegistry.resolveByteProcessorFor(type);
+            }
+        };
+    }
+
     public static Optional<JLSCSerializer> getSerializerFor(Object value) {
         Optional<JLSCSerializer> serializerOptional = JLSCRegistry.serializers.stream().filter(s -> s.canSerialize(value)).findFirst();
         if (!serializerOptional.isPresent() && value != null) {
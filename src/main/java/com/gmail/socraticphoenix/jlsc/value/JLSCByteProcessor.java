@@ -22,6 +22,7 @@
 package com.gmail.socraticphoenix.jlsc.value;
 
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
 import com.gmail.socraticphoenix.pio.ByteStream;
 
 public interface JLSCByteProcessor {
@@ -36,6 +37,30 @@ public interface JLSCByteProcessor {
 
     void write(ByteStream buffer, JLSCValue value) throws JLSCException;
 
+    default JLSCValue readBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        return this.readBytes(buffer);
+    }
+
+    default int size(JLSCValue value, JLSCByteFormat format) {
+        return this.size(value);
+    }
+
+    default void write(ByteStream buffer, JLSCValue value, JLSCByteFormat format) throws JLSCException {
+        this.write(buffer, value);
+    }
+
+    /**
+     * Moves the buffer past a value written by this processor. By default the value is read and discarded; processors
+     * which can find the end of a value without decoding it override this, so that skipped values are never built.
+     *
+     * @param buffer The buffer to skip the value in.
+     * @param format The format of the stream.
+     * @throws JLSCException If the value cannot be skipped.
+     */
+    default void skipBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        this.readBytes(buffer, format);
+    }
+
     String id();
 
 }
@@ -25,12 +25,19 @@ import com.gmail.socraticphoenix.jlsc.JLSCException;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
 
+import java.util.Optional;
+import java.util.Set;
+
 public interface JLSCProcessor {
 
     boolean canRead(String s, JLSCSyntax syntax, JLSCStyle style);
 
     JLSCValue read(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException;
 
+    default Optional<JLSCValue> tryRead(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        return this.canRead(s, syntax, style) ? Optional.of(this.read(s, syntax, style)) : Optional.empty();
+    }
+
     boolean canWrite(JLSCValue value);
 
     boolean canWrite(Class type);
@@ -39,4 +46,13 @@ public interface JLSCProcessor {
 
     String id();
 
+    /**
+     * Declares which processors may also read text written by this processor. An empty set means no other processor
+     * can claim the output; an empty optional means nothing is declared and the written text must be re-parsed against
+     * every processor to find out.
+     */
+    default Optional<Set<String>> ambiguities() {
+        return Optional.empty();
+    }
+
 }
@@ -43,20 +43,6 @@ public class JLSCValue extends CastableValue {
 
     public JLSCValue(Object value) {
         super(value);
-        this.properties = new ArrayList<>();
-        Optional<JLSCProcessor> processor = JLSCRegistry.getProcessorFor(this);
-        Optional<JLSCByteProcessor> byteProcessor = JLSCRegistry.getByteProcessorFor(this);
-        if (processor.isPresent()) {
-            this.typeSpecifier = new JLSCValueProperty(processor.get().id());
-        } else if (byteProcessor.isPresent()) {
-            this.typeSpecifier = new JLSCValueProperty(byteProcessor.get().id());
-        } else if (value instanceof JLSCCompound) {
-            this.typeSpecifier = new JLSCValueProperty("compound");
-        } else if (value instanceof JLSCArray) {
-            this.typeSpecifier = new JLSCValueProperty("array");
-        } else {
-            this.typeSpecifier = new JLSCValueProperty("deSerializedObject");
-        }
     }
 
     public static JLSCValue of(Object value) {
@@ -64,8 +50,11 @@ public class JLSCValue extends CastableValue {
     }
 
     public void absorbMetadata(JLSCValue other) {
-        this.properties.clear();
-        this.properties.addAll(other.properties);
+        if (this.properties != null || other.properties != null) {
+            List<JLSCValueProperty> properties = this.getProperties();
+            properties.clear();
+            properties.addAll(other.getProperties());
+        }
 
         if (this.directCast(JLSCCompound.class).isPresent() && other.directCast(JLSCCompound.class).isPresent()) {
             this.getAsCompound().get().absorbMetadata(other.getAsCompound().get());
@@ -146,10 +135,20 @@ public class JLSCValue extends CastableValue {
     }
 
     public List<JLSCValueProperty> getProperties() {
+        if (this.properties == null) {
+            this.properties = new ArrayList<>();
+        }
         return this.properties;
     }
 
+    public boolean hasProperties() {
+        return this.properties != null && !this.properties.isEmpty();
+    }
+
     public JLSCValueProperty getTypeSpecifier() {
+        if (this.typeSpecifier == null) {
+            this.typeSpecifier = this.resolveTypeSpecifier();
+        }
         return this.typeSpecifier;
     }
 
@@ -157,6 +156,23 @@ public class JLSCValue extends CastableValue {
         this.typeSpecifier = typeSpecifier;
     }
 
+    private JLSCValueProperty resolveTypeSpecifier() {
+        Optional<JLSCProcessor> processor = JLSCRegistry.getProcessorFor(this);
+        if (processor.isPresent()) {
+            return new JLSCValueProperty(processor.get().id());
+        }
+        Optional<JLSCByteProcessor> byteProcessor = JLSCRegistry.getByteProcessorFor(this);
+        if (byteProcessor.isPresent()) {
+            return new JLSCValueProperty(byteProcessor.get().id());
+        } else if (this.value instanceof JLSCCompound) {
+            return new JLSCValueProperty("compound");
+        } else if (this.value instanceof JLSCArray) {
+            return new JLSCValueProperty("array");
+        } else {
+            return new JLSCValueProperty("deSerializedObject");
+        }
+    }
+
     public <T> Optional<T> superCast(Class<T> type) {
         return super.getAs(type);
     }
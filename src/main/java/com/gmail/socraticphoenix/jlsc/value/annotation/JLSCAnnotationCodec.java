@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.value.annotation;
+
+import com.gmail.socraticphoenix.inversey.many.DangerousFunction1;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
+import com.gmail.socraticphoenix.jlsc.metadata.JLSCValueProperty;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.jlsc.value.processors.JLSCNamedCodec;
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Encodes the {@link Convert} members of an annotated type as a count followed by one interleaved value per member,
+ * reading them back straight into the conversion constructor and reflected fields.
+ */
+public class JLSCAnnotationCodec<T> implements JLSCNamedCodec<T> {
+    private List<DangerousFunction1<T, Object, JLSCException>> getters;
+    private List<List<JLSCValueProperty>> properties;
+    private DangerousFunction1<IntFunction<JLSCValue>, T, JLSCException> constructor;
+
+    public JLSCAnnotationCodec(List<DangerousFunction1<T, Object, JLSCException>> getters, List<List<JLSCValueProperty>> properties, DangerousFunction1<IntFunction<JLSCValue>, T, JLSCException> constructor) {
+        this.getters = getters;
+        this.properties = properties;
+        this.constructor = constructor;
+    }
+
+    @Override
+    public T read(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int size;
+        try {
+            size = format.readCount(buffer);
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read member amount (halted at: " + buffer.position() + ")", e);
+        }
+        JLSCValue[] values = new JLSCValue[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = JLSCReadWriteUtil.readValue(buffer, format, LinkedHashMap::new, ArrayList::new);
+        }
+        return this.constructor.invoke(i -> i >= 0 && i < values.length ? values[i] : JLSCValue.of(null));
+    }
+
+    @Override
+    public int size(T value, JLSCByteFormat format) throws JLSCException {
+        int len = format.countLength(this.getters.size());
+        for (int i = 0; i < this.getters.size(); i++) {
+            len += JLSCReadWriteUtil.length(this.member(value, i), format);
+        }
+        return len;
+    }
+
+    @Override
+    public void write(ByteStream buffer, T value, JLSCByteFormat format) throws JLSCException {
+        try {
+            format.writeCount(buffer, this.getters.size());
+        } catch (IOException e) {
+            throw new JLSCException("Unable to write member amount (halted at: " + buffer.position() + ")", e);
+        }
+        for (int i = 0; i < this.getters.size(); i++) {
+            JLSCReadWriteUtil.write(this.member(value, i), buffer, format);
+        }
+    }
+
+    private JLSCValue member(T value, int index) throws JLSCException {
+        JLSCValue member = JLSCValue.of(this.getters.get(index).invoke(value));
+        List<JLSCValueProperty> properties = this.properties.get(index);
+        if (!properties.isEmpty()) {
+            member.getProperties().addAll(properties);
+        }
+        return member;
+    }
+
+}
@@ -25,18 +25,31 @@ import com.gmail.socraticphoenix.inversey.many.DangerousConsumer2;
 import com.gmail.socraticphoenix.inversey.many.DangerousFunction1;
 import com.gmail.socraticphoenix.jlsc.JLSCArray;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.value.processors.JLSCNamedCodec;
 import com.gmail.socraticphoenix.jlsc.value.processors.JLSCNamedProcessor;
 
 import java.util.List;
+import java.util.Optional;
 
 public class JLSCAnnotationProcessor<T> extends JLSCNamedProcessor<T> {
     private List<DangerousConsumer2<T, JLSCArray, JLSCException>> write;
     private DangerousFunction1<JLSCArray, T, JLSCException> read;
+    private JLSCNamedCodec<T> codec;
 
-    public JLSCAnnotationProcessor(Class<T> type, String name, boolean strict, List<DangerousConsumer2<T, JLSCArray, JLSCException>> write, DangerousFunction1<JLSCArray, T, JLSCException> read) {
+    public JLSCAnnotationProcessor(Class<T> type, String name, boolean strict, List<DangerousConsumer2<T, JLSCArray, JLSCException>> write, DangerousFunction1<JLSCArray, T, JLSCException> read, JLSCNamedCodec<T> codec) {
         super(type, name, strict);
         this.write = write;
         this.read = read;
+        this.codec = codec;
+    }
+
+    public JLSCAnnotationProcessor(Class<T> type, String name, boolean strict, List<DangerousConsumer2<T, JLSCArray, JLSCException>> write, DangerousFunction1<JLSCArray, T, JLSCException> read) {
+        this(type, name, strict, write, read, null);
+    }
+
+    @Override
+    public Optional<JLSCNamedCodec<T>> getCodec() {
+        return Optional.ofNullable(this.codec);
     }
 
     @Override
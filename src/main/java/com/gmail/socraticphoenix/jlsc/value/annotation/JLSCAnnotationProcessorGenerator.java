@@ -32,6 +32,7 @@ import com.gmail.socraticphoenix.jlsc.metadata.Property;
 import com.gmail.socraticphoenix.jlsc.serialization.annotation.JLSCAnnotationSerializerGenerator;
 import com.gmail.socraticphoenix.jlsc.value.JLSCDualProcessor;
 import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.jlsc.value.processors.JLSCNamedCodec;
 import com.gmail.socraticphoenix.pio.Bytes;
 
 import java.lang.reflect.Constructor;
@@ -42,6 +43,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -52,7 +54,7 @@ public class JLSCAnnotationProcessorGenerator {
         if(JLSCAnnotationProcessorGenerator.validate) {
             JLSCAnnotationSerializerGenerator.validate(type);
         }
-        return new JLSCAnnotationProcessor<>(type, name, strict, JLSCAnnotationProcessorGenerator.write(type), JLSCAnnotationProcessorGenerator.read(type));
+        return new JLSCAnnotationProcessor<>(type, name, strict, JLSCAnnotationProcessorGenerator.write(type), JLSCAnnotationProcessorGenerator.read(type), JLSCAnnotationProcessorGenerator.codec(type));
     }
 
     public static <T> JLSCDualProcessor generate(Class<T> type) {
@@ -61,114 +63,113 @@ public class JLSCAnnotationProcessorGenerator {
 
     public static <T> List<DangerousConsumer2<T, JLSCArray, JLSCException>> write(Class<T> type) {
         List<DangerousConsumer2<T, JLSCArray, JLSCException>> list = new ArrayList<>();
+        List<Switch<Method, Field>> pieces = JLSCAnnotationProcessorGenerator.pieces(type);
+        for (int i = 0; i < pieces.size(); i++) {
+            int finalI = i;
+            DangerousFunction1<T, Object, JLSCException> getter = JLSCAnnotationProcessorGenerator.getter(type, pieces.get(i));
+            List<JLSCValueProperty> properties = JLSCAnnotationProcessorGenerator.properties(pieces.get(i));
+            list.add((t, a) -> {
+                a.add(getter.invoke(t));
+                a.addProperties(finalI, properties);
+            });
+        }
+
+        return list;
+    }
+
+    public static <T> DangerousFunction1<JLSCArray, T, JLSCException> read(Class<T> type) {
+        DangerousFunction1<IntFunction<JLSCValue>, T, JLSCException> constructor = JLSCAnnotationProcessorGenerator.constructor(type);
+        return a -> constructor.invoke(i -> a.get(i).orElse(JLSCValue.of(null)));
+    }
+
+    public static <T> JLSCNamedCodec<T> codec(Class<T> type) {
+        List<DangerousFunction1<T, Object, JLSCException>> getters = new ArrayList<>();
+        List<List<JLSCValueProperty>> properties = new ArrayList<>();
+        for (Switch<Method, Field> piece : JLSCAnnotationProcessorGenerator.pieces(type)) {
+            getters.add(JLSCAnnotationProcessorGenerator.getter(type, piece));
+            properties.add(JLSCAnnotationProcessorGenerator.properties(piece));
+        }
+        return new JLSCAnnotationCodec<>(getters, properties, JLSCAnnotationProcessorGenerator.constructor(type));
+    }
+
+    private static <T> List<Switch<Method, Field>> pieces(Class<T> type) {
         List<Switch<Method, Field>> pieces = new ArrayList<>();
         for(Field field : type.getDeclaredFields()) {
             if(field.isAnnotationPresent(Convert.class) && !Modifier.isStatic(field.getModifiers())) {
-                Convert convert = field.getAnnotation(Convert.class);
-                if(pieces.isEmpty()) {
-                    pieces.add(Switch.ofB(field));
-                } else {
-                    boolean added = false;
-                    for (int i = 0; i < pieces.size(); i++) {
-                        Switch<Method, Field> methodFieldSwitch = pieces.get(i);
-                        int ind = methodFieldSwitch.containsA() ? methodFieldSwitch.getA().get().getAnnotation(Convert.class).value() : methodFieldSwitch.getB().get().getAnnotation(Convert.class).value();
-                        if(ind > convert.value()) {
-                            pieces.add(i, Switch.ofB(field));
-                            added = true;
-                            break;
-                        }
-                    }
-                    if(!added) {
-                        pieces.add(Switch.ofB(field));
-                    }
-                }
+                JLSCAnnotationProcessorGenerator.insert(pieces, Switch.ofB(field), field.getAnnotation(Convert.class));
             }
         }
 
         for(Method method : type.getDeclaredMethods()) {
             if(method.isAnnotationPresent(Convert.class) && !Modifier.isStatic(method.getModifiers())) {
-                Convert convert = method.getAnnotation(Convert.class);
-                if(pieces.isEmpty()) {
-                    pieces.add(Switch.ofA(method));
-                } else {
-                    boolean added = false;
-                    for (int i = 0; i < pieces.size(); i++) {
-                        Switch<Method, Field> methodFieldSwitch = pieces.get(i);
-                        int ind = methodFieldSwitch.containsA() ? methodFieldSwitch.getA().get().getAnnotation(Convert.class).value() : methodFieldSwitch.getB().get().getAnnotation(Convert.class).value();
-                        if(ind > convert.value()) {
-                            pieces.add(i, Switch.ofA(method));
-                            added = true;
-                            break;
-                        }
-                    }
-                    if(!added) {
-                        pieces.add(Switch.ofA(method));
-                    }
-                }
+                JLSCAnnotationProcessorGenerator.insert(pieces, Switch.ofA(method), method.getAnnotation(Convert.class));
             }
         }
+        return pieces;
+    }
 
+    private static void insert(List<Switch<Method, Field>> pieces, Switch<Method, Field> piece, Convert convert) {
         for (int i = 0; i < pieces.size(); i++) {
-            Switch<Method, Field> piece = pieces.get(i);
-            int finalI = i;
-            if(piece.containsA()) {
-                Method method = piece.getA().get();
-                Convert convert = method.getAnnotation(Convert.class);
-                List<JLSCValueProperty> properties = new ArrayList<>();
-                Property[] propertyTemplates = convert.properties();
-                for (Property propertyTemplate : propertyTemplates) {
-                    JLSCValueProperty property = new JLSCValueProperty(propertyTemplate.name());
-                    for (String s : propertyTemplate.arguments()) {
-                        property.getArguments().add(s);
-                    }
-                    properties.add(property);
-                }
-                list.add((t, a) -> {
-                    boolean access = method.isAccessible();
-                    try {
-                        method.setAccessible(true);
-                        a.add(method.invoke(t));
-                        method.setAccessible(access);
-                        a.addProperties(finalI, properties);
-                    } catch (IllegalAccessException e) {
-                        method.setAccessible(access);
-                        throw new IllegalStateException("Unreachable code", e);
-                    } catch (InvocationTargetException e) {
-                        method.setAccessible(access);
-                        throw new JLSCException("Error while invoking method of class " + type.getName(), e);
-                    }
-                });
-            } else if (piece.containsB()) {
-                Field field = piece.getB().get();
-                Convert convert = field.getAnnotation(Convert.class);
-                List<JLSCValueProperty> properties = new ArrayList<>();
-                Property[] propertyTemplates = convert.properties();
-                for (Property propertyTemplate : propertyTemplates) {
-                    JLSCValueProperty property = new JLSCValueProperty(propertyTemplate.name());
-                    for (String s : propertyTemplate.arguments()) {
-                        property.getArguments().add(s);
-                    }
-                    properties.add(property);
-                }
-                list.add((t, a) -> {
-                    boolean access = field.isAccessible();
-                    try {
-                        field.setAccessible(true);
-                        a.add(field.get(t));
-                        field.setAccessible(access);
-                        a.addProperties(finalI, properties);
-                    } catch (IllegalAccessException e) {
-                        field.setAccessible(access);
-                        throw new IllegalStateException("Unreachable code", e);
-                    }
-                });
+            Switch<Method, Field> methodFieldSwitch = pieces.get(i);
+            int ind = methodFieldSwitch.containsA() ? methodFieldSwitch.getA().get().getAnnotation(Convert.class).value() : methodFieldSwitch.getB().get().getAnnotation(Convert.class).value();
+            if(ind > convert.value()) {
+                pieces.add(i, piece);
+                return;
             }
         }
+        pieces.add(piece);
+    }
 
-        return list;
+    private static List<JLSCValueProperty> properties(Switch<Method, Field> piece) {
+        Convert convert = piece.containsA() ? piece.getA().get().getAnnotation(Convert.class) : piece.getB().get().getAnnotation(Convert.class);
+        List<JLSCValueProperty> properties = new ArrayList<>();
+        Property[] propertyTemplates = convert.properties();
+        for (Property propertyTemplate : propertyTemplates) {
+            JLSCValueProperty property = new JLSCValueProperty(propertyTemplate.name());
+            for (String s : propertyTemplate.arguments()) {
+                property.getArguments().add(s);
+            }
+            properties.add(property);
+        }
+        return properties;
     }
 
-    public static <T> DangerousFunction1<JLSCArray, T, JLSCException> read(Class<T> type) {
+    private static <T> DangerousFunction1<T, Object, JLSCException> getter(Class<T> type, Switch<Method, Field> piece) {
+        if(piece.containsA()) {
+            Method method = piece.getA().get();
+            return t -> {
+                boolean access = method.isAccessible();
+                try {
+                    method.setAccessible(true);
+                    Object value = method.invoke(t);
+                    method.setAccessible(access);
+                    return value;
+                } catch (IllegalAccessException e) {
+                    method.setAccessible(access);
+                    throw new IllegalStateException("Unreachable code", e);
+                } catch (InvocationTargetException e) {
+                    method.setAccessible(access);
+                    throw new JLSCException("Error while invoking method of class " + type.getName(), e);
+                }
+            };
+        } else {
+            Field field = piece.getB().get();
+            return t -> {
+                boolean access = field.isAccessible();
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(t);
+                    field.setAccessible(access);
+                    return value;
+                } catch (IllegalAccessException e) {
+                    field.setAccessible(access);
+                    throw new IllegalStateException("Unreachable code", e);
+                }
+            };
+        }
+    }
+
+    private static <T> DangerousFunction1<IntFunction<JLSCValue>, T, JLSCException> constructor(Class<T> type) {
         Constructor<T> chosen = null;
         for (Constructor<?> constructor : type.getDeclaredConstructors()) {
             if (constructor.getParameters().length == 0 && chosen == null) {
@@ -199,7 +200,7 @@ public class JLSCAnnotationProcessorGenerator {
             Object[] params = new Object[indices.length];
             for (int i = 0; i < indices.length; i++) {
                 int index = indices[i];
-                params[i] = a.get(index).orElse(JLSCValue.of(null)).getAs(types[i], null);
+                params[i] = a.apply(index).getAs(types[i], null);
             }
             boolean access = finalChosen.isAccessible();
             finalChosen.setAccessible(true);
@@ -213,7 +214,7 @@ public class JLSCAnnotationProcessorGenerator {
                     boolean faccess = field.isAccessible();
                     try {
                         field.setAccessible(true);
-                        field.set(val, a.get(key).orElse(JLSCValue.of(null)).getAs(field.getType(), null));
+                        field.set(val, a.apply(key).getAs(field.getType(), null));
                         field.setAccessible(faccess);
                     } catch (IllegalAccessException e) {
                         field.setAccessible(faccess);
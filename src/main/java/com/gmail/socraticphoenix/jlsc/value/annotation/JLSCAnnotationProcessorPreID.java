@@ -23,7 +23,6 @@ package com.gmail.socraticphoenix.jlsc.value.annotation;
 
 import com.gmail.socraticphoenix.jlsc.registry.JLSCPreID;
 import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
-import com.gmail.socraticphoenix.mirror.Reflections;
 
 import java.util.Optional;
 
@@ -31,13 +30,13 @@ public class JLSCAnnotationProcessorPreID implements JLSCPreID {
 
     @Override
     public boolean affects(String val) {
-        Optional<Class> classOptional = Reflections.resolveClass(val);
+        Optional<Class> classOptional = JLSCClassResolver.resolve(val);
         return classOptional.isPresent() && classOptional.get().isAnnotationPresent(Convertible.class);
     }
 
     @Override
     public void apply(String val) {
-        JLSCRegistry.register(JLSCAnnotationProcessorGenerator.generate(Reflections.resolveClass(val).get()));
+        JLSCRegistry.register(JLSCAnnotationProcessorGenerator.generate(JLSCClassResolver.resolve(val).get()));
     }
 
 }
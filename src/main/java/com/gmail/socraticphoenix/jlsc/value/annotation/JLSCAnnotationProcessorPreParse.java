@@ -23,10 +23,8 @@ package com.gmail.socraticphoenix.jlsc.value.annotation;
 
 import com.gmail.socraticphoenix.jlsc.registry.JLSCPreParse;
 import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
-import com.gmail.socraticphoenix.mirror.Reflections;
 
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 public class JLSCAnnotationProcessorPreParse implements JLSCPreParse {
 
@@ -42,7 +40,8 @@ public class JLSCAnnotationProcessorPreParse implements JLSCPreParse {
     }
 
     private Optional<Class> isolate(String val) {
-        return Reflections.resolveClass(val.trim().split(Pattern.quote("("), 2)[0].trim());
+        int paren = val.indexOf('(');
+        return JLSCClassResolver.resolve((paren == -1 ? val : val.substring(0, paren)).trim());
     }
 
 }
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.value.annotation;
+
+import com.gmail.socraticphoenix.mirror.Reflections;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A bounded cache of class name resolutions, including names which could not be resolved. Entries are tied to the
+ * context class loader they were resolved under, and the whole cache can be dropped with {@link #invalidate()} after
+ * new classes become visible.
+ */
+public final class JLSCClassResolver {
+    public static final int MAX_ENTRIES = 1024;
+
+    private static final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return this.size() > JLSCClassResolver.MAX_ENTRIES;
+        }
+    };
+
+    private JLSCClassResolver() {
+    }
+
+    public static Optional<Class> resolve(String name) {
+        if (!JLSCClassResolver.isClassName(name)) {
+            return Optional.empty();
+        }
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        synchronized (JLSCClassResolver.cache) {
+            Entry entry = JLSCClassResolver.cache.get(name);
+            if (entry != null && entry.loader == loader) {
+                return entry.type;
+            }
+        }
+
+        Optional<Class> type = Reflections.resolveClass(name);
+        synchronized (JLSCClassResolver.cache) {
+            JLSCClassResolver.cache.put(name, new Entry(loader, type));
+        }
+        return type;
+    }
+
+    public static void invalidate() {
+        synchronized (JLSCClassResolver.cache) {
+            JLSCClassResolver.cache.clear();
+        }
+    }
+
+    private static boolean isClassName(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isJavaIdentifierPart(c) && c != '.' && c != '[' && c != ']') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Entry {
+        private ClassLoader loader;
+        private Optional<Class> type;
+
+        public Entry(ClassLoader loader, Optional<Class> type) {
+            this.loader = loader;
+            this.type = type;
+        }
+
+    }
+
+}
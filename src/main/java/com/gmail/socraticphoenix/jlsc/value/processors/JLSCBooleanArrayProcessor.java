@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.value.processors;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteInput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteView;
+import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
+import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
+import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
+import com.gmail.socraticphoenix.jlsc.value.JLSCDualProcessor;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.parse.Strings;
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A processor for {@code boolean[]}, which packs eight elements into each byte, least significant bit first. In text,
+ * arrays are written as {@code booleans(true,false)}. Streamed arrays are read in chunks, like those of {@link
+ * JLSCPrimitiveArrayProcessor}.
+ */
+public class JLSCBooleanArrayProcessor implements JLSCDualProcessor {
+    private static final int CHUNK_SIZE = 8192;
+
+    @Override
+    public boolean canRead(String s, JLSCSyntax syntax, JLSCStyle style) {
+        return s.startsWith("booleans(") && s.endsWith(")");
+    }
+
+    @Override
+    public JLSCValue read(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        return this.tryRead(s, syntax, style).orElseThrow(() -> new JLSCException("Unable to read \"" + Strings.escape(s) + "\" as " + this.id()));
+    }
+
+    @Override
+    public Optional<JLSCValue> tryRead(String s, JLSCSyntax syntax, JLSCStyle style) {
+        if (!this.canRead(s, syntax, style)) {
+            return Optional.empty();
+        }
+        String content = s.substring("booleans(".length(), s.length() - 1).trim();
+        if (content.isEmpty()) {
+            return Optional.of(JLSCValue.of(new boolean[0]));
+        }
+
+        int length = 1;
+        for (int i = 0; i < content.length(); i++) {
+            if (content.charAt(i) == ',') {
+                length++;
+            }
+        }
+        boolean[] result = new boolean[length];
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            int end = content.indexOf(',', start);
+            String piece = content.substring(start, end == -1 ? content.length() : end).trim();
+            if (piece.equalsIgnoreCase("true")) {
+                result[i] = true;
+            } else if (!piece.equalsIgnoreCase("false")) {
+                return Optional.empty();
+            }
+            start = end + 1;
+        }
+        return Optional.of(JLSCValue.of(result));
+    }
+
+    @Override
+    public boolean canWrite(JLSCValue value) {
+        return this.canWrite(value.type());
+    }
+
+    @Override
+    public boolean canWrite(Class type) {
+        return type == boolean[].class;
+    }
+
+    @Override
+    public String write(JLSCValue value, int indent, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        boolean[] array = (boolean[]) value.rawValue();
+        StringBuilder builder = new StringBuilder(10 + array.length * 6).append("booleans(");
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(array[i]);
+        }
+        return builder.append(')').toString();
+    }
+
+    @Override
+    public JLSCValue readBytes(ByteStream buffer) throws JLSCException {
+        int length;
+        try {
+            length = buffer.getInt();
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read array length (halted at: " + buffer.position() + ")", e);
+        }
+        long bytes = JLSCBooleanArrayProcessor.packedLength(length);
+        boolean streamed = buffer instanceof JLSCByteInput;
+        if (length < 0 || (!streamed && bytes > buffer.remaining())) {
+            throw new JLSCException("Incorrect array length " + length + " (halted at: " + buffer.position() + ")");
+        }
+
+        boolean[] array;
+        try {
+            if (buffer instanceof JLSCByteView) {
+                array = new boolean[length];
+                JLSCBooleanArrayProcessor.unpack(((JLSCByteView) buffer).take((int) bytes), array, 0, length);
+            } else if (streamed) {
+                ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(bytes, JLSCBooleanArrayProcessor.CHUNK_SIZE));
+                int perChunk = chunk.capacity() * Byte.SIZE;
+                array = new boolean[Math.min(length, perChunk)];
+                for (int offset = 0; offset < length; ) {
+                    int amount = Math.min(perChunk, length - offset);
+                    if (offset + amount > array.length) {
+                        array = Arrays.copyOf(array, (int) Math.min(length, Math.max(offset + amount, 2L * array.length)));
+                    }
+                    chunk.clear();
+                    chunk.limit((int) JLSCBooleanArrayProcessor.packedLength(amount));
+                    ((JLSCByteInput) buffer).get(chunk);
+                    chunk.flip();
+                    JLSCBooleanArrayProcessor.unpack(chunk, array, offset, amount);
+                    offset += amount;
+                }
+            } else {
+                array = new boolean[length];
+                for (int i = 0; i < bytes; i++) {
+                    int b = buffer.get();
+                    int end = Math.min(Byte.SIZE, length - i * Byte.SIZE);
+                    for (int j = 0; j < end; j++) {
+                        array[i * Byte.SIZE + j] = (b & (1 << j)) != 0;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read array (halted at: " + buffer.position() + ")", e);
+        }
+        return JLSCValue.of(array);
+    }
+
+    @Override
+    public void skipBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int length;
+        try {
+            length = buffer.getInt();
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read array length (halted at: " + buffer.position() + ")", e);
+        }
+        if (length < 0) {
+            throw new JLSCException("Incorrect array length " + length + " (halted at: " + buffer.position() + ")");
+        }
+        JLSCReadWriteUtil.skip(buffer, JLSCBooleanArrayProcessor.packedLength(length));
+    }
+
+    @Override
+    public boolean canWriteBytes(JLSCValue value) {
+        return this.canWriteBytes(value.type());
+    }
+
+    @Override
+    public boolean canWriteBytes(Class type) {
+        return type == boolean[].class;
+    }
+
+    @Override
+    public int size(JLSCValue value) {
+        return Integer.BYTES + (int) JLSCBooleanArrayProcessor.packedLength(((boolean[]) value.rawValue()).length);
+    }
+
+    @Override
+    public void write(ByteStream buffer, JLSCValue value) throws JLSCException {
+        boolean[] array = (boolean[]) value.rawValue();
+        try {
+            buffer.putInt(array.length);
+            int bytes = (int) JLSCBooleanArrayProcessor.packedLength(array.length);
+            for (int i = 0; i < bytes; i++) {
+                int b = 0;
+                int end = Math.min(Byte.SIZE, array.length - i * Byte.SIZE);
+                for (int j = 0; j < end; j++) {
+                    if (array[i * Byte.SIZE + j]) {
+                        b |= 1 << j;
+                    }
+                }
+                buffer.put((byte) b);
+            }
+        } catch (IOException e) {
+            throw new JLSCException("Unable to write array (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    @Override
+    public String id() {
+        return "booleans";
+    }
+
+    @Override
+    public Optional<Set<String>> ambiguities() {
+        return Optional.of(Collections.emptySet());
+    }
+
+    private static long packedLength(int length) {
+        return (length + (long) Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    private static void unpack(ByteBuffer packed, boolean[] array, int offset, int length) {
+        int start = packed.position();
+        for (int i = 0; i < length; i++) {
+            array[offset + i] = (packed.get(start + (i >>> 3)) & (1 << (i & 7))) != 0;
+        }
+    }
+
+}
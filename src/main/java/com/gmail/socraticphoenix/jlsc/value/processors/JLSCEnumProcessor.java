@@ -23,10 +23,19 @@ package com.gmail.socraticphoenix.jlsc.value.processors;
 
 import com.gmail.socraticphoenix.jlsc.JLSCArray;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
 import com.gmail.socraticphoenix.mirror.Reflections;
+import com.gmail.socraticphoenix.pio.ByteStream;
 
+import java.io.IOException;
 import java.util.NoSuchElementException;
 
+/**
+ * The processor for enum constants. Version 2 byte streams store the declaring class and the constant name through
+ * the stream's name dictionary, so each distinct class and constant is written in full only once per stream; legacy
+ * streams keep the named processor encoding.
+ */
 public class JLSCEnumProcessor extends JLSCNamedProcessor<Enum> {
 
     public JLSCEnumProcessor() {
@@ -47,4 +56,48 @@ public class JLSCEnumProcessor extends JLSCNamedProcessor<Enum> {
             throw new JLSCException("Expected enum(class, name), but got something else", e);
         }
     }
+
+    @Override
+    public JLSCValue readBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (format.isLegacy()) {
+            return this.readBytes(buffer);
+        }
+        String type;
+        String name;
+        try {
+            type = format.readName(buffer);
+            name = format.readName(buffer);
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read enum constant (halted at: " + buffer.position() + ")", e);
+        }
+        try {
+            return JLSCValue.of(Enum.valueOf(Reflections.forName(type), name));
+        } catch (ClassNotFoundException | IllegalArgumentException e) {
+            throw new JLSCException("Unable to resolve enum constant " + type + "." + name + " (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    @Override
+    public int size(JLSCValue value, JLSCByteFormat format) {
+        if (format.isLegacy()) {
+            return this.size(value);
+        }
+        Enum constant = value.getAs(Enum.class).get();
+        return format.nameLength(constant.getDeclaringClass().getName()) + format.nameLength(constant.name());
+    }
+
+    @Override
+    public void write(ByteStream buffer, JLSCValue value, JLSCByteFormat format) throws JLSCException {
+        if (format.isLegacy()) {
+            this.write(buffer, value);
+            return;
+        }
+        Enum constant = value.getAs(Enum.class).get();
+        try {
+            format.writeName(buffer, constant.getDeclaringClass().getName());
+            format.writeName(buffer, constant.name());
+        } catch (IOException e) {
+            throw new JLSCException("Unable to write enum constant (halted at: " + buffer.position() + ")", e);
+        }
+    }
 }
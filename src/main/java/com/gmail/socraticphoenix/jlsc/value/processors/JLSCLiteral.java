@@ -0,0 +1,293 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.value.processors;
+
+/**
+ * The lexical classification of a raw value, computed in a single scan and without relying on exceptions. The string
+ * most recently classified on each thread is remembered, so every primitive processor asked about the same value shares
+ * one scan, and parser threads never evict each other's results.
+ */
+public final class JLSCLiteral {
+    private static final ThreadLocal<JLSCLiteral> last = new ThreadLocal<>();
+
+    private String src;
+    private Type type;
+    private long longValue;
+    private boolean floatRange;
+    private boolean bigDecimal;
+
+    private JLSCLiteral(String src, Type type, long longValue, boolean floatRange, boolean bigDecimal) {
+        this.src = src;
+        this.type = type;
+        this.longValue = longValue;
+        this.floatRange = floatRange;
+        this.bigDecimal = bigDecimal;
+    }
+
+    public static JLSCLiteral of(String s) {
+        JLSCLiteral literal = JLSCLiteral.last.get();
+        if (literal == null || literal.src != s) {
+            literal = JLSCLiteral.classify(s);
+            JLSCLiteral.last.set(literal);
+        }
+        return literal;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public long longValue() {
+        return this.longValue;
+    }
+
+    public boolean isNull() {
+        return this.type == Type.NULL;
+    }
+
+    public boolean isBoolean() {
+        return this.type == Type.BOOLEAN;
+    }
+
+    public boolean isIntegral() {
+        return this.type.ordinal() >= Type.BYTE.ordinal() && this.type.ordinal() <= Type.BIG_INTEGER.ordinal();
+    }
+
+    public boolean isNumeric() {
+        return this.type.ordinal() >= Type.BYTE.ordinal();
+    }
+
+    public boolean isByte() {
+        return this.type == Type.BYTE;
+    }
+
+    public boolean isShort() {
+        return this.isIntegral() && this.type.ordinal() <= Type.SHORT.ordinal();
+    }
+
+    public boolean isInteger() {
+        return this.isIntegral() && this.type.ordinal() <= Type.INTEGER.ordinal();
+    }
+
+    public boolean isLong() {
+        return this.isIntegral() && this.type.ordinal() <= Type.LONG.ordinal();
+    }
+
+    public boolean isBigInteger() {
+        return this.isIntegral();
+    }
+
+    public boolean isFloat() {
+        return this.isNumeric() && this.floatRange;
+    }
+
+    public boolean isDouble() {
+        return this.isNumeric();
+    }
+
+    public boolean isBigDecimal() {
+        return this.bigDecimal;
+    }
+
+    private static JLSCLiteral classify(String s) {
+        int len = s.length();
+        if (len == 0) {
+            return new JLSCLiteral(s, Type.NONE, 0, false, false);
+        } else if (s.equals("null")) {
+            return new JLSCLiteral(s, Type.NULL, 0, false, false);
+        } else if (s.equalsIgnoreCase("true") || s.equalsIgnoreCase("false")) {
+            return new JLSCLiteral(s, Type.BOOLEAN, 0, false, false);
+        } else if (s.charAt(0) <= ' ' || s.charAt(len - 1) <= ' ') {
+            JLSCLiteral trimmed = JLSCLiteral.classify(s.trim());
+            if (trimmed.isNumeric()) {
+                return new JLSCLiteral(s, trimmed.floatRange ? Type.FLOAT : Type.DOUBLE, 0, trimmed.floatRange, false);
+            }
+            return JLSCLiteral.none(s);
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        if (s.startsWith("NaN", i) || s.startsWith("Infinity", i)) {
+            int end = i + (s.charAt(i) == 'N' ? 3 : 8);
+            return end == len ? new JLSCLiteral(s, Type.DOUBLE, 0, false, false) : JLSCLiteral.none(s);
+        } else if (s.startsWith("0x", i) || s.startsWith("0X", i)) {
+            return JLSCLiteral.hex(s, i + 2);
+        }
+
+        long value = 0;
+        boolean overflow = false;
+        int intDigits = 0;
+        while (i < len && JLSCLiteral.isDigit(s.charAt(i))) {
+            int digit = s.charAt(i) - '0';
+            if (!overflow) {
+                if (value < (Long.MIN_VALUE + digit) / 10) {
+                    overflow = true;
+                } else {
+                    value = value * 10 - digit;
+                }
+            }
+            intDigits++;
+            i++;
+        }
+
+        if (i == len) {
+            if (intDigits == 0) {
+                return JLSCLiteral.none(s);
+            } else if (overflow || (!negative && value == Long.MIN_VALUE)) {
+                return new JLSCLiteral(s, Type.BIG_INTEGER, 0, JLSCLiteral.inFloatRange(Double.parseDouble(s)), true);
+            }
+            long result = negative ? value : -value;
+            Type type;
+            if (result >= Byte.MIN_VALUE && result <= Byte.MAX_VALUE) {
+                type = Type.BYTE;
+            } else if (result >= Short.MIN_VALUE && result <= Short.MAX_VALUE) {
+                type = Type.SHORT;
+            } else if (result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE) {
+                type = Type.INTEGER;
+            } else {
+                type = Type.LONG;
+            }
+            return new JLSCLiteral(s, type, result, true, true);
+        }
+
+        int fractionDigits = 0;
+        if (s.charAt(i) == '.') {
+            i++;
+            while (i < len && JLSCLiteral.isDigit(s.charAt(i))) {
+                fractionDigits++;
+                i++;
+            }
+        }
+        if (intDigits + fractionDigits == 0) {
+            return JLSCLiteral.none(s);
+        }
+
+        boolean exponentInRange = true;
+        if (i < len && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < len && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            long exponent = 0;
+            while (i < len && JLSCLiteral.isDigit(s.charAt(i))) {
+                if (exponent <= Integer.MAX_VALUE) {
+                    exponent = exponent * 10 + (s.charAt(i) - '0');
+                }
+                exponentDigits++;
+                i++;
+            }
+            if (exponentDigits == 0) {
+                return JLSCLiteral.none(s);
+            }
+            exponentInRange = exponent <= Integer.MAX_VALUE;
+        }
+
+        boolean suffixed = false;
+        if (i < len && "fFdD".indexOf(s.charAt(i)) != -1) {
+            suffixed = true;
+            i++;
+        }
+        if (i != len) {
+            return JLSCLiteral.none(s);
+        }
+
+        double result = Double.parseDouble(s);
+        boolean floatRange = JLSCLiteral.inFloatRange(result);
+        return new JLSCLiteral(s, floatRange ? Type.FLOAT : Type.DOUBLE, 0, floatRange, !suffixed && exponentInRange);
+    }
+
+    private static JLSCLiteral hex(String s, int i) {
+        int len = s.length();
+        int digits = 0;
+        while (i < len && JLSCLiteral.isHexDigit(s.charAt(i))) {
+            digits++;
+            i++;
+        }
+        if (i < len && s.charAt(i) == '.') {
+            i++;
+            while (i < len && JLSCLiteral.isHexDigit(s.charAt(i))) {
+                digits++;
+                i++;
+            }
+        }
+        if (digits == 0 || i == len || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+            return JLSCLiteral.none(s);
+        }
+
+        i++;
+        if (i < len && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        int exponentDigits = 0;
+        while (i < len && JLSCLiteral.isDigit(s.charAt(i))) {
+            exponentDigits++;
+            i++;
+        }
+        if (i < len && "fFdD".indexOf(s.charAt(i)) != -1) {
+            i++;
+        }
+        if (exponentDigits == 0 || i != len) {
+            return JLSCLiteral.none(s);
+        }
+
+        double result = Double.parseDouble(s);
+        boolean floatRange = JLSCLiteral.inFloatRange(result);
+        return new JLSCLiteral(s, floatRange ? Type.FLOAT : Type.DOUBLE, 0, floatRange, false);
+    }
+
+    private static JLSCLiteral none(String s) {
+        return new JLSCLiteral(s, Type.NONE, 0, false, false);
+    }
+
+    private static boolean inFloatRange(double val) {
+        return -Float.MAX_VALUE <= val && val <= Float.MAX_VALUE;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return JLSCLiteral.isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    public enum Type {
+        NONE,
+        NULL,
+        BOOLEAN,
+        BYTE,
+        SHORT,
+        INTEGER,
+        LONG,
+        BIG_INTEGER,
+        FLOAT,
+        DOUBLE
+    }
+
+}
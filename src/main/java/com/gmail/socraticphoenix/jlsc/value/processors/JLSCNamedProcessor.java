@@ -23,6 +23,7 @@ package com.gmail.socraticphoenix.jlsc.value.processors;
 
 import com.gmail.socraticphoenix.jlsc.JLSCArray;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
 import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
@@ -33,7 +34,10 @@ import com.gmail.socraticphoenix.parse.Strings;
 import com.gmail.socraticphoenix.pio.ByteStream;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public abstract class JLSCNamedProcessor<T> implements JLSCDualProcessor {
@@ -61,6 +65,10 @@ public abstract class JLSCNamedProcessor<T> implements JLSCDualProcessor {
 
     protected abstract T read(JLSCArray src) throws JLSCException;
 
+    public Optional<JLSCNamedCodec<T>> getCodec() {
+        return Optional.empty();
+    }
+
     @Override
     public JLSCValue readBytes(ByteStream buffer) throws JLSCException {
         JLSCArray array = JLSCReadWriteUtil.readArray(buffer, LinkedHashMap::new, ArrayList::new);
@@ -96,11 +104,48 @@ public abstract class JLSCNamedProcessor<T> implements JLSCDualProcessor {
         JLSCReadWriteUtil.write(array, buffer);
     }
 
+    @Override
+    public JLSCValue readBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        Optional<JLSCNamedCodec<T>> codec = this.getCodec();
+        if (format.isLegacy() || !codec.isPresent()) {
+            return this.readBytes(buffer);
+        }
+        return JLSCValue.of(codec.get().read(buffer, format));
+    }
+
+    @Override
+    public int size(JLSCValue value, JLSCByteFormat format) {
+        Optional<JLSCNamedCodec<T>> codec = this.getCodec();
+        if (format.isLegacy() || !codec.isPresent()) {
+            return this.size(value);
+        }
+        try {
+            return codec.get().size(value.getAs(this.type).get(), format);
+        } catch (JLSCException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void write(ByteStream buffer, JLSCValue value, JLSCByteFormat format) throws JLSCException {
+        Optional<JLSCNamedCodec<T>> codec = this.getCodec();
+        if (format.isLegacy() || !codec.isPresent()) {
+            this.write(buffer, value);
+        } else {
+            codec.get().write(buffer, value.getAs(this.type).get(), format);
+        }
+    }
+
     @Override
     public String id() {
         return this.name;
     }
 
+    @Override
+    public Optional<Set<String>> ambiguities() {
+        return Optional.of(Collections.emptySet());
+    }
+
     @Override
     public boolean canRead(String s, JLSCSyntax syntax, JLSCStyle style) {
         return s.startsWith(this.name) && s.replaceFirst(Pattern.quote(this.name), "").trim().startsWith("(") && s.endsWith(")");
@@ -28,6 +28,10 @@ import com.gmail.socraticphoenix.jlsc.value.JLSCDualProcessor;
 import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
 import com.gmail.socraticphoenix.pio.ByteStream;
 
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
 public class JLSCNullProcessor implements JLSCDualProcessor {
 
     @Override
@@ -60,9 +64,14 @@ public class JLSCNullProcessor implements JLSCDualProcessor {
         return "null";
     }
 
+    @Override
+    public Optional<Set<String>> ambiguities() {
+        return Optional.of(Collections.emptySet());
+    }
+
     @Override
     public boolean canRead(String s, JLSCSyntax syntax, JLSCStyle style) {
-        return s.equals("null");
+        return JLSCLiteral.of(s).isNull();
     }
 
     @Override
@@ -0,0 +1,379 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.value.processors;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteInput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteOutput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteView;
+import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
+import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
+import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
+import com.gmail.socraticphoenix.jlsc.value.JLSCDualProcessor;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.parse.Strings;
+import com.gmail.socraticphoenix.pio.ByteStream;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A processor for arrays of a primitive type, such as {@code int[]} or {@code double[]}. Elements are copied in bulk
+ * through the typed views of a {@link ByteBuffer} rather than one {@link JLSCValue} at a time, and are written to text
+ * in the compact form {@code ints(1,2,3)}, or {@code chars("abc")} for characters. When reading from a stream whose
+ * length is unknown, the array grows as elements arrive, so a corrupt length cannot force a large allocation.
+ */
+public class JLSCPrimitiveArrayProcessor implements JLSCDualProcessor {
+    private static final int CHUNK_SIZE = 8192;
+
+    private Class array;
+    private Class component;
+    private int elementSize;
+    private String id;
+
+    public JLSCPrimitiveArrayProcessor(Class array, String id) {
+        this.array = array;
+        this.component = array.getComponentType();
+        this.elementSize = JLSCPrimitiveArrayProcessor.sizeOf(this.component);
+        this.id = id;
+    }
+
+    @Override
+    public boolean canRead(String s, JLSCSyntax syntax, JLSCStyle style) {
+        return s.length() >= this.id.length() + 2 && s.startsWith(this.id) && s.charAt(this.id.length()) == '(' && s.endsWith(")");
+    }
+
+    @Override
+    public JLSCValue read(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        return this.tryRead(s, syntax, style).orElseThrow(() -> new JLSCException("Unable to read \"" + Strings.escape(s) + "\" as " + this.id()));
+    }
+
+    @Override
+    public Optional<JLSCValue> tryRead(String s, JLSCSyntax syntax, JLSCStyle style) {
+        if (!this.canRead(s, syntax, style)) {
+            return Optional.empty();
+        }
+        String content = s.substring(this.id.length() + 1, s.length() - 1).trim();
+        if (this.component == char.class) {
+            if (content.length() < 2 || !content.startsWith("\"") || !content.endsWith("\"")) {
+                return Optional.empty();
+            }
+            return Optional.of(JLSCValue.of(Strings.deEscape(Strings.cutFirst(Strings.cutLast(content))).toCharArray()));
+        } else if (content.isEmpty()) {
+            return Optional.of(JLSCValue.of(Array.newInstance(this.component, 0)));
+        }
+
+        int length = 1;
+        for (int i = 0; i < content.length(); i++) {
+            if (content.charAt(i) == ',') {
+                length++;
+            }
+        }
+        Object result = Array.newInstance(this.component, length);
+        int start = 0;
+        try {
+            for (int i = 0; i < length; i++) {
+                int end = content.indexOf(',', start);
+                String piece = content.substring(start, end == -1 ? content.length() : end).trim();
+                this.set(result, i, piece);
+                start = end + 1;
+            }
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        return Optional.of(JLSCValue.of(result));
+    }
+
+    @Override
+    public boolean canWrite(JLSCValue value) {
+        return this.canWrite(value.type());
+    }
+
+    @Override
+    public boolean canWrite(Class type) {
+        return type == this.array;
+    }
+
+    @Override
+    public String write(JLSCValue value, int indent, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        Object array = value.rawValue();
+        if (this.component == char.class) {
+            return this.id + "(\"" + Strings.escape(new String((char[]) array)) + "\")";
+        }
+
+        int length = Array.getLength(array);
+        StringBuilder builder = new StringBuilder(this.id.length() + 2 + length * (this.elementSize + 1)).append(this.id).append('(');
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            this.append(builder, array, i);
+        }
+        return builder.append(')').toString();
+    }
+
+    @Override
+    public JLSCValue readBytes(ByteStream buffer) throws JLSCException {
+        int length;
+        try {
+            length = buffer.getInt();
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read array length (halted at: " + buffer.position() + ")", e);
+        }
+        boolean streamed = buffer instanceof JLSCByteInput;
+        if (length < 0 || (!streamed && (long) length * this.elementSize > buffer.remaining())) {
+            throw new JLSCException("Incorrect array length " + length + " (halted at: " + buffer.position() + ")");
+        }
+
+        Object array;
+        try {
+            if (buffer instanceof JLSCByteView) {
+                array = Array.newInstance(this.component, length);
+                this.copyIn(((JLSCByteView) buffer).take(length * this.elementSize), array, 0, length);
+            } else if (streamed) {
+                ByteBuffer chunk = ByteBuffer.allocate((int) Math.min((long) length * this.elementSize, JLSCPrimitiveArrayProcessor.CHUNK_SIZE));
+                int perChunk = chunk.capacity() / this.elementSize;
+                array = Array.newInstance(this.component, perChunk);
+                for (int offset = 0; offset < length; offset += perChunk) {
+                    int amount = Math.min(perChunk, length - offset);
+                    if (offset + amount > Array.getLength(array)) {
+                        array = this.grow(array, (int) Math.min(length, Math.max(offset + amount, 2L * Array.getLength(array))));
+                    }
+                    chunk.clear();
+                    chunk.limit(amount * this.elementSize);
+                    ((JLSCByteInput) buffer).get(chunk);
+                    chunk.flip();
+                    this.copyIn(chunk, array, offset, amount);
+                }
+            } else {
+                array = Array.newInstance(this.component, length);
+                for (int i = 0; i < length; i++) {
+                    this.get(buffer, array, i);
+                }
+            }
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read array (halted at: " + buffer.position() + ")", e);
+        }
+        return JLSCValue.of(array);
+    }
+
+    @Override
+    public void skipBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        int length;
+        try {
+            length = buffer.getInt();
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read array length (halted at: " + buffer.position() + ")", e);
+        }
+        if (length < 0) {
+            throw new JLSCException("Incorrect array length " + length + " (halted at: " + buffer.position() + ")");
+        }
+        JLSCReadWriteUtil.skip(buffer, (long) length * this.elementSize);
+    }
+
+    @Override
+    public boolean canWriteBytes(JLSCValue value) {
+        return this.canWriteBytes(value.type());
+    }
+
+    @Override
+    public boolean canWriteBytes(Class type) {
+        return type == this.array;
+    }
+
+    @Override
+    public int size(JLSCValue value) {
+        return Integer.BYTES + Array.getLength(value.rawValue()) * this.elementSize;
+    }
+
+    @Override
+    public void write(ByteStream buffer, JLSCValue value) throws JLSCException {
+        Object array = value.rawValue();
+        int length = Array.getLength(array);
+        try {
+            buffer.putInt(length);
+            if (buffer instanceof JLSCByteOutput || buffer instanceof JLSCByteView) {
+                ByteBuffer chunk = ByteBuffer.allocate(Math.min(length * this.elementSize, JLSCPrimitiveArrayProcessor.CHUNK_SIZE));
+                int perChunk = Math.max(chunk.capacity() / this.elementSize, 1);
+                for (int offset = 0; offset < length; offset += perChunk) {
+                    int amount = Math.min(perChunk, length - offset);
+                    chunk.clear();
+                    chunk.limit(amount * this.elementSize);
+                    this.copyOut(array, offset, amount, chunk);
+                    if (buffer instanceof JLSCByteOutput) {
+                        ((JLSCByteOutput) buffer).put(chunk);
+                    } else {
+                        ((JLSCByteView) buffer).put(chunk);
+                    }
+                }
+            } else {
+                for (int i = 0; i < length; i++) {
+                    this.put(buffer, array, i);
+                }
+            }
+        } catch (IOException e) {
+            throw new JLSCException("Unable to write array (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    @Override
+    public String id() {
+        return this.id;
+    }
+
+    @Override
+    public Optional<Set<String>> ambiguities() {
+        return Optional.of(Collections.emptySet());
+    }
+
+    private Object grow(Object array, int length) {
+        Object grown = Array.newInstance(this.component, length);
+        System.arraycopy(array, 0, grown, 0, Array.getLength(array));
+        return grown;
+    }
+
+    private void copyIn(ByteBuffer source, Object array, int offset, int length) {
+        if (this.component == byte.class) {
+            source.get((byte[]) array, offset, length);
+        } else if (this.component == short.class) {
+            source.asShortBuffer().get((short[]) array, offset, length);
+        } else if (this.component == char.class) {
+            source.asCharBuffer().get((char[]) array, offset, length);
+        } else if (this.component == int.class) {
+            source.asIntBuffer().get((int[]) array, offset, length);
+        } else if (this.component == long.class) {
+            source.asLongBuffer().get((long[]) array, offset, length);
+        } else if (this.component == float.class) {
+            source.asFloatBuffer().get((float[]) array, offset, length);
+        } else if (this.component == double.class) {
+            source.asDoubleBuffer().get((double[]) array, offset, length);
+        }
+    }
+
+    private void copyOut(Object array, int offset, int length, ByteBuffer target) {
+        if (this.component == byte.class) {
+            target.put((byte[]) array, offset, length);
+            target.flip();
+        } else if (this.component == short.class) {
+            target.asShortBuffer().put((short[]) array, offset, length);
+        } else if (this.component == char.class) {
+            target.asCharBuffer().put((char[]) array, offset, length);
+        } else if (this.component == int.class) {
+            target.asIntBuffer().put((int[]) array, offset, length);
+        } else if (this.component == long.class) {
+            target.asLongBuffer().put((long[]) array, offset, length);
+        } else if (this.component == float.class) {
+            target.asFloatBuffer().put((float[]) array, offset, length);
+        } else if (this.component == double.class) {
+            target.asDoubleBuffer().put((double[]) array, offset, length);
+        }
+    }
+
+    private void get(ByteStream buffer, Object array, int index) throws IOException {
+        if (this.component == byte.class) {
+            ((byte[]) array)[index] = buffer.get();
+        } else if (this.component == short.class) {
+            ((short[]) array)[index] = buffer.getShort();
+        } else if (this.component == char.class) {
+            ((char[]) array)[index] = buffer.getChar();
+        } else if (this.component == int.class) {
+            ((int[]) array)[index] = buffer.getInt();
+        } else if (this.component == long.class) {
+            ((long[]) array)[index] = buffer.getLong();
+        } else if (this.component == float.class) {
+            ((float[]) array)[index] = buffer.getFloat();
+        } else if (this.component == double.class) {
+            ((double[]) array)[index] = buffer.getDouble();
+        }
+    }
+
+    private void put(ByteStream buffer, Object array, int index) throws IOException {
+        if (this.component == byte.class) {
+            buffer.put(((byte[]) array)[index]);
+        } else if (this.component == short.class) {
+            buffer.putShort(((short[]) array)[index]);
+        } else if (this.component == char.class) {
+            buffer.putChar(((char[]) array)[index]);
+        } else if (this.component == int.class) {
+            buffer.putInt(((int[]) array)[index]);
+        } else if (this.component == long.class) {
+            buffer.putLong(((long[]) array)[index]);
+        } else if (this.component == float.class) {
+            buffer.putFloat(((float[]) array)[index]);
+        } else if (this.component == double.class) {
+            buffer.putDouble(((double[]) array)[index]);
+        }
+    }
+
+    private void set(Object array, int index, String s) {
+        if (this.component == byte.class) {
+            ((byte[]) array)[index] = Byte.parseByte(s);
+        } else if (this.component == short.class) {
+            ((short[]) array)[index] = Short.parseShort(s);
+        } else if (this.component == int.class) {
+            ((int[]) array)[index] = Integer.parseInt(s);
+        } else if (this.component == long.class) {
+            ((long[]) array)[index] = Long.parseLong(s);
+        } else if (this.component == float.class) {
+            ((float[]) array)[index] = Float.parseFloat(s);
+        } else if (this.component == double.class) {
+            ((double[]) array)[index] = Double.parseDouble(s);
+        }
+    }
+
+    private void append(StringBuilder builder, Object array, int index) {
+        if (this.component == byte.class) {
+            builder.append(((byte[]) array)[index]);
+        } else if (this.component == short.class) {
+            builder.append(((short[]) array)[index]);
+        } else if (this.component == int.class) {
+            builder.append(((int[]) array)[index]);
+        } else if (this.component == long.class) {
+            builder.append(((long[]) array)[index]);
+        } else if (this.component == float.class) {
+            builder.append(((float[]) array)[index]);
+        } else if (this.component == double.class) {
+            builder.append(((double[]) array)[index]);
+        }
+    }
+
+    private static int sizeOf(Class component) {
+        if (component == byte.class) {
+            return Byte.BYTES;
+        } else if (component == short.class) {
+            return Short.BYTES;
+        } else if (component == char.class) {
+            return Character.BYTES;
+        } else if (component == int.class || component == float.class) {
+            return Integer.BYTES;
+        } else if (component == long.class || component == double.class) {
+            return Long.BYTES;
+        }
+        throw new IllegalArgumentException("Unsupported primitive array type \"" + component.getName() + "[]\"");
+    }
+
+}
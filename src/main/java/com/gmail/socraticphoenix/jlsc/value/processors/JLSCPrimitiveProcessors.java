@@ -34,7 +34,7 @@ import java.util.Optional;
 public interface JLSCPrimitiveProcessors {
 
     JLSCDualProcessor BYTE = new SimpleDualProcessor(JLSCPrimitiveProcessors::isByte,
-            s -> (JLSCPrimitiveProcessors.isByte(s) ? Optional.of(JLSCValue.of(Byte.parseByte(s))) : Optional.empty()),
+            s -> (JLSCPrimitiveProcessors.isByte(s) ? Optional.of(JLSCValue.of((byte) JLSCLiteral.of(s).longValue())) : Optional.empty()),
             c -> c == Byte.class,
             v -> Optional.of(v.rawToString()),
             b -> (b.remaining() >= Byte.BYTES ? Optional.of(JLSCValue.of(b.get())) : Optional.empty()),
@@ -44,10 +44,10 @@ public interface JLSCPrimitiveProcessors {
                     b.put(v.directCast(Byte.class).get());
                 }
             },
-            "byte");
+            "byte").ambiguousWith("bigint", "bigdecimal", "char", "short", "int", "long", "float", "double").fixedSize(Byte.BYTES);
 
     JLSCDualProcessor SHORT = new SimpleDualProcessor(JLSCPrimitiveProcessors::isShort,
-            s -> (JLSCPrimitiveProcessors.isShort(s) ? Optional.of(JLSCValue.of(Short.parseShort(s))) : Optional.empty()),
+            s -> (JLSCPrimitiveProcessors.isShort(s) ? Optional.of(JLSCValue.of((short) JLSCLiteral.of(s).longValue())) : Optional.empty()),
             c -> c == Short.class,
             v -> Optional.of(v.rawToString()),
             b -> (b.remaining() >= Short.BYTES ? Optional.of(JLSCValue.of(b.getShort())) : Optional.empty()),
@@ -57,24 +57,9 @@ public interface JLSCPrimitiveProcessors {
                     b.putShort(v.directCast(Short.class).get());
                 }
             },
-            "short");
+            "short").ambiguousWith("bigint", "bigdecimal", "byte", "char", "int", "long", "float", "double").fixedSize(Short.BYTES);
 
     JLSCDualProcessor CHARACTER = new SimpleDualProcessor(
-            s -> {
-                if (s.length() == 1) {
-                    return true;
-                } else if (s.length() == 3 && s.startsWith("'") && s.endsWith("'")) {
-                    return true;
-                } else {
-                    String descaped = Strings.deEscape(s);
-                    if (descaped.length() == 1) {
-                        return true;
-                    } else if (descaped.length() == 3 && s.startsWith("'") && s.endsWith("'")) {
-                        return true;
-                    }
-                }
-                return false;
-            },
             s -> {
                 if (s.length() == 1) {
                     return Optional.of(JLSCValue.of(s.charAt(0)));
@@ -84,7 +69,7 @@ public interface JLSCPrimitiveProcessors {
                     String descaped = Strings.deEscape(s);
                     if (descaped.length() == 1) {
                         return Optional.of(JLSCValue.of(descaped.charAt(0)));
-                    } else if (descaped.length() == 3) {
+                    } else if (descaped.length() == 3 && s.startsWith("'") && s.endsWith("'")) {
                         return Optional.of(JLSCValue.of(descaped.charAt(1)));
                     }
                 }
@@ -99,10 +84,10 @@ public interface JLSCPrimitiveProcessors {
                     b.putChar(v.directCast(Character.class).get());
                 }
             },
-            "char");
+            "char").ambiguousWith().fixedSize(Character.BYTES);
 
     JLSCDualProcessor INTEGER = new SimpleDualProcessor(JLSCPrimitiveProcessors::isInteger,
-            s -> (JLSCPrimitiveProcessors.isInteger(s) ? Optional.of(JLSCValue.of(Integer.parseInt(s))) : Optional.empty()),
+            s -> (JLSCPrimitiveProcessors.isInteger(s) ? Optional.of(JLSCValue.of((int) JLSCLiteral.of(s).longValue())) : Optional.empty()),
             c -> c == Integer.class,
             v -> Optional.of(v.rawToString()),
             b -> (b.remaining() >= Integer.BYTES ? Optional.of(JLSCValue.of(b.getInt())) : Optional.empty()),
@@ -112,10 +97,10 @@ public interface JLSCPrimitiveProcessors {
                     b.putInt(v.directCast(Integer.class).get());
                 }
             },
-            "int");
+            "int").ambiguousWith("bigint", "bigdecimal", "byte", "char", "short", "long", "float", "double").fixedSize(Integer.BYTES);
 
     JLSCDualProcessor LONG = new SimpleDualProcessor(JLSCPrimitiveProcessors::isLong,
-            s -> (JLSCPrimitiveProcessors.isLong(s) ? Optional.of(JLSCValue.of(Long.parseLong(s))) : Optional.empty()),
+            s -> (JLSCPrimitiveProcessors.isLong(s) ? Optional.of(JLSCValue.of(JLSCLiteral.of(s).longValue())) : Optional.empty()),
             c -> c == Long.class,
             v -> Optional.of(v.rawToString()),
             b -> (b.remaining() >= Long.BYTES ? Optional.of(JLSCValue.of(b.getLong())) : Optional.empty()),
@@ -125,7 +110,7 @@ public interface JLSCPrimitiveProcessors {
                     b.putLong(v.directCast(Long.class).get());
                 }
             },
-            "long");
+            "long").ambiguousWith("bigint", "bigdecimal", "byte", "char", "short", "int", "float", "double").fixedSize(Long.BYTES);
 
     JLSCDualProcessor FLOAT = new SimpleDualProcessor(JLSCPrimitiveProcessors::isFloat,
             s -> (JLSCPrimitiveProcessors.isFloat(s) ? Optional.of(JLSCValue.of(Float.parseFloat(s))) : Optional.empty()),
@@ -138,7 +123,7 @@ public interface JLSCPrimitiveProcessors {
                     b.putFloat(v.directCast(Float.class).get());
                 }
             },
-            "float");
+            "float").ambiguousWith("bigdecimal", "double").fixedSize(Float.BYTES);
 
     JLSCDualProcessor DOUBLE = new SimpleDualProcessor(JLSCPrimitiveProcessors::isDouble,
             s -> (JLSCPrimitiveProcessors.isDouble(s) ? Optional.of(JLSCValue.of(Double.parseDouble(s))) : Optional.empty()),
@@ -151,10 +136,10 @@ public interface JLSCPrimitiveProcessors {
                     b.putDouble(v.directCast(Double.class).get());
                 }
             },
-            "double");
+            "double").ambiguousWith("bigdecimal", "float").fixedSize(Double.BYTES);
 
-    JLSCDualProcessor BOOLEAN = new SimpleDualProcessor(s -> s.equalsIgnoreCase("true") || s.equalsIgnoreCase("false"),
-            s -> s.equalsIgnoreCase("true") || s.equalsIgnoreCase("false") ? Optional.of(JLSCValue.of(s.equalsIgnoreCase("true"))) : Optional.empty(),
+    JLSCDualProcessor BOOLEAN = new SimpleDualProcessor(s -> JLSCLiteral.of(s).isBoolean(),
+            s -> JLSCLiteral.of(s).isBoolean() ? Optional.of(JLSCValue.of(s.equalsIgnoreCase("true"))) : Optional.empty(),
             c -> c == Boolean.class,
             v -> Optional.of(v.rawToString()),
             b -> (b.remaining() >= 1 ? Optional.of(JLSCValue.of(Reflections.deepCast(boolean.class, b.get()))) : Optional.empty()),
@@ -164,7 +149,7 @@ public interface JLSCPrimitiveProcessors {
                     b.put(v.getAsByte((byte) 0));
                 }
             },
-            "boolean");
+            "boolean").ambiguousWith().fixedSize(1);
 
     JLSCDualProcessor STRING = new SimpleDualProcessor(s -> s.startsWith("\"") && s.endsWith("\""),
             s -> (s.startsWith("\"") && s.endsWith("\"") ? Optional.of(JLSCValue.of(Strings.deEscape(Strings.cutFirst(Strings.cutLast(s))))) : Optional.of(JLSCValue.of(s))),
@@ -173,7 +158,7 @@ public interface JLSCPrimitiveProcessors {
             b -> Optional.of(JLSCValue.of(Bytes.readString(b))),
             v -> Bytes.length(v.rawToString()),
             (v, b) -> Bytes.writeString(b, v.rawToString()),
-            "string");
+            "string").ambiguousWith();
 
     JLSCDualProcessor BIG_INT = new SimpleDualProcessor(JLSCPrimitiveProcessors::isBigInteger,
             s -> JLSCPrimitiveProcessors.isBigInteger(s) ? Optional.of(JLSCValue.of(new BigInteger(s))) : Optional.empty(),
@@ -182,7 +167,7 @@ public interface JLSCPrimitiveProcessors {
             b -> Optional.of(JLSCValue.of(Bytes.readBigInt(b))),
             v -> Bytes.length(v.getAs(BigInteger.class).get()),
             (v, b) -> Bytes.writeBigInt(b, v.getAs(BigInteger.class).get()),
-            "bigint");
+            "bigint").ambiguousWith("bigdecimal", "byte", "char", "short", "int", "long", "float", "double");
 
     JLSCDualProcessor BIG_DECIMAL = new SimpleDualProcessor(JLSCPrimitiveProcessors::isBigDecimal,
             s -> JLSCPrimitiveProcessors.isBigDecimal(s) ? Optional.of(JLSCValue.of(new BigDecimal(s))) : Optional.empty(),
@@ -191,59 +176,38 @@ public interface JLSCPrimitiveProcessors {
             b -> Optional.of(JLSCValue.of(Bytes.readBigDecimal(b))),
             v -> Bytes.length(v.getAs(BigDecimal.class).get()),
             (v, b) -> Bytes.writeBigDecimal(b, v.getAs(BigDecimal.class).get()),
-            "bigdecimal");
+            "bigdecimal").ambiguousWith("bigint", "byte", "char", "short", "int", "long", "float", "double");
 
      static boolean isByte(String s) {
-        return JLSCPrimitiveProcessors.isLong(s) && JLSCPrimitiveProcessors.isInRangeInclusive(Byte.MIN_VALUE, Long.parseLong(s), Byte.MAX_VALUE);
+        return JLSCLiteral.of(s).isByte();
     }
 
      static boolean isShort(String s) {
-        return JLSCPrimitiveProcessors.isLong(s) && JLSCPrimitiveProcessors.isInRangeInclusive(Short.MIN_VALUE, Long.parseLong(s), Short.MAX_VALUE);
+        return JLSCLiteral.of(s).isShort();
     }
 
      static boolean isInteger(String s) {
-        return JLSCPrimitiveProcessors.isLong(s) && JLSCPrimitiveProcessors.isInRangeInclusive(Integer.MIN_VALUE, Long.parseLong(s), Integer.MAX_VALUE);
+        return JLSCLiteral.of(s).isInteger();
     }
 
      static boolean isLong(String s) {
-        try {
-            Long.parseLong(s);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return JLSCLiteral.of(s).isLong();
     }
 
      static boolean isFloat(String s) {
-        return JLSCPrimitiveProcessors.isDouble(s) && JLSCPrimitiveProcessors.isInRangeInclusive(-Float.MAX_VALUE, Double.parseDouble(s), Float.MAX_VALUE);
+        return JLSCLiteral.of(s).isFloat();
     }
 
      static boolean isDouble(String s) {
-        try {
-            Double.parseDouble(s);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return JLSCLiteral.of(s).isDouble();
     }
 
      static boolean isBigInteger(String s) {
-        try {
-            new BigInteger(s);
-            return true;
-        } catch (NumberFormatException e){
-            return false;
-        }
+        return JLSCLiteral.of(s).isBigInteger();
     }
 
-
      static boolean isBigDecimal(String s) {
-        try {
-            new BigDecimal(s);
-            return true;
-        } catch (NumberFormatException e){
-            return false;
-        }
+        return JLSCLiteral.of(s).isBigDecimal();
     }
 
      static boolean isInteger(double a) {
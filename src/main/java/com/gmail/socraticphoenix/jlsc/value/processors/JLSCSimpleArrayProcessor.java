@@ -22,6 +22,7 @@
 package com.gmail.socraticphoenix.jlsc.value.processors;
 
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.io.JLSCCompiledSyntax;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
 import com.gmail.socraticphoenix.jlsc.value.JLSCDualProcessor;
@@ -29,12 +30,15 @@ import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
 import com.gmail.socraticphoenix.mirror.Reflections;
 import com.gmail.socraticphoenix.parse.CharacterStream;
 import com.gmail.socraticphoenix.parse.ParserData;
+import com.gmail.socraticphoenix.parse.Strings;
 import com.gmail.socraticphoenix.pio.ByteStream;
 
 import java.io.IOException;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 public class JLSCSimpleArrayProcessor implements JLSCDualProcessor {
     private static ParserData parserData = new ParserData().quote('"').escapeChar('\\');
@@ -51,38 +55,42 @@ public class JLSCSimpleArrayProcessor implements JLSCDualProcessor {
 
     @Override
     public boolean canRead(String s, JLSCSyntax syntax, JLSCStyle style) {
-        CharacterStream stream = new CharacterStream(s);
-        if(!stream.isNext('(')) {
-            return false;
-        }
-        stream.consume('(');
-        while (!stream.isNext(')') && stream.hasNext()) {
-            stream.consumeAll(syntax.ignore());
-            String piece = stream.nextUntil(c -> c == ',' || c == ')', JLSCSimpleArrayProcessor.parserData.reset());
-            stream.consume(',');
-            if(!this.processor.canRead(piece, syntax, style)) {
-                return false;
-            }
-        }
-        if(!stream.isNext(')')) {
+        try {
+            return this.tryRead(s, syntax, style).isPresent();
+        } catch (JLSCException e) {
             return false;
         }
-        stream.consume(')');
-        return true;
     }
 
     @Override
     public JLSCValue read(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
-        List<Object> pieces = new ArrayList<>();
+        return this.tryRead(s, syntax, style).orElseThrow(() -> new JLSCException("Unable to read \"" + Strings.escape(s) + "\" as " + this.id()));
+    }
+
+    @Override
+    public Optional<JLSCValue> tryRead(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
         CharacterStream stream = new CharacterStream(s);
+        if(!stream.isNext('(')) {
+            return Optional.empty();
+        }
+        List<Object> pieces = new ArrayList<>();
         stream.consume('(');
+        Predicate<Character> ignore = JLSCCompiledSyntax.of(syntax).predicate(JLSCCompiledSyntax.IGNORE);
         while (!stream.isNext(')') && stream.hasNext()) {
-            stream.consume(syntax.ignore());
-            pieces.add(this.processor.read(stream.nextUntil(c -> c == ',' || c == ')', JLSCSimpleArrayProcessor.parserData.reset()), syntax, style).rawValue());
+            stream.consumeAll(ignore);
+            String piece = stream.nextUntil(c -> c == ',' || c == ')', JLSCSimpleArrayProcessor.parserData.reset());
             stream.consume(',');
+            Optional<JLSCValue> value = this.processor.tryRead(piece, syntax, style);
+            if(!value.isPresent()) {
+                return Optional.empty();
+            }
+            pieces.add(value.get().rawValue());
+        }
+        if(!stream.isNext(')')) {
+            return Optional.empty();
         }
         stream.consume(')');
-        return JLSCValue.of(Reflections.deepCast(this.array, pieces.toArray()));
+        return Optional.of(JLSCValue.of(Reflections.deepCast(this.array, pieces.toArray())));
     }
 
     @Override
@@ -23,10 +23,19 @@ package com.gmail.socraticphoenix.jlsc.value.processors;
 
 import com.gmail.socraticphoenix.jlsc.JLSCArray;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.pio.ByteStream;
 
+import java.io.IOException;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
+/**
+ * The processor for {@link UUID}s. Version 2 byte streams store a UUID as its two 64-bit halves; legacy streams keep
+ * the named processor encoding.
+ */
 public class JLSCUUIDProcessor extends JLSCNamedProcessor<UUID> {
 
     public JLSCUUIDProcessor() {
@@ -47,4 +56,45 @@ public class JLSCUUIDProcessor extends JLSCNamedProcessor<UUID> {
         }
     }
 
+    @Override
+    public JLSCValue readBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (format.isLegacy()) {
+            return this.readBytes(buffer);
+        }
+        try {
+            return JLSCValue.of(new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IOException e) {
+            throw new JLSCException("Unable to read UUID (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
+    @Override
+    public void skipBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (format.isLegacy()) {
+            this.readBytes(buffer);
+        } else {
+            JLSCReadWriteUtil.skip(buffer, Long.BYTES * 2);
+        }
+    }
+
+    @Override
+    public int size(JLSCValue value, JLSCByteFormat format) {
+        return format.isLegacy() ? this.size(value) : Long.BYTES * 2;
+    }
+
+    @Override
+    public void write(ByteStream buffer, JLSCValue value, JLSCByteFormat format) throws JLSCException {
+        if (format.isLegacy()) {
+            this.write(buffer, value);
+            return;
+        }
+        UUID uuid = value.getAs(UUID.class).get();
+        try {
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+        } catch (IOException e) {
+            throw new JLSCException("Unable to write UUID (halted at: " + buffer.position() + ")", e);
+        }
+    }
+
 }
@@ -24,6 +24,8 @@ package com.gmail.socraticphoenix.jlsc.value.processors;
 import com.gmail.socraticphoenix.inversey.many.DangerousConsumer2;
 import com.gmail.socraticphoenix.inversey.many.DangerousFunction1;
 import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
 import com.gmail.socraticphoenix.jlsc.io.JLSCStyle;
 import com.gmail.socraticphoenix.jlsc.io.JLSCSyntax;
 import com.gmail.socraticphoenix.jlsc.value.JLSCDualProcessor;
@@ -31,7 +33,11 @@ import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
 import com.gmail.socraticphoenix.parse.Strings;
 import com.gmail.socraticphoenix.pio.ByteStream;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -46,6 +52,8 @@ public class SimpleDualProcessor implements JLSCDualProcessor {
     private DangerousConsumer2<JLSCValue, ByteStream, Exception> writeBytes;
 
     private String id;
+    private Set<String> ambiguities;
+    private int fixedSize = -1;
 
     public SimpleDualProcessor(Predicate<String> canRead, DangerousFunction1<String, Optional<JLSCValue>, Exception> read, Predicate<Class> canWrite, DangerousFunction1<JLSCValue, Optional<String>, Exception> write, DangerousFunction1<ByteStream, Optional<JLSCValue>, Exception> readBytes, Function<JLSCValue, Integer> size, DangerousConsumer2<JLSCValue, ByteStream, Exception> writeBytes, String id) {
         this.canRead = canRead;
@@ -58,11 +66,49 @@ public class SimpleDualProcessor implements JLSCDualProcessor {
         this.id = id;
     }
 
+    public SimpleDualProcessor(DangerousFunction1<String, Optional<JLSCValue>, Exception> tryRead, Predicate<Class> canWrite, DangerousFunction1<JLSCValue, Optional<String>, Exception> write, DangerousFunction1<ByteStream, Optional<JLSCValue>, Exception> readBytes, Function<JLSCValue, Integer> size, DangerousConsumer2<JLSCValue, ByteStream, Exception> writeBytes, String id) {
+        this(null, tryRead, canWrite, write, readBytes, size, writeBytes, id);
+    }
+
+    public SimpleDualProcessor ambiguousWith(String... ids) {
+        this.ambiguities = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(ids)));
+        return this;
+    }
+
+    public SimpleDualProcessor fixedSize(int fixedSize) {
+        this.fixedSize = fixedSize;
+        return this;
+    }
+
+    @Override
+    public Optional<Set<String>> ambiguities() {
+        return Optional.ofNullable(this.ambiguities);
+    }
+
     @Override
     public boolean canRead(String s, JLSCSyntax syntax, JLSCStyle style) {
+        if (this.canRead == null) {
+            try {
+                return this.read.invoke(s).isPresent();
+            } catch (Exception e) {
+                return false;
+            }
+        }
         return this.canRead.test(s);
     }
 
+    @Override
+    public Optional<JLSCValue> tryRead(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
+        if (this.canRead != null && !this.canRead.test(s)) {
+            return Optional.empty();
+        }
+        try {
+            return this.read.invoke(s);
+        } catch (Exception e) {
+            throw new JLSCException("Unable to read \"" + Strings.escape(s) + "\" as " + this.id(), e);
+        }
+    }
+
     @Override
     public JLSCValue read(String s, JLSCSyntax syntax, JLSCStyle style) throws JLSCException {
         try {
@@ -100,6 +146,15 @@ public class SimpleDualProcessor implements JLSCDualProcessor {
         }
     }
 
+    @Override
+    public void skipBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+        if (this.fixedSize < 0) {
+            this.readBytes(buffer, format);
+        } else {
+            JLSCReadWriteUtil.skip(buffer, this.fixedSize);
+        }
+    }
+
     @Override
     public boolean canWriteBytes(JLSCValue value) {
         return this.canWrite(value.type());
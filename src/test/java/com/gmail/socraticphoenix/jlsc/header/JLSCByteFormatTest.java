@@ -0,0 +1,306 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.header;
+
+import com.gmail.socraticphoenix.jlsc.JLSCArray;
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCConfiguration;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.JLSCFormat;
+import com.gmail.socraticphoenix.jlsc.JLSCReadMode;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteInput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCEventReader;
+import com.gmail.socraticphoenix.jlsc.io.JLSCReadWriteUtil;
+import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
+import com.gmail.socraticphoenix.jlsc.value.JLSCByteProcessor;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.jlsc.value.annotation.ConversionConstructor;
+import com.gmail.socraticphoenix.jlsc.value.annotation.Convert;
+import com.gmail.socraticphoenix.jlsc.value.annotation.Convertible;
+import com.gmail.socraticphoenix.jlsc.value.annotation.Index;
+import com.gmail.socraticphoenix.jlsc.value.processors.JLSCNamedProcessor;
+import com.gmail.socraticphoenix.pio.ByteStream;
+import com.gmail.socraticphoenix.pio.Bytes;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JLSCByteFormatTest {
+
+    private static JLSCCompound sample() throws JLSCException {
+        JLSCCompound compound = JLSCCompound.read("#a comment\n" +
+                "a = 1\n" +
+                "b = {c = \"x\", d = [1, 2.5, 'q', true, null]}\n" +
+                "@prop(arg):e = @long:5\n" +
+                "f = [[], {}]\n");
+        compound.put("short", (short) 7);
+        compound.put("long", Long.MIN_VALUE);
+        compound.put("double", -0.25);
+        compound.put("string", "unicode \u00e9\u4e2d\ud83d\ude00");
+        compound.put("flag", false);
+        compound.put("uuid", new UUID(1, 2));
+        JLSCArray flags = new JLSCArray();
+        for (int i = 0; i < 10; i++) {
+            flags.add(i % 3 == 0);
+        }
+        compound.put("flags", flags);
+        boolean[] booleans = new boolean[100003];
+        for (int i = 0; i < booleans.length; i++) {
+            booleans[i] = i % 3 == 0 || i % 7 == 0;
+        }
+        compound.put("booleans", booleans);
+        compound.put("fewBooleans", new boolean[]{true, false, true, true, false, false, false, false, true});
+        compound.put("noBooleans", new boolean[0]);
+        compound.put("ints", new int[]{0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 42});
+        compound.put("bytes", new byte[]{Byte.MIN_VALUE, 0, Byte.MAX_VALUE});
+        compound.put("chars", "a\"\u00e9\n".toCharArray());
+        compound.put("longs", new long[]{Long.MIN_VALUE, 1});
+        compound.put("doubles", new double[]{-0.5, Double.MAX_VALUE});
+        compound.put("point", new Point(3, "p;q", Shade.DARK));
+        compound.put("shade", Shade.LIGHT);
+        JLSCArray shades = new JLSCArray();
+        for (Shade shade : new Shade[]{Shade.LIGHT, Shade.DARK, Shade.LIGHT, Shade.LIGHT}) {
+            shades.add(shade);
+        }
+        compound.put("shades", shades);
+        return compound;
+    }
+
+    public enum Shade {
+        LIGHT,
+        DARK
+    }
+
+    @Convertible
+    public static class Point {
+        @Convert(0)
+        private int x;
+        @Convert(1)
+        private String label;
+        @Convert(2)
+        private Shade shade;
+
+        @ConversionConstructor
+        public Point(@Index(0) int x, @Index(1) String label, @Index(2) Shade shade) {
+            this.x = x;
+            this.label = label;
+            this.shade = shade;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Point)) {
+                return false;
+            }
+            Point point = (Point) o;
+            return this.x == point.x && Objects.equals(this.label, point.label) && this.shade == point.shade;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.x, this.label, this.shade);
+        }
+
+    }
+
+    private static void assertValues(String message, JLSCCompound compound) throws JLSCException {
+        JLSCCompound expected = JLSCByteFormatTest.sample();
+        for (String key : new String[]{"booleans", "fewBooleans", "noBooleans", "ints", "bytes", "chars", "longs", "doubles", "point", "shade"}) {
+            assertTrue(message + " " + key, Objects.deepEquals(expected.get(key).get().rawValue(), compound.get(key).get().rawValue()));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals(message, expected.getArray("shades").get().get(i).get().rawValue(), compound.getArray("shades").get().get(i).get().rawValue());
+        }
+        assertEquals(message, false, compound.getBoolean("flag").get());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(message, i % 3 == 0, compound.getArray("flags").get().get(i).get().getAs(Boolean.class).get());
+        }
+    }
+
+    private static byte[] legacy(JLSCCompound compound) throws JLSCException {
+        ByteBuffer buffer = ByteBuffer.allocate(JLSCReadWriteUtil.length(compound));
+        JLSCReadWriteUtil.write(compound, ByteStream.of(buffer));
+        return buffer.array();
+    }
+
+    @Test
+    public void defaultOutputIsLegacy() throws JLSCException {
+        JLSCCompound compound = JLSCByteFormatTest.sample();
+        byte[] legacy = JLSCByteFormatTest.legacy(compound);
+        assertArrayEquals(legacy, compound.writeBytes());
+        assertArrayEquals(legacy, compound.writeBytes(JLSCByteFormat.legacy()));
+    }
+
+    @Test
+    public void everyFormatReadsBack() throws JLSCException {
+        JLSCCompound compound = JLSCByteFormatTest.sample();
+        String expected = compound.write();
+        byte[][] streams = {
+                JLSCByteFormatTest.legacy(compound),
+                compound.writeBytes(JLSCByteFormat.v2()),
+                compound.writeBytes(JLSCByteFormat.v2(JLSCByteFormat.INTERLEAVED)),
+                compound.writeBytes(JLSCByteFormat.v2(JLSCByteFormat.INDEXED))
+        };
+        int events = -1;
+        for (int i = 0; i < streams.length; i++) {
+            byte[] bytes = streams[i];
+            JLSCCompound read = JLSCReadWriteUtil.readCompound(ByteStream.of(ByteBuffer.wrap(bytes)), LinkedHashMap::new, ArrayList::new);
+            assertEquals("stream " + i, expected, read.write());
+            JLSCByteFormatTest.assertValues("stream " + i, read);
+            read = JLSCReadWriteUtil.readCompound(new JLSCByteInput(new ByteArrayInputStream(bytes), 3), LinkedHashMap::new, ArrayList::new);
+            assertEquals("stream " + i, expected, read.write());
+            JLSCByteFormatTest.assertValues("stream " + i + " streamed", read);
+            for (JLSCReadMode mode : new JLSCReadMode[]{JLSCReadMode.SINGLE_PASS, JLSCReadMode.LAZY}) {
+                read = JLSCReadWriteUtil.readCompound(ByteBuffer.wrap(bytes), mode, LinkedHashMap::new, ArrayList::new);
+                assertEquals("stream " + i + " " + mode, expected, read.write());
+                JLSCByteFormatTest.assertValues("stream " + i + " " + mode, read);
+            }
+
+            JLSCEventReader reader = JLSCEventReader.of(ByteStream.of(ByteBuffer.wrap(bytes)));
+            int count = 0;
+            while (reader.hasNext()) {
+                reader.next();
+                count++;
+            }
+            if (events >= 0) {
+                assertEquals("stream " + i, events, count);
+            }
+            events = count;
+        }
+    }
+
+    @Test
+    public void arraysRoundTripThroughText() throws JLSCException {
+        JLSCCompound compound = JLSCByteFormatTest.sample();
+        String text = compound.write();
+        assertTrue(text.contains("ints(0,-1,-2147483648,2147483647,42)"));
+        assertTrue(text.contains("booleans(true,false,true,true,false,false,false,false,true)"));
+        JLSCCompound read = JLSCCompound.read(text);
+        assertEquals(text, read.write());
+        JLSCByteFormatTest.assertValues("text", read);
+    }
+
+    @Test
+    public void formatsAreReusable() throws JLSCException {
+        JLSCCompound compound = JLSCByteFormatTest.sample();
+        String expected = compound.write();
+        for (JLSCByteFormat format : new JLSCByteFormat[]{JLSCByteFormat.legacy(), JLSCByteFormat.v2(), JLSCByteFormat.v2(JLSCByteFormat.INTERLEAVED), JLSCByteFormat.v2(JLSCByteFormat.INDEXED)}) {
+            String message = "flags " + format.getFlags() + " version " + format.getVersion();
+            ByteBuffer buffer = ByteBuffer.allocate(JLSCReadWriteUtil.length(compound, format));
+            JLSCReadWriteUtil.write(compound, ByteStream.of(buffer), format);
+            assertEquals(message, buffer.capacity(), buffer.position());
+            byte[] first = compound.writeBytes(format);
+            byte[] second = compound.writeBytes(format);
+            assertArrayEquals(message, buffer.array(), first);
+            assertArrayEquals(message, first, second);
+            assertEquals(message, expected, JLSCReadWriteUtil.readCompound(ByteStream.of(ByteBuffer.wrap(second)), LinkedHashMap::new, ArrayList::new).write());
+        }
+    }
+
+    @Test
+    public void annotatedValuesUseTheirCodec() throws JLSCException {
+        Point point = new Point(-7, "codec", Shade.LIGHT);
+        JLSCValue value = JLSCValue.of(point);
+        JLSCByteProcessor processor = JLSCRegistry.getByteProcessorFor(value).get();
+        assertTrue(processor instanceof JLSCNamedProcessor);
+        assertTrue(((JLSCNamedProcessor<?>) processor).getCodec().isPresent());
+        assertTrue(processor.size(value, JLSCByteFormat.v2()) < processor.size(value));
+        for (JLSCByteFormat format : new JLSCByteFormat[]{JLSCByteFormat.legacy(), JLSCByteFormat.v2(), JLSCByteFormat.v2(JLSCByteFormat.INDEXED)}) {
+            String message = "flags " + format.getFlags() + " version " + format.getVersion();
+            ByteBuffer buffer = ByteBuffer.allocate(processor.size(value, format.fresh()));
+            processor.write(ByteStream.of(buffer), value, format.fresh());
+            assertEquals(message, buffer.capacity(), buffer.position());
+            buffer.flip();
+            assertEquals(message, point, processor.readBytes(ByteStream.of(buffer), format.fresh()).rawValue());
+        }
+    }
+
+    @Test
+    public void repeatedEnumsRoundTrip() throws JLSCException {
+        for (JLSCByteFormat format : new JLSCByteFormat[]{JLSCByteFormat.v2(), JLSCByteFormat.v2(JLSCByteFormat.INDEXED)}) {
+            String message = "flags " + format.getFlags();
+            int[] lengths = new int[2];
+            for (int i = 0; i < lengths.length; i++) {
+                JLSCArray shades = new JLSCArray();
+                for (int j = 0; j <= i * 9; j++) {
+                    shades.add(j % 2 == 0 ? Shade.DARK : Shade.LIGHT);
+                }
+                JLSCCompound compound = new JLSCCompound();
+                compound.put("shades", shades);
+                compound.put("point", new Point(1, "p", Shade.DARK));
+                byte[] bytes = compound.writeBytes(format);
+                lengths[i] = bytes.length;
+                assertEquals(message, bytes.length, JLSCReadWriteUtil.length(compound, format));
+                JLSCCompound read = JLSCReadWriteUtil.readCompound(ByteStream.of(ByteBuffer.wrap(bytes)), LinkedHashMap::new, ArrayList::new);
+                assertEquals(message, compound.write(), read.write());
+                assertEquals(message, Shade.DARK, read.getArray("shades").get().get(0).get().rawValue());
+                assertEquals(message, new Point(1, "p", Shade.DARK), read.get("point").get().rawValue());
+            }
+            if (!format.hasFlag(JLSCByteFormat.INDEXED)) {
+                assertTrue(message, lengths[1] - lengths[0] < Shade.class.getName().length());
+            }
+        }
+    }
+
+    @Test
+    public void v2IsSmallerThanLegacy() throws JLSCException {
+        JLSCCompound compound = JLSCByteFormatTest.sample();
+        assertTrue(compound.writeBytes(JLSCByteFormat.v2()).length < JLSCByteFormatTest.legacy(compound).length);
+    }
+
+    @Test
+    public void configurationSavesLegacyByDefault() throws IOException, JLSCException {
+        JLSCCompound compound = JLSCByteFormatTest.sample();
+        byte[] legacy = JLSCByteFormatTest.legacy(compound);
+        File file = File.createTempFile("jlsc", ".bytes");
+        try {
+            new JLSCConfiguration(compound, file, JLSCFormat.BYTES, false).save();
+            assertArrayEquals(legacy, Files.readAllBytes(file.toPath()));
+
+            new JLSCConfiguration(compound, file, JLSCFormat.COMPRESSED_BYTES, false).save();
+            assertArrayEquals(legacy, Bytes.decompress(Files.readAllBytes(file.toPath())));
+
+            new JLSCConfiguration(compound, file, JLSCFormat.BYTES, false).setByteFormat(JLSCByteFormat.v2()).save();
+            assertArrayEquals(compound.writeBytes(JLSCByteFormat.v2()), Files.readAllBytes(file.toPath()));
+            for (JLSCReadMode mode : JLSCReadMode.values()) {
+                JLSCConfiguration configuration = new JLSCConfiguration(null, file, JLSCFormat.BYTES, false).setReadMode(mode);
+                configuration.load();
+                assertEquals(mode.name(), compound.write(), configuration.getCompound().write());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.registry.JLSCRegistry;
+import com.gmail.socraticphoenix.jlsc.value.JLSCByteProcessor;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import com.gmail.socraticphoenix.pio.ByteStream;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JLSCByteEventReaderTest {
+    private static final AtomicInteger DECODED = new AtomicInteger();
+
+    static {
+        JLSCRegistry.register(new CountedProcessor());
+    }
+
+    private static JLSCByteFormat[] formats() {
+        return new JLSCByteFormat[]{JLSCByteFormat.legacy(), JLSCByteFormat.v2(), JLSCByteFormat.v2(JLSCByteFormat.INTERLEAVED), JLSCByteFormat.v2(JLSCByteFormat.INDEXED)};
+    }
+
+    private static ByteStream[] streams(byte[] bytes) {
+        return new ByteStream[]{new JLSCByteView(ByteBuffer.wrap(bytes)), new JLSCByteInput(new ByteArrayInputStream(bytes), 3), ByteStream.of(ByteBuffer.wrap(bytes))};
+    }
+
+    private static JLSCCompound sample() {
+        JLSCCompound compound = new JLSCCompound();
+        compound.put("int", 5);
+        compound.put("flag", true);
+        compound.put("uuid", new UUID(1, 2));
+        compound.put("counted", new Counted(7));
+        JLSCCompound nested = new JLSCCompound();
+        for (int i = 0; i < 20; i++) {
+            nested.put("k" + i, new Counted(i));
+        }
+        compound.put("nested", nested);
+        compound.put("after", 2L);
+        return compound;
+    }
+
+    private static JLSCEvent valueAt(JLSCEventReader reader, String key) throws JLSCException {
+        while (reader.hasNext()) {
+            JLSCEvent event = reader.next();
+            if (event.getKey().isPresent() && event.getKey().get().equals(key) && reader.depth() == 1) {
+                return reader.next();
+            }
+        }
+        throw new AssertionError("Missing key " + key);
+    }
+
+    @Test
+    public void returnsRawPayloads() throws JLSCException {
+        for (JLSCByteFormat format : JLSCByteEventReaderTest.formats()) {
+            byte[] bytes = JLSCByteEventReaderTest.sample().writeBytes(format);
+            for (ByteStream stream : JLSCByteEventReaderTest.streams(bytes)) {
+                String message = format.getVersion() + "/" + format.getFlags() + " " + stream.getClass().getSimpleName();
+                JLSCEventReader reader = JLSCEventReader.of(stream);
+                JLSCEvent integer = JLSCByteEventReaderTest.valueAt(reader, "int");
+                assertArrayEquals(message, new byte[]{0, 0, 0, 5}, integer.getBytes().get());
+                assertEquals(message, 5, (int) integer.getValue().get().getAsInteger().get());
+
+                JLSCEvent flag = JLSCByteEventReaderTest.valueAt(reader, "flag");
+                assertEquals(message, format.isLegacy() ? 1 : 0, flag.getBytes().get().length);
+                assertTrue(message, flag.getValue().get().getAs(Boolean.class).get());
+
+                JLSCEvent uuid = JLSCByteEventReaderTest.valueAt(reader, "uuid");
+                if (!format.isLegacy()) {
+                    assertArrayEquals(message, ByteBuffer.allocate(16).putLong(1).putLong(2).array(), uuid.getBytes().get());
+                }
+                assertEquals(message, new UUID(1, 2), uuid.getValue().get().getAs(UUID.class).get());
+                assertEquals(message, "uuid", uuid.getTypeId().get());
+            }
+        }
+    }
+
+    @Test
+    public void decodesOnlyRequestedValues() throws JLSCException {
+        for (JLSCByteFormat format : JLSCByteEventReaderTest.formats()) {
+            byte[] bytes = JLSCByteEventReaderTest.sample().writeBytes(format);
+            for (ByteStream stream : JLSCByteEventReaderTest.streams(bytes)) {
+                String message = format.getVersion() + "/" + format.getFlags() + " " + stream.getClass().getSimpleName();
+                DECODED.set(0);
+                JLSCEventReader reader = JLSCEventReader.of(stream);
+                JLSCEvent counted = JLSCByteEventReaderTest.valueAt(reader, "counted");
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+                assertEquals(message, 0, DECODED.get());
+                assertArrayEquals(message, new byte[]{0, 0, 0, 7}, counted.getBytes().get());
+                assertEquals(message, 7, counted.getValue().get().getAs(Counted.class).get().value);
+                assertEquals(message, 1, DECODED.get());
+            }
+        }
+    }
+
+    @Test
+    public void skipsIndexedChildrenByLength() throws JLSCException {
+        byte[] bytes = JLSCByteEventReaderTest.sample().writeBytes(JLSCByteFormat.v2(JLSCByteFormat.INDEXED));
+        JLSCByteView view = new JLSCByteView(ByteBuffer.wrap(bytes));
+        JLSCEventReader reader = JLSCEventReader.of(view);
+        JLSCByteEventReaderTest.valueAt(reader, "nested");
+        Arrays.fill(bytes, view.position(), view.position() + 16, (byte) 0xFF);
+
+        for (ByteStream stream : JLSCByteEventReaderTest.streams(bytes)) {
+            String message = stream.getClass().getSimpleName();
+            reader = JLSCEventReader.of(stream);
+            assertEquals(message, JLSCEventType.START_COMPOUND, JLSCByteEventReaderTest.valueAt(reader, "nested").getType());
+            reader.skipChildren();
+            assertEquals(message, 1, reader.depth());
+            assertEquals(message, "after", reader.next().getKey().get());
+            assertEquals(message, 2L, (long) reader.next().getValue().get().getAsLong().get());
+            assertEquals(message, JLSCEventType.END_COMPOUND, reader.next().getType());
+            assertFalse(message, reader.hasNext());
+        }
+    }
+
+    @Test
+    public void skipsChildrenInEveryFormat() throws JLSCException {
+        for (JLSCByteFormat format : JLSCByteEventReaderTest.formats()) {
+            byte[] bytes = JLSCByteEventReaderTest.sample().writeBytes(format);
+            for (ByteStream stream : JLSCByteEventReaderTest.streams(bytes)) {
+                String message = format.getVersion() + "/" + format.getFlags() + " " + stream.getClass().getSimpleName();
+                JLSCEventReader reader = JLSCEventReader.of(stream);
+                JLSCByteEventReaderTest.valueAt(reader, "nested");
+                reader.next();
+                reader.skipChildren();
+                assertEquals(message, 1, reader.depth());
+                assertEquals(message, "after", reader.next().getKey().get());
+            }
+        }
+    }
+
+    public static class Counted {
+        private int value;
+
+        public Counted(int value) {
+            this.value = value;
+        }
+
+    }
+
+    private static class CountedProcessor implements JLSCByteProcessor {
+
+        @Override
+        public JLSCValue readBytes(ByteStream buffer) throws JLSCException {
+            DECODED.incrementAndGet();
+            try {
+                return JLSCValue.of(new Counted(buffer.getInt()));
+            } catch (IOException e) {
+                throw new JLSCException("Unable to read counted value", e);
+            }
+        }
+
+        @Override
+        public void skipBytes(ByteStream buffer, JLSCByteFormat format) throws JLSCException {
+            JLSCReadWriteUtil.skip(buffer, Integer.BYTES);
+        }
+
+        @Override
+        public boolean canWriteBytes(JLSCValue value) {
+            return this.canWriteBytes(value.type());
+        }
+
+        @Override
+        public boolean canWriteBytes(Class type) {
+            return type == Counted.class;
+        }
+
+        @Override
+        public int size(JLSCValue value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteStream buffer, JLSCValue value) throws JLSCException {
+            try {
+                buffer.putInt(value.getAs(Counted.class).get().value);
+            } catch (IOException e) {
+                throw new JLSCException("Unable to write counted value", e);
+            }
+        }
+
+        @Override
+        public String id() {
+            return "counted";
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.value.processors.JLSCPrimitiveProcessors;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.junit.Assert.assertEquals;
+
+public class JLSCByteInputTest {
+    private static final long PADDING = (1L << 31) + 5;
+
+    @Test
+    public void readsPastTwoGigabytes() throws IOException, JLSCException {
+        JLSCByteInput input = new JLSCByteInput(new PaddedChannel(PADDING, new byte[]{0, 0, 0, 42, 0, 0, 0, 0, 0, 0, 0, 7}), 1 << 20);
+        ByteBuffer chunk = ByteBuffer.allocate(1 << 20);
+        long skipped = 0;
+        while (skipped < PADDING) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), PADDING - skipped));
+            input.get(chunk);
+            skipped += chunk.position();
+            assertEquals(Integer.MAX_VALUE, input.remaining());
+        }
+        assertEquals(PADDING, input.offset());
+        assertEquals(Integer.MAX_VALUE, input.position());
+        assertEquals(42, (int) JLSCPrimitiveProcessors.INTEGER.readBytes(input).getAsInteger().get());
+        assertEquals(7L, (long) JLSCPrimitiveProcessors.LONG.readBytes(input).getAsLong().get());
+        assertEquals(PADDING + 12, input.offset());
+    }
+
+    @Test
+    public void reportsRemainingOnlyAtEnd() throws IOException {
+        JLSCByteInput input = new JLSCByteInput(new ByteArrayInputStream(new byte[]{1, 2, 3}), 8);
+        assertEquals(Integer.MAX_VALUE, input.remaining());
+        assertEquals(1, input.get());
+        assertEquals(1, input.position());
+        try {
+            input.getInt();
+            throw new AssertionError("Expected an exception");
+        } catch (BufferUnderflowException ignore) {
+
+        }
+        assertEquals(2, input.remaining());
+        assertEquals(0x0203, input.getShort());
+        assertEquals(0, input.remaining());
+    }
+
+    private static class PaddedChannel implements ReadableByteChannel {
+        private long padding;
+        private byte[] tail;
+        private long position;
+
+        public PaddedChannel(long padding, byte[] tail) {
+            this.padding = padding;
+            this.tail = tail;
+            this.position = 0;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (this.position == this.padding + this.tail.length) {
+                return -1;
+            }
+            int start = dst.position();
+            while (dst.hasRemaining() && this.position < this.padding) {
+                int n = (int) Math.min(dst.remaining(), this.padding - this.position);
+                dst.position(dst.position() + n);
+                this.position += n;
+            }
+            while (dst.hasRemaining() && this.position < this.padding + this.tail.length) {
+                dst.put(this.tail[(int) (this.position++ - this.padding)]);
+            }
+            return dst.position() - start;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+
+        }
+
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCArray;
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCConfiguration;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.JLSCFormat;
+import com.gmail.socraticphoenix.jlsc.JLSCReadMode;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JLSCFramedStreamTest {
+    private static final int BLOCK_SIZE = 4096;
+    private static final JLSCCompression[] COMPRESSIONS = {JLSCDeflateCompression.DEFAULT, JLSCLZCompression.DEFAULT};
+
+    private static byte[] data(int length) {
+        Random random = new Random(length);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (i / 3000) % 2 == 0 ? (byte) ('a' + i % 7) : (byte) random.nextInt();
+        }
+        return data;
+    }
+
+    private static byte[] compress(byte[] data, JLSCCompression compression, ForkJoinPool pool) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JLSCFramedOutputStream framed = new JLSCFramedOutputStream(out, compression, BLOCK_SIZE, pool)) {
+            int off = 0;
+            int chunk = 1;
+            while (off < data.length) {
+                int n = Math.min(chunk, data.length - off);
+                if (n == 1) {
+                    framed.write(data[off]);
+                } else {
+                    framed.write(data, off, n);
+                }
+                off += n;
+                chunk = chunk * 3 + 1;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] framed, ForkJoinPool pool) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new JLSCFramedInputStream(new ByteArrayInputStream(framed), pool)) {
+            byte[] buffer = new byte[777];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(Path path, byte[] framed, ForkJoinPool pool) throws IOException {
+        Files.write(path, framed);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return JLSCFramedInputStream.decompress(channel, pool);
+        }
+    }
+
+    @Test
+    public void roundTripsWithAndWithoutPool() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Path path = Files.createTempFile("jlsc", ".framed");
+        try {
+            for (JLSCCompression compression : COMPRESSIONS) {
+                for (int length : new int[]{0, 1, BLOCK_SIZE, BLOCK_SIZE * 5, BLOCK_SIZE * 5 + 123, BLOCK_SIZE * 20 - 1}) {
+                    String message = compression.getClass().getSimpleName() + " " + length;
+                    byte[] data = JLSCFramedStreamTest.data(length);
+                    byte[] serial = JLSCFramedStreamTest.compress(data, compression, null);
+                    byte[] parallel = JLSCFramedStreamTest.compress(data, compression, pool);
+                    assertArrayEquals(message, serial, parallel);
+                    assertTrue(message, JLSCFramedInputStream.isFramed(new ByteArrayInputStream(serial)));
+                    assertArrayEquals(message, data, JLSCFramedStreamTest.decompress(serial, null));
+                    assertArrayEquals(message, data, JLSCFramedStreamTest.decompress(serial, pool));
+                    assertArrayEquals(message, data, JLSCFramedStreamTest.decompress(path, serial, null));
+                    assertArrayEquals(message, data, JLSCFramedStreamTest.decompress(path, serial, pool));
+                }
+            }
+        } finally {
+            pool.shutdown();
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void rejectsTruncatedStreams() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Path path = Files.createTempFile("jlsc", ".framed");
+        try {
+            for (JLSCCompression compression : COMPRESSIONS) {
+                byte[] framed = JLSCFramedStreamTest.compress(JLSCFramedStreamTest.data(BLOCK_SIZE * 5 + 123), compression, null);
+                for (int length : new int[]{2, 12, framed.length / 2, framed.length / 2 + 5}) {
+                    byte[] truncated = Arrays.copyOf(framed, length);
+                    String message = compression.getClass().getSimpleName() + " " + length;
+                    JLSCFramedStreamTest.assertFails(message, () -> JLSCFramedStreamTest.decompress(truncated, null));
+                    JLSCFramedStreamTest.assertFails(message, () -> JLSCFramedStreamTest.decompress(truncated, pool));
+                    JLSCFramedStreamTest.assertFails(message, () -> JLSCFramedStreamTest.decompress(path, truncated, null));
+                    JLSCFramedStreamTest.assertFails(message, () -> JLSCFramedStreamTest.decompress(path, truncated, pool));
+                }
+            }
+        } finally {
+            pool.shutdown();
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void roundTripsFramedConfigurations() throws IOException, JLSCException {
+        JLSCCompound compound = new JLSCCompound();
+        for (int i = 0; i < 2000; i++) {
+            JLSCArray array = new JLSCArray();
+            array.add(i);
+            array.add("value " + i);
+            compound.put("k" + i, array);
+        }
+        String expected = compound.write();
+        File file = File.createTempFile("jlsc", ".compressed");
+        try {
+            for (JLSCCompression compression : COMPRESSIONS) {
+                new JLSCConfiguration(compound, file, JLSCFormat.COMPRESSED_BYTES, false).setCompression(compression).setBlockSize(BLOCK_SIZE).save();
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    assertTrue(JLSCFramedInputStream.isFramed(channel));
+                }
+                for (JLSCReadMode mode : JLSCReadMode.values()) {
+                    for (ForkJoinPool pool : new ForkJoinPool[]{null, ForkJoinPool.commonPool()}) {
+                        JLSCConfiguration configuration = new JLSCConfiguration(null, file, JLSCFormat.COMPRESSED_BYTES, false).setCompression(compression).setReadMode(mode).setPool(pool);
+                        configuration.load();
+                        assertEquals(compression.getClass().getSimpleName() + " " + mode, expected, configuration.getCompound().write());
+                    }
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void assertFails(String message, Attempt attempt) {
+        try {
+            attempt.run();
+        } catch (IOException e) {
+            return;
+        }
+        throw new AssertionError(message + ": expected an IOException");
+    }
+
+    private interface Attempt {
+
+        void run() throws IOException;
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCArray;
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCConfiguration;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.JLSCReadMode;
+import com.gmail.socraticphoenix.jlsc.header.JLSCByteFormat;
+import com.gmail.socraticphoenix.jlsc.header.JLSCCompoundHeader;
+import com.gmail.socraticphoenix.jlsc.value.JLSCValue;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JLSCIndexedReaderTest {
+    private static final String[] KEYS = {"a", "B", "", "\u00e9", "\uFF21", "\uD83D\uDE00"};
+    private static final int ENTRIES = 3000;
+
+    private static JLSCCompound sample() {
+        JLSCCompound compound = new JLSCCompound();
+        for (String key : KEYS) {
+            compound.put(key, key.length());
+        }
+        JLSCCompound big = new JLSCCompound();
+        for (int i = 0; i < ENTRIES; i++) {
+            JLSCCompound entry = new JLSCCompound();
+            entry.put("id", i);
+            entry.put("name", "n" + i);
+            entry.put("flag", i % 3 == 0);
+            JLSCArray array = new JLSCArray();
+            array.add(i);
+            array.add("x" + i);
+            JLSCCompound inner = new JLSCCompound();
+            inner.put("deep", i * 2L);
+            array.add(inner);
+            entry.put("array", array);
+            big.put("k" + i, entry);
+        }
+        compound.put("big", big);
+        compound.put("empty", new JLSCCompound());
+        return compound;
+    }
+
+    @Test
+    public void streamedOutputMatchesBufferedOutput() throws JLSCException {
+        JLSCCompound compound = JLSCIndexedReaderTest.sample();
+        byte[] bytes = compound.writeBytes(JLSCByteFormat.v2(JLSCByteFormat.INDEXED));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compound.writeBytes(out, JLSCByteFormat.v2(JLSCByteFormat.INDEXED));
+        assertArrayEquals(bytes, out.toByteArray());
+        assertEquals(bytes.length, JLSCReadWriteUtil.length(compound, JLSCByteFormat.v2(JLSCByteFormat.INDEXED)));
+        assertEquals(4, JLSCCompoundHeader.offsetWidth(bytes.length / 2));
+        assertEquals(1, JLSCCompoundHeader.offsetWidth(0));
+    }
+
+    @Test
+    public void seeksToEveryPath() throws IOException, JLSCException {
+        JLSCCompound compound = JLSCIndexedReaderTest.sample();
+        Path path = Files.createTempFile("jlsc", ".indexed");
+        try {
+            Files.write(path, compound.writeBytes(JLSCByteFormat.v2(JLSCByteFormat.INDEXED)));
+            JLSCIndexedReader reader = JLSCIndexedReader.open(path);
+            for (String key : KEYS) {
+                Optional<JLSCValue> value = reader.get(key);
+                assertTrue(key, value.isPresent());
+                assertEquals(key, key.length(), (int) value.get().getAsInteger().get());
+            }
+            for (int i = 0; i < ENTRIES; i++) {
+                assertEquals(i, (int) reader.get("big", "k" + i, "id").get().getAsInteger().get());
+                assertEquals(i % 3 == 0, reader.get("big", "k" + i, "flag").get().getAs(Boolean.class).get());
+                JLSCArray array = reader.get("big", "k" + i, "array").get().getAsArray().get();
+                assertEquals(i * 2L, (long) array.get(2).get().getAsCompound().get().get("deep").get().getAsLong().get());
+            }
+            assertEquals(0, reader.get("empty").get().getAsCompound().get().size());
+            assertFalse(reader.get("missing").isPresent());
+            assertFalse(reader.get("big", "k" + ENTRIES).isPresent());
+            assertFalse(reader.get("a", "b").isPresent());
+            assertEquals(compound.write(), reader.read().write());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void readsSequentially() throws IOException, JLSCException {
+        JLSCCompound compound = JLSCIndexedReaderTest.sample();
+        byte[] bytes = compound.writeBytes(JLSCByteFormat.v2(JLSCByteFormat.INDEXED));
+        String expected = compound.write();
+        assertEquals(expected, JLSCReadWriteUtil.readCompound(new JLSCByteInput(new ByteArrayInputStream(bytes), 7), LinkedHashMap::new, ArrayList::new).write());
+        assertEquals(expected, JLSCReadWriteUtil.readCompound(ByteBuffer.wrap(bytes), JLSCReadMode.LAZY, LinkedHashMap::new, ArrayList::new).write());
+
+        Path path = Files.createTempFile("jlsc", ".indexed");
+        try {
+            Files.write(path, bytes);
+            for (JLSCReadMode mode : new JLSCReadMode[]{JLSCReadMode.SINGLE_PASS, JLSCReadMode.LAZY}) {
+                assertEquals(mode.name(), expected, JLSCConfiguration.fromBytes(path.toFile(), false, mode).getCompound().write());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void rejectsUnindexedStreams() throws JLSCException {
+        try {
+            new JLSCIndexedReader(ByteBuffer.wrap(JLSCIndexedReaderTest.sample().writeBytes(JLSCByteFormat.v2())));
+            throw new AssertionError("Expected an exception");
+        } catch (JLSCException ignore) {
+
+        }
+    }
+
+}
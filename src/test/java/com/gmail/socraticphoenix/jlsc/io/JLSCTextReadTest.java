@@ -0,0 +1,195 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.io;
+
+import com.gmail.socraticphoenix.jlsc.JLSCCompound;
+import com.gmail.socraticphoenix.jlsc.JLSCConfiguration;
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.JLSCFormat;
+import com.gmail.socraticphoenix.jlsc.JLSCReadMode;
+import com.gmail.socraticphoenix.parse.ParserData;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JLSCTextReadTest {
+    private static final String DOCUMENT = "#header comment\n" +
+            "a = 1\n" +
+            "b = {c = \"x;y\", d = [1, 2.5, 'q', \"quoted, \\\"escaped\\\"\"]}\n" +
+            "\"key = with: delimiters\" = -9223372036854775808\n" +
+            "@prop(\"arg, one\", two):e = @long:5\n" +
+            "f = [[1, 2], {g = true, h = null}, []]\n" +
+            "i = {}\n" +
+            "j: ints(1,2,3)\n";
+
+    private static final String CUSTOM = "'a;b' = 5\n" +
+            "'c~'d' = 'value ~' with; delimiters'\n" +
+            "q = [1, 'two, three', {r = 's'}]\n";
+
+    @Test
+    public void everyModeMatchesTokenizer() throws JLSCException {
+        String expected = JLSCCompound.read(DOCUMENT, false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, JLSCReadMode.TOKENIZER).write();
+        for (JLSCReadMode mode : JLSCReadMode.values()) {
+            assertEquals(mode.name(), expected, JLSCCompound.read(DOCUMENT, false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, mode).write());
+        }
+    }
+
+    @Test
+    public void streamsReadInASinglePass() throws JLSCException {
+        String expected = JLSCCompound.read(DOCUMENT, false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, JLSCReadMode.TOKENIZER).write();
+        for (JLSCReadMode mode : new JLSCReadMode[]{JLSCReadMode.SINGLE_PASS, JLSCReadMode.LAZY}) {
+            assertEquals(mode.name(), expected, JLSCCompound.read(new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)), false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, mode).write());
+        }
+    }
+
+    @Test
+    public void streamsFallBackToSinglePass() throws JLSCException {
+        String expected = JLSCCompound.read(new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)), false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, JLSCReadMode.SINGLE_PASS).write();
+        for (JLSCReadMode mode : new JLSCReadMode[]{JLSCReadMode.TOKENIZER, JLSCReadMode.PARALLEL}) {
+            assertEquals(mode.name(), expected, JLSCCompound.read(new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)), false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, mode).write());
+        }
+    }
+
+    private static String large() {
+        StringBuilder builder = new StringBuilder("#leading comment\n#another leading comment\n");
+        builder.append("dup = -1\n");
+        for (int i = 0; i < 4000; i++) {
+            builder.append("\"key, ").append(i).append(" = {[x]}: y\" = {n = ").append(i).append(", s = \"v;").append(i).append("\"}\n");
+            if (i % 1000 == 999) {
+                builder.append("#comment ").append(i).append("\ndup = ").append(i).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static ForkJoinPool pool(AtomicInteger threads) {
+        return new ForkJoinPool(4, p -> {
+            threads.incrementAndGet();
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+        }, null, false);
+    }
+
+    @Test
+    public void parallelChunksMatchSinglePass() throws JLSCException {
+        String large = JLSCTextReadTest.large();
+        assertTrue(large.length() > JLSCParallelParser.DEFAULT_THRESHOLD);
+        JLSCCompound single = JLSCCompound.read(large, false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, JLSCReadMode.SINGLE_PASS);
+        assertEquals(4001, single.size());
+        assertEquals(3999, (int) single.getInteger("dup").get());
+        assertEquals("v;17", single.getCompound("key, 17 = {[x]}: y").get().getString("s").get());
+        String expected = single.write();
+
+        AtomicInteger threads = new AtomicInteger();
+        ForkJoinPool pool = JLSCTextReadTest.pool(threads);
+        try {
+            for (int threshold : new int[]{0, 1024, JLSCParallelParser.DEFAULT_THRESHOLD}) {
+                JLSCCompound parallel = new JLSCParallelParser(large, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, LinkedHashMap::new, ArrayList::new, pool, threshold).readCompound();
+                assertEquals("threshold " + threshold, expected, parallel.write());
+            }
+            assertEquals(expected, JLSCCompound.read(large, false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, JLSCReadMode.PARALLEL).write());
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(threads.get() > 0);
+    }
+
+    @Test
+    public void configurationParsesOnItsPool() throws IOException, JLSCException {
+        String large = JLSCTextReadTest.large();
+        String expected = JLSCCompound.read(large, false, JLSCStyle.DEFAULT, JLSCSyntax.DEFAULT, JLSCReadMode.SINGLE_PASS).write();
+        AtomicInteger threads = new AtomicInteger();
+        ForkJoinPool pool = JLSCTextReadTest.pool(threads);
+        File file = File.createTempFile("jlsc", ".txt");
+        try {
+            Files.write(file.toPath(), large.getBytes(StandardCharsets.UTF_8));
+            JLSCConfiguration configuration = new JLSCConfiguration(null, file, JLSCFormat.TEXT, false).setReadMode(JLSCReadMode.PARALLEL).setPool(pool);
+            configuration.load();
+            assertEquals(expected, configuration.getCompound().write());
+            assertTrue(threads.get() > 0);
+        } finally {
+            pool.shutdown();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void everyModeReadsItsOwnOutput() throws JLSCException {
+        JLSCCompound compound = JLSCCompound.read(DOCUMENT);
+        for (JLSCStyle style : new JLSCStyle[]{JLSCStyle.DEFAULT, JLSCStyle.CODE, JLSCStyle.JSON}) {
+            String written = compound.write(style, JLSCSyntax.DEFAULT);
+            String expected = JLSCCompound.read(written, false, style, JLSCSyntax.DEFAULT, JLSCReadMode.TOKENIZER).write();
+            for (JLSCReadMode mode : JLSCReadMode.values()) {
+                assertEquals(mode.name(), expected, JLSCCompound.read(written, false, style, JLSCSyntax.DEFAULT, mode).write());
+            }
+        }
+    }
+
+    @Test
+    public void everyModeHonoursCustomSyntax() throws JLSCException {
+        JLSCSyntax syntax = new CustomSyntax();
+        String expected = JLSCCompound.read(CUSTOM, false, JLSCStyle.DEFAULT, syntax, JLSCReadMode.TOKENIZER).write();
+        for (JLSCReadMode mode : JLSCReadMode.values()) {
+            JLSCCompound compound = JLSCCompound.read(CUSTOM, false, JLSCStyle.DEFAULT, syntax, mode);
+            assertEquals(mode.name(), expected, compound.write());
+            assertEquals(mode.name(), 3, compound.size());
+            assertEquals(mode.name(), 5, (int) compound.getInteger("a;b").get());
+            assertEquals(mode.name(), 3, compound.getArray("q").get().size());
+        }
+    }
+
+    private static class CustomSyntax extends JLSCSyntax.Default {
+
+        @Override
+        public Predicate<Character> quote() {
+            return c -> c == '\'';
+        }
+
+        @Override
+        public Predicate<Character> escape() {
+            return c -> c == '~';
+        }
+
+        @Override
+        public ParserData data() {
+            return new ParserData()
+                    .escapeChar('~')
+                    .brackets('(', ')')
+                    .brackets('[', ']')
+                    .brackets('{', '}')
+                    .quote('\'');
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.value.processors;
+
+import com.gmail.socraticphoenix.jlsc.JLSCException;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteInput;
+import com.gmail.socraticphoenix.jlsc.io.JLSCByteView;
+import com.gmail.socraticphoenix.pio.ByteStream;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+public class JLSCBooleanArrayProcessorTest {
+    private static final JLSCBooleanArrayProcessor PROCESSOR = new JLSCBooleanArrayProcessor();
+
+    private static byte[] corrupt(int length) {
+        return ByteBuffer.allocate(Integer.BYTES + 4).putInt(length).putInt(-1).array();
+    }
+
+    private static void assertRejected(ByteStream buffer) {
+        try {
+            PROCESSOR.readBytes(buffer);
+        } catch (JLSCException | BufferUnderflowException e) {
+            return;
+        }
+        throw new AssertionError("Expected a corrupt length to be rejected");
+    }
+
+    @Test
+    public void rejectsOverflowingLengths() {
+        for (int length : new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE - 3, Integer.MIN_VALUE, -1, 33}) {
+            byte[] bytes = JLSCBooleanArrayProcessorTest.corrupt(length);
+            JLSCBooleanArrayProcessorTest.assertRejected(new JLSCByteView(ByteBuffer.wrap(bytes)));
+            JLSCBooleanArrayProcessorTest.assertRejected(ByteStream.of(ByteBuffer.wrap(bytes)));
+        }
+    }
+
+    @Test
+    public void streamsCorruptLengthsWithoutLargeAllocations() {
+        for (int length : new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE - 3, Integer.MIN_VALUE, 33}) {
+            JLSCBooleanArrayProcessorTest.assertRejected(new JLSCByteInput(new ByteArrayInputStream(JLSCBooleanArrayProcessorTest.corrupt(length)), 3));
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 socraticphoenix@gmail.com
+ * Copyright (c) 2016 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.gmail.socraticphoenix.jlsc.value.processors;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JLSCLiteralTest {
+
+    @Test
+    public void integralBoundaries() {
+        this.expect("127", JLSCLiteral.Type.BYTE);
+        this.expect("128", JLSCLiteral.Type.SHORT);
+        this.expect("-128", JLSCLiteral.Type.BYTE);
+        this.expect("-129", JLSCLiteral.Type.SHORT);
+        this.expect("32767", JLSCLiteral.Type.SHORT);
+        this.expect("32768", JLSCLiteral.Type.INTEGER);
+        this.expect("-32768", JLSCLiteral.Type.SHORT);
+        this.expect("-32769", JLSCLiteral.Type.INTEGER);
+        this.expect("2147483647", JLSCLiteral.Type.INTEGER);
+        this.expect("2147483648", JLSCLiteral.Type.LONG);
+        this.expect("-2147483648", JLSCLiteral.Type.INTEGER);
+        this.expect("-2147483649", JLSCLiteral.Type.LONG);
+        this.expect("9223372036854775807", JLSCLiteral.Type.LONG);
+        this.expect("9223372036854775808", JLSCLiteral.Type.BIG_INTEGER);
+        this.expect("-9223372036854775808", JLSCLiteral.Type.LONG);
+        this.expect("-9223372036854775809", JLSCLiteral.Type.BIG_INTEGER);
+        this.expect("+5", JLSCLiteral.Type.BYTE);
+        this.expect("007", JLSCLiteral.Type.BYTE);
+
+        assertEquals(Long.MIN_VALUE, JLSCLiteral.of("-9223372036854775808").longValue());
+        assertEquals(-129, JLSCLiteral.of("-129").longValue());
+    }
+
+    @Test
+    public void floatingBoundaries() {
+        this.expect(Double.toString(Float.MAX_VALUE), JLSCLiteral.Type.FLOAT);
+        this.expect("3.4028235E38", JLSCLiteral.Type.DOUBLE);
+        this.expect("3.5E38", JLSCLiteral.Type.DOUBLE);
+        this.expect("-3.5E38", JLSCLiteral.Type.DOUBLE);
+        this.expect("1.5", JLSCLiteral.Type.FLOAT);
+        this.expect(".5", JLSCLiteral.Type.FLOAT);
+        this.expect("5.", JLSCLiteral.Type.FLOAT);
+        this.expect("1e400", JLSCLiteral.Type.DOUBLE);
+        this.expect("1.5f", JLSCLiteral.Type.FLOAT);
+        this.expect("NaN", JLSCLiteral.Type.DOUBLE);
+        this.expect("-Infinity", JLSCLiteral.Type.DOUBLE);
+
+        assertTrue(JLSCLiteral.of("1.5").isBigDecimal());
+        assertFalse(JLSCLiteral.of("1.5f").isBigDecimal());
+        assertFalse(JLSCLiteral.of("1e2147483648").isBigDecimal());
+        assertTrue(JLSCLiteral.of("1e2147483648").isDouble());
+    }
+
+    @Test
+    public void hexBoundaries() {
+        this.expect("0x1p3", JLSCLiteral.Type.FLOAT);
+        this.expect("-0x.8P-1", JLSCLiteral.Type.FLOAT);
+        this.expect("0xAp0f", JLSCLiteral.Type.FLOAT);
+        this.expect("0x1.fffffeP+127", JLSCLiteral.Type.FLOAT);
+        this.expect("0x1.ffffffP+127", JLSCLiteral.Type.DOUBLE);
+        this.expect("0x1p99999", JLSCLiteral.Type.DOUBLE);
+        this.expect("0x1", JLSCLiteral.Type.NONE);
+        this.expect("0x10", JLSCLiteral.Type.NONE);
+        this.expect("0x1p", JLSCLiteral.Type.NONE);
+        this.expect("0x.p1", JLSCLiteral.Type.NONE);
+        this.expect("0xp1", JLSCLiteral.Type.NONE);
+        this.expect("0x1g", JLSCLiteral.Type.NONE);
+        this.expect("0x1p1ff", JLSCLiteral.Type.NONE);
+    }
+
+    @Test
+    public void nonNumbers() {
+        this.expect("", JLSCLiteral.Type.NONE);
+        this.expect("null", JLSCLiteral.Type.NULL);
+        this.expect("TRUE", JLSCLiteral.Type.BOOLEAN);
+        this.expect("false", JLSCLiteral.Type.BOOLEAN);
+        this.expect("+", JLSCLiteral.Type.NONE);
+        this.expect("--1", JLSCLiteral.Type.NONE);
+        this.expect("1_0", JLSCLiteral.Type.NONE);
+        this.expect("1e", JLSCLiteral.Type.NONE);
+        this.expect("1.5.5", JLSCLiteral.Type.NONE);
+        this.expect("abc", JLSCLiteral.Type.NONE);
+    }
+
+    @Test
+    public void agreesWithParsers() {
+        String[] values = {"0", "-0", "127", "128", "-129", "32768", "-32769", "2147483648", "-2147483649", "9223372036854775808",
+                "-9223372036854775809", "1.5", "3.5E38", "1e400", "0x1p3", "0x1.ffffffP+127", "1_0", "1e", " 1", "1 ", "abc"};
+        for (String value : values) {
+            JLSCLiteral literal = JLSCLiteral.of(value);
+            assertEquals(value, JLSCLiteralTest.parses(() -> Byte.parseByte(value)), literal.isByte());
+            assertEquals(value, JLSCLiteralTest.parses(() -> Short.parseShort(value)), literal.isShort());
+            assertEquals(value, JLSCLiteralTest.parses(() -> Integer.parseInt(value)), literal.isInteger());
+            assertEquals(value, JLSCLiteralTest.parses(() -> Long.parseLong(value)), literal.isLong());
+            assertEquals(value, JLSCLiteralTest.parses(() -> new BigInteger(value)), literal.isBigInteger());
+            assertEquals(value, JLSCLiteralTest.parses(() -> Double.parseDouble(value)), literal.isDouble());
+            assertEquals(value, JLSCLiteralTest.parses(() -> new BigDecimal(value)), literal.isBigDecimal());
+        }
+    }
+
+    @Test
+    public void cacheFollowsTheString() {
+        JLSCLiteral first = JLSCLiteral.of("5");
+        assertEquals(JLSCLiteral.Type.BYTE, first.getType());
+        assertEquals(JLSCLiteral.Type.LONG, JLSCLiteral.of("2147483648").getType());
+        assertEquals(JLSCLiteral.Type.NONE, JLSCLiteral.of("five").getType());
+    }
+
+    @Test
+    public void threadsDoNotShareResults() throws InterruptedException {
+        String[] values = {"1", "40000", "3000000000", "1.5", "true", "null", "abc", "0x1p3"};
+        JLSCLiteral.Type[] types = {JLSCLiteral.Type.BYTE, JLSCLiteral.Type.INTEGER, JLSCLiteral.Type.LONG, JLSCLiteral.Type.FLOAT,
+                JLSCLiteral.Type.BOOLEAN, JLSCLiteral.Type.NULL, JLSCLiteral.Type.NONE, JLSCLiteral.Type.FLOAT};
+        AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[values.length];
+        for (int i = 0; i < threads.length; i++) {
+            String value = new String(values[i]);
+            JLSCLiteral.Type type = types[i];
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    if (JLSCLiteral.of(value).getType() != type) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
+
+    private void expect(String value, JLSCLiteral.Type type) {
+        assertEquals(value, type, JLSCLiteral.of(value).getType());
+    }
+
+    private static boolean parses(Runnable parse) {
+        try {
+            parse.run();
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+}